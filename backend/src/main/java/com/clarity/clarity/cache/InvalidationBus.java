@@ -0,0 +1,17 @@
+package com.clarity.clarity.cache;
+
+import java.util.Collection;
+import java.util.function.Consumer;
+
+/**
+ * Carries "these users' data changed" to every cache that may hold it. {@link LocalInvalidationBus}
+ * only reaches this JVM; a cross-node implementation (Postgres LISTEN/NOTIFY, Redis pub/sub)
+ * publishes to a shared channel and hands every message, its own included, to the subscribers.
+ * Delivery may be lost or late; the cache TTL bounds how long that leaves a replica stale.
+ */
+public interface InvalidationBus {
+
+    void publish(Collection<Long> userIds);
+
+    void subscribe(Consumer<Collection<Long>> listener);
+}
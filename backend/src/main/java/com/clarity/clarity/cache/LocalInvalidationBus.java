@@ -0,0 +1,28 @@
+package com.clarity.clarity.cache;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * In-process bus: delivers synchronously on the publishing thread. Other replicas are only
+ * brought up to date by the cache TTL.
+ */
+@Component
+public class LocalInvalidationBus implements InvalidationBus {
+
+    private final List<Consumer<Collection<Long>>> listeners = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publish(Collection<Long> userIds) {
+        listeners.forEach(listener -> listener.accept(userIds));
+    }
+
+    @Override
+    public void subscribe(Consumer<Collection<Long>> listener) {
+        listeners.add(listener);
+    }
+}
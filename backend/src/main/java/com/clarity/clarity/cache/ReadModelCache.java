@@ -0,0 +1,126 @@
+package com.clarity.clarity.cache;
+
+import com.clarity.clarity.service.SingleFlight;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Per-user read models (task list pages, goal summaries, day schedules, weekly insights) kept in
+ * a bounded Caffeine cache, {@code max-entries} large, each entry dropped {@code ttl-seconds}
+ * after it was loaded. Misses load through {@link SingleFlight}.
+ * <p>
+ * Entries are keyed by the user's current generation. A {@link UserDataChanged} event bumps the
+ * generation once its transaction commits, via the {@link InvalidationBus}, so every cached view
+ * of that user becomes unreachable in O(1) and ages out. A read that started before the commit
+ * stores its result under the old generation, where nobody looks, and requests made after the
+ * commit cannot join its flight. Generations come from one clock, so a user whose generation
+ * was evicted restarts above every older one.
+ * <p>
+ * Disabled by default ({@code clarity.read-models.cache.enabled}): the only {@link InvalidationBus}
+ * is {@link LocalInvalidationBus}, which reaches this JVM alone. On several replicas a write on one
+ * node would leave the others serving stale views for up to {@code ttl-seconds}.
+ * <p>
+ * Metrics: the Caffeine cache metrics under cache=read-models (cache.gets with result=hit|miss,
+ * cache.size, cache.evictions) and clarity.read-models.invalidations.
+ */
+@Slf4j
+@Component
+public class ReadModelCache {
+
+    /**
+     * One read model of one user; {@code params} (nullable values) must have value equality.
+     */
+    public record Key(String operation, Long userId, List<?> params) {
+
+        public static Key of(String operation, Long userId, Object... params) {
+            return new Key(operation, userId, Arrays.asList(params));
+        }
+    }
+
+    private record Entry(Key key, long generation) {
+    }
+
+    private final SingleFlight singleFlight;
+    private final InvalidationBus bus;
+    private final boolean enabled;
+    private final Cache<Entry, Object> entries;
+    private final Cache<Long, Long> generations;
+    private final AtomicLong clock = new AtomicLong();
+    private final Counter invalidations = Metrics.counter("clarity.read-models.invalidations");
+
+    public ReadModelCache(SingleFlight singleFlight,
+                          InvalidationBus bus,
+                          @Value("${clarity.read-models.cache.enabled:false}") boolean enabled,
+                          @Value("${clarity.read-models.cache.max-entries:20000}") long maxEntries,
+                          @Value("${clarity.read-models.cache.ttl-seconds:30}") long ttlSeconds) {
+        if (maxEntries <= 0 || ttlSeconds <= 0) {
+            throw new IllegalArgumentException("clarity.read-models.cache max-entries and ttl-seconds must be positive");
+        }
+        this.singleFlight = singleFlight;
+        this.bus = bus;
+        this.enabled = enabled;
+        Duration ttl = Duration.ofSeconds(ttlSeconds);
+        this.entries = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        // Evicting a generation is always safe (see generation()); after a TTL of silence its entries are gone anyway
+        this.generations = Caffeine.newBuilder()
+                .maximumSize(maxEntries)
+                .expireAfterAccess(ttl)
+                .build();
+        CaffeineCacheMetrics.monitor(Metrics.globalRegistry, entries, "read-models");
+        bus.subscribe(this::invalidate);
+        log.info("Read model cache {}: {} entries, TTL {}", enabled ? "enabled" : "disabled", maxEntries, ttl);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T get(Key key, Supplier<T> read) {
+        Entry entry = new Entry(key, generation(key.userId()));
+        if (!enabled) {
+            return singleFlight.execute(key.operation(), entry, read);
+        }
+        Object cached = entries.getIfPresent(entry);
+        if (cached != null) {
+            return (T) cached;
+        }
+        T loaded = singleFlight.execute(key.operation(), entry, read);
+        entries.put(entry, loaded);
+        return loaded;
+    }
+
+    // Runs after the publishing transaction commits; fallbackExecution covers writes outside one
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onUserDataChanged(UserDataChanged event) {
+        bus.publish(event.userIds());
+    }
+
+    /**
+     * Makes everything cached for these users unreachable; called by the bus, from any node.
+     */
+    public void invalidate(Collection<Long> userIds) {
+        for (Long userId : userIds) {
+            generations.put(userId, clock.incrementAndGet());
+        }
+        invalidations.increment(userIds.size());
+    }
+
+    private long generation(Long userId) {
+        return generations.get(userId, id -> clock.incrementAndGet());
+    }
+}
@@ -0,0 +1,14 @@
+package com.clarity.clarity.cache;
+
+import java.util.Set;
+
+/**
+ * Published, inside the writing transaction, by anything that changes what a user's read models
+ * show. {@link ReadModelCache} acts on it only once that transaction commits.
+ */
+public record UserDataChanged(Set<Long> userIds) {
+
+    public static UserDataChanged of(Long userId) {
+        return new UserDataChanged(Set.of(userId));
+    }
+}
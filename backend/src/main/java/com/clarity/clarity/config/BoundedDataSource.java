@@ -0,0 +1,145 @@
+package com.clarity.clarity.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Caps how many threads hold a pooled connection at once. Callers take a permit from a fair
+ * semaphore before borrowing from the pool and give it back when the connection is closed.
+ * <p>
+ * With virtual threads every request gets its own thread, so thousands of them can reach the
+ * pool at the same time. Here they wait in one FIFO queue instead, and the wait is measured.
+ * After {@code acquireTimeout} the caller gets a {@link SQLTransientConnectionException},
+ * as it would from the pool.
+ * Metrics: clarity.datasource.limiter.wait (timer), .waiting and .active (gauges),
+ * .timeouts (counter).
+ */
+public class BoundedDataSource extends DelegatingDataSource {
+
+    private final Semaphore permits;
+    private final int maxConcurrency;
+    private final Duration acquireTimeout;
+    private final Timer waitTimer;
+    private final Counter timeouts;
+
+    public BoundedDataSource(DataSource target, int maxConcurrency, Duration acquireTimeout) {
+        super(target);
+        if (maxConcurrency <= 0) {
+            throw new IllegalArgumentException("clarity.datasource.limiter.max-concurrency must be positive");
+        }
+        this.permits = new Semaphore(maxConcurrency, true);
+        this.maxConcurrency = maxConcurrency;
+        this.acquireTimeout = acquireTimeout;
+        this.waitTimer = Timer.builder("clarity.datasource.limiter.wait")
+                .description("Time spent waiting for a database permit")
+                .publishPercentileHistogram()
+                .register(Metrics.globalRegistry);
+        this.timeouts = Counter.builder("clarity.datasource.limiter.timeouts").register(Metrics.globalRegistry);
+        Gauge.builder("clarity.datasource.limiter.waiting", permits, Semaphore::getQueueLength)
+                .register(Metrics.globalRegistry);
+        Gauge.builder("clarity.datasource.limiter.active", permits, p -> maxConcurrency - p.availablePermits())
+                .register(Metrics.globalRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        acquire();
+        return borrowed(() -> super.getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        acquire();
+        return borrowed(() -> super.getConnection(username, password));
+    }
+
+    public int getMaxConcurrency() {
+        return maxConcurrency;
+    }
+
+    private void acquire() throws SQLException {
+        long started = System.nanoTime();
+        try {
+            if (!permits.tryAcquire(acquireTimeout.toNanos(), TimeUnit.NANOSECONDS)) {
+                timeouts.increment();
+                throw new SQLTransientConnectionException(
+                        "No database permit within " + acquireTimeout.toMillis() + " ms (" + maxConcurrency + " in use)");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted while waiting for a database permit", e);
+        } finally {
+            waitTimer.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private interface ConnectionSource {
+        Connection get() throws SQLException;
+    }
+
+    // Permit already held: released when the connection is closed, or right away if borrowing fails
+    private Connection borrowed(ConnectionSource source) throws SQLException {
+        Connection connection;
+        try {
+            connection = source.get();
+        } catch (SQLException | RuntimeException | Error e) {
+            permits.release();
+            throw e;
+        }
+        return (Connection) Proxy.newProxyInstance(
+                Connection.class.getClassLoader(), new Class<?>[]{Connection.class}, new PermitHandler(connection));
+    }
+
+    private final class PermitHandler implements InvocationHandler {
+
+        private final Connection target;
+        private final AtomicBoolean released = new AtomicBoolean();
+
+        PermitHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals" -> {
+                    return proxy == args[0];
+                }
+                case "hashCode" -> {
+                    return System.identityHashCode(proxy);
+                }
+                case "toString" -> {
+                    return "Bounded[" + target + "]";
+                }
+                default -> {
+                }
+            }
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            } finally {
+                // close() may be called more than once; only the first call gives the permit back
+                if ("close".equals(method.getName()) && released.compareAndSet(false, true)) {
+                    permits.release();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.clarity.clarity.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+
+/**
+ * Puts a {@link BoundedDataSource} in front of the auto-configured pool. Hikari settings and
+ * pool metrics stay as Boot configures them; Actuator unwraps the delegate.
+ * <p>
+ * clarity.datasource.limiter.max-concurrency defaults to the pool size.
+ * acquire-timeout-ms defaults to the pool's connection timeout.
+ * <p>
+ * The wrapper is built before Hikari validates its configuration, so an unset
+ * spring.datasource.hikari.maximum-pool-size still reads -1 here and stands for Hikari's default.
+ */
+@Slf4j
+@Configuration
+@ConditionalOnProperty(name = "clarity.datasource.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class DataSourceLimiterConfig {
+
+    // HikariConfig.DEFAULT_POOL_SIZE, which is private
+    static final int HIKARI_DEFAULT_POOL_SIZE = 10;
+
+    // Static: post-processors are created before the configuration's own dependencies
+    @Bean
+    public static BeanPostProcessor boundedDataSourcePostProcessor(Environment environment) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (!(bean instanceof DataSource dataSource) || bean instanceof BoundedDataSource) {
+                    return bean;
+                }
+                int poolSize = bean instanceof HikariDataSource hikari && hikari.getMaximumPoolSize() >= 1
+                        ? hikari.getMaximumPoolSize()
+                        : HIKARI_DEFAULT_POOL_SIZE;
+                long poolTimeout = bean instanceof HikariDataSource hikari ? hikari.getConnectionTimeout() : 30_000;
+
+                int maxConcurrency = environment.getProperty("clarity.datasource.limiter.max-concurrency", Integer.class, poolSize);
+                long acquireTimeoutMs = environment.getProperty("clarity.datasource.limiter.acquire-timeout-ms", Long.class, poolTimeout);
+                log.info("DataSource {} limited to {} concurrent connection(s), {} ms acquire timeout",
+                        beanName, maxConcurrency, acquireTimeoutMs);
+                return new BoundedDataSource(dataSource, maxConcurrency, Duration.ofMillis(acquireTimeoutMs));
+            }
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.clarity.clarity.config;
+
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.UUID;
+
+/**
+ * Identity of this replica in shared tables (reminder claims, scheduler locks).
+ * Comes from clarity.node-id, falling back to HOSTNAME plus a random suffix.
+ */
+@Getter
+@Component
+public class NodeIdentity {
+
+    private final String id;
+
+    public NodeIdentity(@Value("${clarity.node-id:}") String configured) {
+        this.id = configured.isBlank()
+                ? System.getenv().getOrDefault("HOSTNAME", "node") + "-" + UUID.randomUUID().toString().substring(0, 8)
+                : configured;
+    }
+}
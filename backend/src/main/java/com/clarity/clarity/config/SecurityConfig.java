@@ -2,7 +2,10 @@ package com.clarity.clarity.config;
 
 import com.clarity.clarity.security.JwtAuthenticationFilter;
 import com.clarity.clarity.service.CustomUserDetailsService;
+import com.clarity.clarity.web.ConcurrencyLimitFilter;
+import com.clarity.clarity.web.RateLimitFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -29,6 +32,8 @@ import java.util.List;
 public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final ConcurrencyLimitFilter concurrencyLimitFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final CustomUserDetailsService userDetailsService;
 
     @Bean
@@ -38,6 +43,8 @@ public class SecurityConfig {
                 .cors(cors -> cors.configurationSource(corsConfigurationSource())) // 1. Apply CORS settings
                 .authorizeHttpRequests(auth -> auth
                         // 2. FIX: Allow the correct API path "/api/auth/**"
+                        .requestMatchers("/api/auth/logout-all", "/auth/logout-all",
+                                "/api/auth/time-zone", "/auth/time-zone").authenticated()
                         .requestMatchers("/api/auth/**", "/auth/**").permitAll()
                         .requestMatchers("/api/health/**", "/health/**").permitAll() // Whitelist health check
                         .requestMatchers("/error").permitAll()
@@ -45,11 +52,30 @@ public class SecurityConfig {
                 )
                 .sessionManagement(sess -> sess.sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authenticationProvider(authenticationProvider())
-                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class);
+                .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // Shed load before spending anything on the request, token check included
+                .addFilterBefore(concurrencyLimitFilter, JwtAuthenticationFilter.class)
+                // Per-user buckets need the authenticated user id
+                .addFilterAfter(rateLimitFilter, JwtAuthenticationFilter.class);
 
         return http.build();
     }
 
+    // Edge filters run only inside the security chain (after CORS, so 503 / 429 stay readable cross-origin)
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilterRegistration(ConcurrencyLimitFilter filter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
+    @Bean
+    public FilterRegistrationBean<RateLimitFilter> rateLimitFilterRegistration(RateLimitFilter filter) {
+        FilterRegistrationBean<RateLimitFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setEnabled(false);
+        return registration;
+    }
+
     @Bean
     public CorsConfigurationSource corsConfigurationSource() {
         CorsConfiguration configuration = new CorsConfiguration();
@@ -68,6 +94,10 @@ public class SecurityConfig {
         // FIX: Restrict headers to what we actually use
         configuration.setAllowedHeaders(List.of("Authorization", "Content-Type", "Accept"));
 
+        // Keyset pagination cursor for task listings; Retry-After on 503 / 429, rate-limit state on every response
+        configuration.setExposedHeaders(List.of(
+                "X-Next-Cursor", "Retry-After", "RateLimit-Limit", "RateLimit-Remaining", "RateLimit-Reset"));
+
         configuration.setAllowCredentials(true);
 
         UrlBasedCorsConfigurationSource source = new UrlBasedCorsConfigurationSource();
@@ -2,12 +2,15 @@ package com.clarity.clarity.controller;
 
 import com.clarity.clarity.dto.request.LoginRequest;
 import com.clarity.clarity.dto.request.RegisterRequest;
+import com.clarity.clarity.dto.request.TimeZoneRequest;
 import com.clarity.clarity.dto.response.AuthResponse;
 import com.clarity.clarity.entity.User;
+import com.clarity.clarity.security.AuthenticatedUser;
 import com.clarity.clarity.service.AuthService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
 @RestController
@@ -28,4 +31,19 @@ public class AuthController {
         User createdUser = authService.register(request);
         return ResponseEntity.ok(createdUser);
     }
+
+    // Invalidates every token of the caller, this one included
+    @PostMapping("/logout-all")
+    public ResponseEntity<Void> logoutAll(@AuthenticationPrincipal AuthenticatedUser user) {
+        authService.revokeAllTokens(user);
+        return ResponseEntity.noContent().build();
+    }
+
+    // The zone that decides when the caller's overdue review runs (their local midnight)
+    @PutMapping("/time-zone")
+    public ResponseEntity<Void> updateTimeZone(@AuthenticationPrincipal AuthenticatedUser user,
+                                               @RequestBody @Valid TimeZoneRequest request) {
+        authService.updateTimeZone(user, request);
+        return ResponseEntity.noContent().build();
+    }
 }
\ No newline at end of file
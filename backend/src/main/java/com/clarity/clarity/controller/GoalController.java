@@ -33,7 +33,11 @@ public class GoalController {
         return ResponseEntity.ok(goalService.mapToResponse(savedGoal));
     }
     @GetMapping("/{id}/tasks")
-    public ResponseEntity<List<TaskResponse>> getTasksForGoal(@PathVariable Long id) {
-        return ResponseEntity.ok(taskService.getTasksByGoal(id));
+    public ResponseEntity<List<TaskResponse>> getTasksForGoal(
+            @PathVariable Long id,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        return TaskController.toPageResponse(taskService.getTasksByGoal(id, cursor, limit));
     }
 }
\ No newline at end of file
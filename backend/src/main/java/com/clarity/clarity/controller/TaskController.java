@@ -1,7 +1,11 @@
 package com.clarity.clarity.controller;
 
+import com.clarity.clarity.domain.TaskSort;
+import com.clarity.clarity.domain.TaskStatus;
 import com.clarity.clarity.dto.request.ReviewRequest;
+import com.clarity.clarity.dto.request.TaskFilter;
 import com.clarity.clarity.dto.request.TaskRequest;
+import com.clarity.clarity.dto.response.TaskPage;
 import com.clarity.clarity.dto.response.TaskResponse;
 import com.clarity.clarity.entity.Task;
 import com.clarity.clarity.service.TaskReviewService;
@@ -9,9 +13,11 @@ import com.clarity.clarity.service.TaskService;
 import com.clarity.clarity.service.TimeBlockService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -23,13 +29,15 @@ public class TaskController {
     private final TaskReviewService taskReviewService;
     private final TimeBlockService timeBlockService;
 
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+
     @PostMapping
     public ResponseEntity<Task> createTask(@RequestBody @Valid TaskRequest request) {
         return ResponseEntity.ok(taskService.createTask(request));
     }
 
     @GetMapping("/review")
-    public ResponseEntity<List<Task>> getTaskNeedingReview() {
+    public ResponseEntity<List<TaskResponse>> getTaskNeedingReview() {
         return ResponseEntity.ok(taskService.getTasksNeedingReview());
     }
 
@@ -48,11 +56,21 @@ public class TaskController {
         return ResponseEntity.ok().build();
     }
 
+    // Keyset-paginated: pass the X-Next-Cursor header of the previous page as ?cursor=.
+    // status may repeat (?status=READY&status=IN_PROGRESS) to match any of them.
     @GetMapping
-    public ResponseEntity<List<TaskResponse>> getAllTasks() {
-        return ResponseEntity.ok(taskService.getAllTasks().stream()
-                .map(taskService::mapToResponse)
-                .toList());
+    public ResponseEntity<List<TaskResponse>> getAllTasks(
+            @RequestParam(required = false) List<TaskStatus> status,
+            @RequestParam(required = false) Long goalId,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueFrom,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime dueTo,
+            @RequestParam(required = false) Boolean needsReview,
+            @RequestParam(defaultValue = "ID") TaskSort sort,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer limit
+    ) {
+        TaskFilter filter = new TaskFilter(status, goalId, dueFrom, dueTo, needsReview);
+        return toPageResponse(taskService.getAllTasks(filter, sort, cursor, limit));
     }
 
     @GetMapping("/{id}")
@@ -67,6 +85,14 @@ public class TaskController {
         return ResponseEntity.noContent().build();
     }
 
+    static ResponseEntity<List<TaskResponse>> toPageResponse(TaskPage page) {
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+        if (page.nextCursor() != null) {
+            response.header(NEXT_CURSOR_HEADER, page.nextCursor());
+        }
+        return response.body(page.items());
+    }
+
     @PutMapping("/{id}")
     public ResponseEntity<Task> updateTask(
             @PathVariable Long id,
@@ -1,6 +1,7 @@
 package com.clarity.clarity.controller;
 
 import com.clarity.clarity.dto.request.TimeBlockRequest;
+import com.clarity.clarity.dto.response.TimeBlockResponse;
 import com.clarity.clarity.entity.TimeBlock;
 import com.clarity.clarity.service.TimeBlockService;
 import jakarta.validation.Valid;
@@ -21,7 +22,7 @@ public class TimeBlockController {
 
     // 1. Get Schedule (Daily View)
     @GetMapping
-    public ResponseEntity<List<TimeBlock>> getBlocks(
+    public ResponseEntity<List<TimeBlockResponse>> getBlocks(
             @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date
     ) {
         LocalDate targetDate = (date != null) ? date : LocalDate.now();
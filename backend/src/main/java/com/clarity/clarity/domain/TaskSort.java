@@ -0,0 +1,6 @@
+package com.clarity.clarity.domain;
+
+public enum TaskSort {
+    ID,
+    DUE_DATE
+}
@@ -13,5 +13,8 @@ public record RegisterRequest(
         String email,
 
         @Size(min = 6, message = "Password must be at least 6 characters")
-        String password
+        String password,
+
+        // Optional IANA zone id (e.g. "Europe/Berlin"); defaults to UTC
+        String timeZone
 ) {}
\ No newline at end of file
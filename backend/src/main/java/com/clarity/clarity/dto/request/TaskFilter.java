@@ -0,0 +1,23 @@
+package com.clarity.clarity.dto.request;
+
+import com.clarity.clarity.domain.TaskStatus;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+// Optional server-side filters for task listings; null means "don't filter"
+public record TaskFilter(
+        List<TaskStatus> statuses, // any of; null or empty = all
+        Long goalId,
+        LocalDateTime dueFrom, // inclusive
+        LocalDateTime dueTo,   // exclusive
+        Boolean needsReview
+) {
+    public static TaskFilter none() {
+        return new TaskFilter(null, null, null, null, null);
+    }
+
+    public TaskFilter withGoalId(Long goalId) {
+        return new TaskFilter(statuses, goalId, dueFrom, dueTo, needsReview);
+    }
+}
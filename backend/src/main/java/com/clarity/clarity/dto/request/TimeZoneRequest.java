@@ -0,0 +1,11 @@
+package com.clarity.clarity.dto.request;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record TimeZoneRequest(
+
+        // IANA zone id, e.g. "Europe/Berlin"
+        @NotBlank
+        String timeZone
+
+) {}
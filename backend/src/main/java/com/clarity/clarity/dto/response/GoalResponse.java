@@ -11,6 +11,7 @@ public record GoalResponse(
         GoalPriority priority,
         GoalStatus status,
         LocalDateTime createdAt,
-        int totalTasks,
-        int completedTasks
-) {}
\ No newline at end of file
+        int totalTasks,     // live (not soft-deleted) tasks
+        int completedTasks  // closed ones: DONE or SKIPPED, as for goal completion
+) {
+}
@@ -0,0 +1,8 @@
+package com.clarity.clarity.dto.response;
+
+import java.util.List;
+
+public record TaskPage(
+        List<TaskResponse> items,
+        String nextCursor // null on the last page
+) {}
@@ -0,0 +1,21 @@
+package com.clarity.clarity.dto.response;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+// Day schedule row; the fields the web and mobile timelines render
+public record TimeBlockResponse(
+        Long id,
+        Long taskId,
+        String taskTitle,
+        String goalTitle,
+        LocalDateTime startTime,
+        LocalDateTime endTime,
+        long durationMinutes
+) {
+    // Target of the JPQL projection in TimeBlockRepository
+    public TimeBlockResponse(Long id, Long taskId, String taskTitle, String goalTitle,
+                             LocalDateTime startTime, LocalDateTime endTime) {
+        this(id, taskId, taskTitle, goalTitle, startTime, endTime, Duration.between(startTime, endTime).toMinutes());
+    }
+}
@@ -0,0 +1,40 @@
+package com.clarity.clarity.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+/**
+ * Minutes of time blocks a user has planned on one day. Maintained by conditional increments
+ * in DailyCapacityRepository, never by read-modify-write from this entity.
+ */
+@Entity
+@Table(name = "daily_capacity_ledger")
+@IdClass(DailyCapacity.Key.class)
+@Data
+@NoArgsConstructor
+public class DailyCapacity {
+
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "plan_date")
+    private LocalDate planDate;
+
+    @Column(name = "planned_minutes", nullable = false)
+    private long plannedMinutes;
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private Long userId;
+        private LocalDate planDate;
+    }
+}
@@ -2,11 +2,11 @@ package com.clarity.clarity.entity;
 
 import com.clarity.clarity.domain.GoalPriority;
 import com.clarity.clarity.domain.GoalStatus;
-import com.clarity.clarity.domain.TaskStatus; // <--- Import this
 import com.fasterxml.jackson.annotation.JsonIgnore;
-import com.fasterxml.jackson.annotation.JsonProperty; // <--- Import this
 import jakarta.persistence.*;
 import lombok.Data;
+import org.hibernate.annotations.ColumnDefault;
+import org.hibernate.annotations.DynamicUpdate;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -15,6 +15,7 @@ import java.util.List;
 @Entity
 @Table(name = "goals")
 @Data
+@DynamicUpdate // Never rewrite the counters below from a stale in-memory copy
 public class Goal {
 
     @Id
@@ -39,22 +40,20 @@ public class Goal {
     @Column(name = "user_id", nullable = false)
     private Long userId;
 
+    // Live task counters, only ever changed by atomic UPDATEs in GoalRepository
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int openTaskCount;
+
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private int closedTaskCount;
+
     // 1. Hide the raw list of tasks to prevent infinite JSON recursion
     @OneToMany(mappedBy = "goal", cascade = CascadeType.ALL, orphanRemoval = true)
     @JsonIgnore
     private List<Task> tasks = new ArrayList<>();
 
-    // 2. VIRTUAL FIELD: Calculate progress on the fly
-    @JsonProperty("progress")
-    public double getProgress() {
-        if (tasks == null || tasks.isEmpty()) {
-            return 0.0;
-        }
-        long completedCount = tasks.stream()
-                .filter(t -> t.getStatus() == TaskStatus.DONE)
-                .count();
-
-        // Returns decimal 0.0 to 1.0 (e.g., 0.5 for 50%)
-        return (double) completedCount / tasks.size();
-    }
+    // 2. No derived progress here on purpose: walking `tasks` loads the whole collection.
+    //    GoalResponse carries totalTasks / completedTasks read from the counters above (GoalRepository).
 }
\ No newline at end of file
@@ -0,0 +1,57 @@
+package com.clarity.clarity.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Progress of one partition of a chunked job run: the keyset position reached and how many
+ * rows were processed. Written in the same transaction as each chunk.
+ */
+@Entity
+@Table(name = "job_checkpoints")
+@IdClass(JobCheckpoint.Key.class)
+@Data
+@NoArgsConstructor
+public class JobCheckpoint {
+
+    @Id
+    @Column(name = "job_name", length = 100)
+    private String jobName;
+
+    @Id
+    @Column(name = "run_key", length = 50)
+    private String runKey;
+
+    @Id
+    @Column(name = "partition_no")
+    private int partitionNo;
+
+    @Column(nullable = false)
+    private LocalDateTime cutoff;
+
+    @Column(name = "last_id", nullable = false)
+    private long lastId;
+
+    @Column(nullable = false)
+    private long processed;
+
+    @Column(nullable = false)
+    private boolean completed;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt = LocalDateTime.now();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Key implements Serializable {
+        private String jobName;
+        private String runKey;
+        private int partitionNo;
+    }
+}
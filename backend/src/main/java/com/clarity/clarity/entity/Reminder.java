@@ -15,7 +15,7 @@ public class Reminder {
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
-    @ManyToOne(optional = false)
+    @ManyToOne(optional = false, fetch = FetchType.LAZY)
     @JoinColumn(name = "task_id")
     private Task task;
 
@@ -31,5 +31,12 @@ public class Reminder {
 
     @Column(name = "user_id", nullable = false)
     private Long userId;
+
+    // Dispatch lease: which node is firing this reminder and until when the claim holds
+    @Column(name = "claimed_by", length = 100)
+    private String claimedBy;
+
+    @Column(name = "claim_expires_at")
+    private LocalDateTime claimExpiresAt;
 }
 
@@ -11,7 +11,8 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "tasks")
+@Table(name = "tasks", uniqueConstraints = @UniqueConstraint(
+        name = "uq_tasks_series_occurrence", columnNames = {"series_id", "occurrence_at"}))
 @Data
 public class Task {
 
@@ -56,6 +57,13 @@ public class Task {
     @Column(length = 255)
     private String recurrencePattern;
 
+    // Recurring series: id of the series' first task, and this instance's slot in it (unique together)
+    @Column(name = "series_id")
+    private Long seriesId;
+
+    @Column(name = "occurrence_at")
+    private LocalDateTime occurrenceAt;
+
     @Column(nullable = false)
     private boolean deleted = false;
 }
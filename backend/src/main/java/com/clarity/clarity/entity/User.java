@@ -27,6 +27,15 @@ public class User {
     @Column(nullable = false)
     private String role; // "USER", "ADMIN"
 
+    @Column(nullable = false)
+    private int tokenVersion = 0; // Embedded in every JWT; bump it to revoke issued tokens
+
+    @Column(name = "time_zone", nullable = false, length = 64)
+    private String timeZone = "UTC"; // IANA id, e.g. "Asia/Kolkata"
+
+    @Column(name = "next_review_at", nullable = false)
+    private LocalDateTime nextReviewAt; // UTC instant of the next overdue review (local midnight + spread)
+
     @Column(nullable = false, updatable = false)
     private LocalDateTime createdAt;
 
@@ -0,0 +1,319 @@
+package com.clarity.clarity.recurrence;
+
+import com.clarity.clarity.domain.RecurrenceType;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * A recurrence pattern compiled once into an immutable rule. Obtain instances through
+ * {@link RecurrenceRules}, which caches them by pattern.
+ * <p>
+ * Patterns are either the legacy comma-separated day list ({@code "MONDAY,WEDNESDAY"}, meaning
+ * "the next listed day") or {@code KEY=VALUE} pairs separated by {@code ;}:
+ * <ul>
+ *     <li>{@code FREQ} - DAILY, WEEKLY or MONTHLY; optional, must match the task's recurrence type</li>
+ *     <li>{@code INTERVAL} - every n days / weeks / months (default 1)</li>
+ *     <li>{@code BYDAY} - weekdays, e.g. {@code MO,WE,FR} (DAILY or WEEKLY)</li>
+ *     <li>{@code BYMONTHDAY} - 1..31, clamped to short months, or -1 for the last day (MONTHLY)</li>
+ *     <li>{@code UNTIL} - last allowed date, {@code 2026-12-31} or {@code 20261231}</li>
+ *     <li>{@code COUNT} - number of occurrences in the series, the first one included</li>
+ * </ul>
+ * Occurrences are grouped into periods (a day, a Monday-based week or a month, {@code INTERVAL}
+ * apart) starting at the anchor's period, so enumerating a window jumps straight to its first
+ * period instead of stepping through the whole series.
+ */
+public final class RecurrenceRule {
+
+    private static final int MAX_INTERVAL = 366;
+
+    private final RecurrenceType frequency;
+    private final int interval;
+    // Bit (dayOfWeek - 1) set per listed weekday; 0 = the anchor's own weekday
+    private final int weekdays;
+    // 0 = the anchor's day of month, -1 = last day of the month
+    private final int monthDay;
+    private final LocalDate until;
+    private final Integer count;
+
+    private RecurrenceRule(RecurrenceType frequency, int interval, int weekdays, int monthDay,
+                           LocalDate until, Integer count) {
+        this.frequency = frequency;
+        this.interval = interval;
+        this.weekdays = weekdays;
+        this.monthDay = monthDay;
+        this.until = until;
+        this.count = count;
+    }
+
+    /**
+     * Parses a pattern. Invalid patterns throw {@link IllegalArgumentException}.
+     */
+    public static RecurrenceRule compile(RecurrenceType type, String pattern) {
+        if (type == null || type == RecurrenceType.NONE) {
+            throw new IllegalArgumentException("Recurrence type is required for a recurrence rule");
+        }
+        if (pattern == null || pattern.isBlank()) {
+            return new RecurrenceRule(type, 1, 0, 0, null, null);
+        }
+        return pattern.contains("=") ? parseKeyValues(type, pattern) : parseLegacyDays(type, pattern);
+    }
+
+    private static RecurrenceRule parseLegacyDays(RecurrenceType type, String pattern) {
+        int days = parseDays(pattern);
+        // Legacy lists only ever had an effect on DAILY; WEEKLY / MONTHLY stepped by a week / month
+        return type == RecurrenceType.DAILY
+                ? new RecurrenceRule(RecurrenceType.WEEKLY, 1, days, 0, null, null)
+                : new RecurrenceRule(type, 1, 0, 0, null, null);
+    }
+
+    private static RecurrenceRule parseKeyValues(RecurrenceType type, String pattern) {
+        RecurrenceType frequency = type;
+        int interval = 1;
+        int days = 0;
+        int monthDay = 0;
+        LocalDate until = null;
+        Integer count = null;
+
+        for (String part : pattern.split(";")) {
+            if (part.isBlank()) continue;
+            int eq = part.indexOf('=');
+            if (eq < 0) {
+                throw new IllegalArgumentException("Invalid recurrence pattern part: " + part.trim());
+            }
+            String key = part.substring(0, eq).trim().toUpperCase(Locale.ROOT);
+            String value = part.substring(eq + 1).trim();
+            switch (key) {
+                case "FREQ" -> frequency = parseFrequency(type, value);
+                case "INTERVAL" -> interval = parseInt(key, value, 1, MAX_INTERVAL);
+                case "BYDAY" -> days = parseDays(value);
+                case "BYMONTHDAY" -> {
+                    monthDay = parseInt(key, value, -1, 31);
+                    if (monthDay == 0) {
+                        throw new IllegalArgumentException("BYMONTHDAY must be 1..31 or -1");
+                    }
+                }
+                case "UNTIL" -> until = parseDate(value);
+                case "COUNT" -> count = parseInt(key, value, 1, Integer.MAX_VALUE);
+                default -> throw new IllegalArgumentException("Unknown recurrence pattern key: " + key);
+            }
+        }
+
+        if (days != 0 && frequency == RecurrenceType.MONTHLY) {
+            throw new IllegalArgumentException("BYDAY is not supported with MONTHLY recurrence");
+        }
+        if (monthDay != 0 && frequency != RecurrenceType.MONTHLY) {
+            throw new IllegalArgumentException("BYMONTHDAY requires MONTHLY recurrence");
+        }
+        if (days != 0 && frequency == RecurrenceType.DAILY) {
+            if (interval != 1) {
+                throw new IllegalArgumentException("BYDAY with a DAILY interval is not supported");
+            }
+            // "Every day, but only on these days" is a weekly rule
+            frequency = RecurrenceType.WEEKLY;
+        }
+        return new RecurrenceRule(frequency, interval, days, monthDay, until, count);
+    }
+
+    private static RecurrenceType parseFrequency(RecurrenceType type, String value) {
+        RecurrenceType frequency;
+        try {
+            frequency = RecurrenceType.valueOf(value.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("Unknown recurrence frequency: " + value);
+        }
+        if (frequency != type) {
+            throw new IllegalArgumentException("FREQ=" + frequency + " does not match recurrence type " + type);
+        }
+        return frequency;
+    }
+
+    private static int parseDays(String list) {
+        int mask = 0;
+        for (String token : list.split(",")) {
+            String day = token.trim().toUpperCase(Locale.ROOT);
+            if (day.isEmpty()) continue;
+            mask |= bit(parseDay(day));
+        }
+        if (mask == 0) {
+            throw new IllegalArgumentException("Recurrence day list is empty");
+        }
+        return mask;
+    }
+
+    // MONDAY, MON or MO
+    private static DayOfWeek parseDay(String day) {
+        if (day.length() >= 2) {
+            for (DayOfWeek candidate : DayOfWeek.values()) {
+                if (candidate.name().startsWith(day)) return candidate;
+            }
+        }
+        throw new IllegalArgumentException("Unknown day of week: " + day);
+    }
+
+    private static int parseInt(String key, String value, int min, int max) {
+        try {
+            int parsed = Integer.parseInt(value);
+            if (parsed < min || parsed > max) {
+                throw new IllegalArgumentException(key + " out of range: " + value);
+            }
+            return parsed;
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException(key + " must be a number: " + value);
+        }
+    }
+
+    private static LocalDate parseDate(String value) {
+        try {
+            return value.contains("-")
+                    ? LocalDate.parse(value)
+                    : LocalDate.parse(value, DateTimeFormatter.BASIC_ISO_DATE);
+        } catch (DateTimeParseException e) {
+            throw new IllegalArgumentException("UNTIL must be a date: " + value);
+        }
+    }
+
+    private static int bit(DayOfWeek day) {
+        return 1 << (day.getValue() - 1);
+    }
+
+    // --- Evaluation ---
+
+    /**
+     * The next occurrence after {@code current}, phased from {@code current} itself. Empty once
+     * past {@code UNTIL}. {@code COUNT} needs the series start; use {@link #nextAfter(LocalDateTime, LocalDateTime)}.
+     */
+    public Optional<LocalDateTime> nextAfter(LocalDateTime current) {
+        List<LocalDateTime> next = new ArrayList<>(1);
+        collect(current, current.plusNanos(1), null, 1, false, next);
+        return next.stream().findFirst();
+    }
+
+    /**
+     * The first occurrence after {@code current} of the series starting at {@code anchor},
+     * honouring {@code UNTIL} and {@code COUNT}. Empty once the series is exhausted.
+     */
+    public Optional<LocalDateTime> nextAfter(LocalDateTime anchor, LocalDateTime current) {
+        List<LocalDateTime> next = new ArrayList<>(1);
+        LocalDateTime from = current.plusNanos(1);
+        collect(anchor, from.isBefore(anchor) ? anchor : from, null, 1, true, next);
+        return next.stream().findFirst();
+    }
+
+    /**
+     * Occurrences of the series starting at {@code anchor} (the first occurrence) that fall in
+     * {@code [from, to)}, honouring {@code UNTIL} and {@code COUNT}.
+     */
+    public List<LocalDateTime> occurrences(LocalDateTime anchor, LocalDateTime from, LocalDateTime to) {
+        List<LocalDateTime> out = new ArrayList<>();
+        collect(anchor, from.isBefore(anchor) ? anchor : from, to, Integer.MAX_VALUE, true, out);
+        return out;
+    }
+
+    private void collect(LocalDateTime anchor, LocalDateTime from, LocalDateTime to, int max,
+                         boolean applyCount, List<LocalDateTime> out) {
+        LocalDate anchorDate = anchor.toLocalDate();
+        LocalTime time = anchor.toLocalTime();
+        long remaining = applyCount && count != null ? count : Long.MAX_VALUE;
+
+        // Jump to the period containing 'from'; whole earlier periods are only counted
+        long period = Math.max(0, Math.floorDiv(unitsBetween(anchorDate, from.toLocalDate()), interval));
+        if (period > 0 && remaining != Long.MAX_VALUE) {
+            remaining -= firstPeriodSize(anchorDate) + (period - 1) * fullPeriodSize();
+        }
+
+        LocalDate[] dates = new LocalDate[7];
+        while (remaining > 0 && out.size() < max) {
+            int n = datesInPeriod(anchorDate, period, dates);
+            for (int i = 0; i < n && remaining > 0 && out.size() < max; i++) {
+                LocalDate date = dates[i];
+                if (until != null && date.isAfter(until)) return;
+                LocalDateTime occurrence = date.atTime(time);
+                if (to != null && !occurrence.isBefore(to)) return;
+                remaining--;
+                if (!occurrence.isBefore(from)) out.add(occurrence);
+            }
+            period++;
+        }
+    }
+
+    private long unitsBetween(LocalDate anchorDate, LocalDate date) {
+        return switch (frequency) {
+            case WEEKLY -> ChronoUnit.WEEKS.between(monday(anchorDate), monday(date));
+            case MONTHLY -> ChronoUnit.MONTHS.between(YearMonth.from(anchorDate), YearMonth.from(date));
+            default -> ChronoUnit.DAYS.between(anchorDate, date);
+        };
+    }
+
+    // Fills 'out' with the period's occurrence dates in order (none before the anchor), returns how many
+    private int datesInPeriod(LocalDate anchorDate, long period, LocalDate[] out) {
+        long step = period * interval;
+        switch (frequency) {
+            case WEEKLY -> {
+                int mask = weekdays != 0 ? weekdays : bit(anchorDate.getDayOfWeek());
+                LocalDate monday = monday(anchorDate).plusWeeks(step);
+                int n = 0;
+                for (int d = 0; d < 7; d++) {
+                    if ((mask & (1 << d)) == 0) continue;
+                    LocalDate date = monday.plusDays(d);
+                    if (!date.isBefore(anchorDate)) out[n++] = date;
+                }
+                return n;
+            }
+            case MONTHLY -> {
+                YearMonth month = YearMonth.from(anchorDate).plusMonths(step);
+                LocalDate date = dayInMonth(month, monthDay != 0 ? monthDay : anchorDate.getDayOfMonth());
+                if (date.isBefore(anchorDate)) return 0;
+                out[0] = date;
+                return 1;
+            }
+            default -> {
+                out[0] = anchorDate.plusDays(step);
+                return 1;
+            }
+        }
+    }
+
+    private int firstPeriodSize(LocalDate anchorDate) {
+        return datesInPeriod(anchorDate, 0, new LocalDate[7]);
+    }
+
+    private int fullPeriodSize() {
+        return frequency == RecurrenceType.WEEKLY && weekdays != 0 ? Integer.bitCount(weekdays) : 1;
+    }
+
+    private static LocalDate monday(LocalDate date) {
+        return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    }
+
+    private static LocalDate dayInMonth(YearMonth month, int day) {
+        return day < 0 || day > month.lengthOfMonth() ? month.atEndOfMonth() : month.atDay(day);
+    }
+
+    public RecurrenceType getFrequency() {
+        return frequency;
+    }
+
+    public int getInterval() {
+        return interval;
+    }
+
+    public Optional<LocalDate> getUntil() {
+        return Optional.ofNullable(until);
+    }
+
+    public Optional<Integer> getCount() {
+        return Optional.ofNullable(count);
+    }
+}
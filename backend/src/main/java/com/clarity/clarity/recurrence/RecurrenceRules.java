@@ -0,0 +1,34 @@
+package com.clarity.clarity.recurrence;
+
+import com.clarity.clarity.domain.RecurrenceType;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compiled {@link RecurrenceRule}s, cached by recurrence type and pattern string. Rules are
+ * immutable, so one compiled instance is shared by every task using the same pattern.
+ */
+@Component
+public class RecurrenceRules {
+
+    private record Key(RecurrenceType type, String pattern) {
+    }
+
+    private final Cache<Key, RecurrenceRule> compiled;
+
+    public RecurrenceRules(@Value("${clarity.recurrence.rule-cache-size:1000}") long maxSize) {
+        this.compiled = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .build();
+    }
+
+    /**
+     * Invalid patterns throw {@link IllegalArgumentException} and are never cached.
+     */
+    public RecurrenceRule get(RecurrenceType type, String pattern) {
+        String normalized = pattern == null ? "" : pattern.trim();
+        return compiled.get(new Key(type, normalized), key -> RecurrenceRule.compile(key.type(), key.pattern()));
+    }
+}
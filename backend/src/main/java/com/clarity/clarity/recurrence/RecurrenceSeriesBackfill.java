@@ -0,0 +1,86 @@
+package com.clarity.clarity.recurrence;
+
+import com.clarity.clarity.domain.RecurrenceType;
+
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Rebuilds series for recurring tasks created before series_id existed (used by the V24 migration).
+ * <p>
+ * Instances were then copies of their predecessor due at {@code rule.nextAfter(predecessor due)},
+ * always inserted after it. Fed in id order, a row continues the chain that expects its due date
+ * (same owner, goal, title and rule); otherwise it starts a series of its own. Each expected slot
+ * is taken once, so two series that merely look alike stay apart. A second row in a slot that a
+ * chain already filled is a duplicate from the old check-then-insert race: it joins that series
+ * without an occurrence_at, which keeps (series_id, occurrence_at) unique.
+ */
+public final class RecurrenceSeriesBackfill {
+
+    public record Row(long id, Long userId, Long goalId, String title, String recurrenceType,
+                      String recurrencePattern, LocalDateTime dueDatetime) {
+    }
+
+    public record Assignment(long id, long seriesId, LocalDateTime occurrenceAt) {
+    }
+
+    private record Key(Long userId, Long goalId, String title, String recurrenceType, String recurrencePattern) {
+    }
+
+    private record Slot(Key key, LocalDateTime due) {
+    }
+
+    private final RecurrenceRules rules = new RecurrenceRules(1000);
+    // Next occurrence each chain is waiting for -> its series
+    private final Map<Slot, Long> expected = new HashMap<>();
+    // Occurrences filled by a chain continuation -> series (root rows are never matched as duplicates)
+    private final Map<Slot, Long> continued = new HashMap<>();
+    private long lastId = Long.MIN_VALUE;
+
+    /**
+     * Assigns {@code row}, which must come after every row added so far in id order.
+     */
+    public Assignment add(Row row) {
+        if (row.id() <= lastId) {
+            throw new IllegalArgumentException("Rows must be added in ascending id order: " + row.id() + " after " + lastId);
+        }
+        lastId = row.id();
+
+        Key key = new Key(row.userId(), row.goalId(), row.title(), row.recurrenceType(),
+                Objects.requireNonNullElse(row.recurrencePattern(), "").trim());
+        if (row.dueDatetime() == null) {
+            // Its successor was phased from "now": nothing can be linked to it
+            return new Assignment(row.id(), row.id(), null);
+        }
+        Slot slot = new Slot(key, row.dueDatetime());
+
+        Long series = expected.remove(slot);
+        if (series != null) {
+            continued.put(slot, series);
+            expect(key, row.dueDatetime(), series);
+            return new Assignment(row.id(), series, row.dueDatetime());
+        }
+        Long duplicateOf = continued.get(slot);
+        if (duplicateOf != null) {
+            return new Assignment(row.id(), duplicateOf, null);
+        }
+        expect(key, row.dueDatetime(), row.id());
+        return new Assignment(row.id(), row.id(), row.dueDatetime());
+    }
+
+    private void expect(Key key, LocalDateTime due, long series) {
+        nextAfter(key, due).ifPresent(next -> expected.putIfAbsent(new Slot(key, next), series));
+    }
+
+    private Optional<LocalDateTime> nextAfter(Key key, LocalDateTime due) {
+        try {
+            return rules.get(RecurrenceType.valueOf(key.recurrenceType()), key.recurrencePattern()).nextAfter(due);
+        } catch (IllegalArgumentException e) {
+            // Unknown type or a pattern stored before validation: it never produced a successor
+            return Optional.empty();
+        }
+    }
+}
@@ -0,0 +1,47 @@
+package com.clarity.clarity.repository;
+
+import com.clarity.clarity.entity.DailyCapacity;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.time.LocalDate;
+
+public interface DailyCapacityRepository extends JpaRepository<DailyCapacity, DailyCapacity.Key> {
+
+    // Idempotent: concurrent first bookings of a day race on the primary key, not on the balance
+    @Modifying
+    @Query(value = """
+        INSERT INTO daily_capacity_ledger (user_id, plan_date, planned_minutes)
+        VALUES (:userId, :planDate, 0)
+        ON CONFLICT DO NOTHING
+    """, nativeQuery = true)
+    int ensureRow(@Param("userId") Long userId, @Param("planDate") LocalDate planDate);
+
+    // Admission check and reservation in one statement: the row lock serializes racing requests
+    // and the predicate is re-checked against the committed balance, so the limit cannot be overrun.
+    @Modifying
+    @Query("""
+        UPDATE DailyCapacity c
+        SET c.plannedMinutes = c.plannedMinutes + :minutes
+        WHERE c.userId = :userId
+          AND c.planDate = :planDate
+          AND c.plannedMinutes + :minutes <= :limit
+    """)
+    int tryReserve(@Param("userId") Long userId,
+                   @Param("planDate") LocalDate planDate,
+                   @Param("minutes") long minutes,
+                   @Param("limit") long limit);
+
+    @Modifying
+    @Query("""
+        UPDATE DailyCapacity c
+        SET c.plannedMinutes = CASE WHEN c.plannedMinutes > :minutes THEN c.plannedMinutes - :minutes ELSE 0 END
+        WHERE c.userId = :userId
+          AND c.planDate = :planDate
+    """)
+    int release(@Param("userId") Long userId,
+                @Param("planDate") LocalDate planDate,
+                @Param("minutes") long minutes);
+}
@@ -0,0 +1,11 @@
+package com.clarity.clarity.repository;
+
+import java.time.LocalDateTime;
+
+/**
+ * Everything the dispatcher needs to fire a reminder, read in one join so firing never
+ * touches the Reminder / Task entities.
+ */
+public record DueReminder(Long id, Long taskId, Long userId, String taskTitle,
+                          LocalDateTime taskDueDatetime, LocalDateTime remindAt) {
+}
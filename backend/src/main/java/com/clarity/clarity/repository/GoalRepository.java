@@ -1,7 +1,12 @@
 package com.clarity.clarity.repository;
 
+import com.clarity.clarity.dto.response.GoalResponse;
 import com.clarity.clarity.entity.Goal;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.util.List;
 import java.util.Optional;
 
@@ -9,4 +14,51 @@ public interface GoalRepository extends JpaRepository<Goal, Long> {
     // Standard secure fetch methods
     List<Goal> findAllByUserId(Long userId);
     Optional<Goal> findByIdAndUserId(Long id, Long userId);
-}
\ No newline at end of file
+    boolean existsByIdAndUserId(Long id, Long userId);
+
+    // Goal rows with their task counts read straight from the live counters (no join, no grouping).
+    // The counters are the only source of truth: goal completion is decided from them too.
+    @Query("""
+        SELECT new com.clarity.clarity.dto.response.GoalResponse(
+            g.id, g.title, g.description, g.priority, g.status, g.createdAt,
+            g.openTaskCount + g.closedTaskCount, g.closedTaskCount)
+        FROM Goal g
+        WHERE g.userId = :userId
+        ORDER BY g.id
+    """)
+    List<GoalResponse> findSummariesByUserId(@Param("userId") Long userId);
+
+    @Query("""
+        SELECT new com.clarity.clarity.dto.response.GoalResponse(
+            g.id, g.title, g.description, g.priority, g.status, g.createdAt,
+            g.openTaskCount + g.closedTaskCount, g.closedTaskCount)
+        FROM Goal g
+        WHERE g.id = :id AND g.userId = :userId
+    """)
+    Optional<GoalResponse> findSummaryByIdAndUserId(@Param("id") Long id, @Param("userId") Long userId);
+
+    // --- TASK COUNTERS (row-level atomic, safe under concurrent completions) ---
+
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        UPDATE Goal g
+        SET g.openTaskCount = g.openTaskCount + :openDelta,
+            g.closedTaskCount = g.closedTaskCount + :closedDelta
+        WHERE g.id = :goalId
+    """)
+    int adjustTaskCounters(@Param("goalId") Long goalId,
+                           @Param("openDelta") int openDelta,
+                           @Param("closedDelta") int closedDelta);
+
+    // The WHERE clause is re-evaluated on the locked row, so racing completions flip the goal once
+    @Modifying(flushAutomatically = true)
+    @Query("""
+        UPDATE Goal g
+        SET g.status = com.clarity.clarity.domain.GoalStatus.DONE
+        WHERE g.id = :goalId
+          AND g.openTaskCount = 0
+          AND g.closedTaskCount > 0
+          AND g.status <> com.clarity.clarity.domain.GoalStatus.DONE
+    """)
+    int markDoneIfAllTasksClosed(@Param("goalId") Long goalId);
+}
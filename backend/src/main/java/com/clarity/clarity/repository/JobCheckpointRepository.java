@@ -0,0 +1,11 @@
+package com.clarity.clarity.repository;
+
+import com.clarity.clarity.entity.JobCheckpoint;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.List;
+
+public interface JobCheckpointRepository extends JpaRepository<JobCheckpoint, JobCheckpoint.Key> {
+
+    List<JobCheckpoint> findByJobNameAndRunKey(String jobName, String runKey);
+}
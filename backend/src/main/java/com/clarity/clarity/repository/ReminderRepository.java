@@ -1,24 +1,88 @@
 package com.clarity.clarity.repository;
 
 import com.clarity.clarity.entity.Reminder;
-import com.clarity.clarity.domain.ReminderStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface ReminderRepository extends JpaRepository<Reminder, Long> {
 
-    List<Reminder> findByStatusAndRemindAtBefore(
-            ReminderStatus status,
-            LocalDateTime now
-    );
+    // Pending reminders due up to the dispatcher horizon (includes overdue ones missed while down)
+    @Query("""
+        SELECT new com.clarity.clarity.repository.DueReminder(
+            r.id, t.id, r.userId, t.title, t.dueDatetime, r.remindAt)
+        FROM Reminder r JOIN r.task t
+        WHERE r.status = com.clarity.clarity.domain.ReminderStatus.PENDING
+          AND r.remindAt <= :until
+        ORDER BY r.remindAt
+    """)
+    List<DueReminder> findPendingDueBefore(@Param("until") LocalDateTime until);
+
+    // --- CLAIMING (multi-node) ---
+
+    // FOR UPDATE SKIP LOCKED (lock timeout -2): replicas claiming at the same moment take disjoint rows
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @QueryHints(@QueryHint(name = "jakarta.persistence.lock.timeout", value = "-2"))
+    @Query("""
+        SELECT r FROM Reminder r
+        WHERE r.status = com.clarity.clarity.domain.ReminderStatus.PENDING
+          AND r.remindAt <= :now
+          AND (r.claimExpiresAt IS NULL OR r.claimExpiresAt < :now)
+        ORDER BY r.remindAt
+    """)
+    List<Reminder> lockClaimable(@Param("now") LocalDateTime now, Pageable page);
+
+    // Re-checks the claim predicate, so rows another node claimed in the meantime are left alone
+    @Modifying(clearAutomatically = true)
+    @Query("""
+        UPDATE Reminder r
+        SET r.claimedBy = :node, r.claimExpiresAt = :expiresAt
+        WHERE r.id IN :ids
+          AND r.status = com.clarity.clarity.domain.ReminderStatus.PENDING
+          AND (r.claimExpiresAt IS NULL OR r.claimExpiresAt < :now)
+    """)
+    int claim(@Param("ids") Collection<Long> ids,
+              @Param("node") String node,
+              @Param("now") LocalDateTime now,
+              @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Query("""
+        SELECT new com.clarity.clarity.repository.DueReminder(
+            r.id, t.id, r.userId, t.title, t.dueDatetime, r.remindAt)
+        FROM Reminder r JOIN r.task t
+        WHERE r.id IN :ids
+          AND r.claimedBy = :node
+          AND r.claimExpiresAt = :expiresAt
+        ORDER BY r.remindAt
+    """)
+    List<DueReminder> findClaimed(@Param("ids") Collection<Long> ids,
+                                  @Param("node") String node,
+                                  @Param("expiresAt") LocalDateTime expiresAt);
+
+    // One statement per dispatch batch; only the claim holder can complete it
+    @Modifying
+    @Query("""
+        UPDATE Reminder r SET r.status = com.clarity.clarity.domain.ReminderStatus.SENT
+        WHERE r.id IN :ids
+          AND r.claimedBy = :node
+          AND r.status = com.clarity.clarity.domain.ReminderStatus.PENDING
+    """)
+    int markSent(@Param("ids") Collection<Long> ids, @Param("node") String node);
 
     List<Reminder> findAllByUserId(Long userId);
 
     Optional<Reminder> findByIdAndUserId(Long id, Long userId);
 }
-
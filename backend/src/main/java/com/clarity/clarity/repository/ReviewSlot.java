@@ -0,0 +1,7 @@
+package com.clarity.clarity.repository;
+
+/**
+ * A user whose overdue review is due, with the zone used to schedule the next one.
+ */
+public record ReviewSlot(Long userId, String timeZone) {
+}
@@ -2,6 +2,9 @@ package com.clarity.clarity.repository;
 
 import com.clarity.clarity.entity.TaskActivityLog;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
 import java.time.LocalDateTime;
 import java.util.List;
 
@@ -10,6 +13,18 @@ public interface TaskActivityLogRepository extends JpaRepository<TaskActivityLog
     // 1. For Timeline (Secure)
     List<TaskActivityLog> findByTaskIdAndUserIdOrderByCreatedAtDesc(Long taskId, Long userId);
 
-    // 2. For Insights (Secure)
-    List<TaskActivityLog> findByCreatedAtAfterAndUserId(LocalDateTime date, Long userId);
+    // 2. For Insights (Secure): tasks whose review accepted a delay, counted in the database.
+    // Native for the jsonb containment operator; served by idx_activity_logs_reviewed_user_created_at.
+    @Query(value = """
+        SELECT COUNT(DISTINCT task_id)
+        FROM task_activity_logs
+        WHERE user_id = :userId
+          AND action = 'TASK_REVIEWED'
+          AND created_at > :from
+          AND created_at <= :to
+          AND metadata @> CAST('{"decision":"ACCEPT_DELAY"}' AS jsonb)
+    """, nativeQuery = true)
+    long countDelayedTasksReviewedBetween(@Param("userId") Long userId,
+                                          @Param("from") LocalDateTime from,
+                                          @Param("to") LocalDateTime to);
 }
\ No newline at end of file
@@ -0,0 +1,46 @@
+package com.clarity.clarity.repository;
+
+import com.clarity.clarity.domain.TaskSort;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position for task listings: the sort key of the last row already returned.
+ * Due-date ordering lists dated tasks first (due, id) and undated ones after them (id),
+ * so a cursor is either ID, DATED or UNDATED.
+ */
+public record TaskCursor(Kind kind, LocalDateTime dueDatetime, long id) {
+
+    public enum Kind { ID, DATED, UNDATED }
+
+    public static TaskCursor of(TaskSort sort, LocalDateTime dueDatetime, Long id) {
+        if (sort == TaskSort.ID) return new TaskCursor(Kind.ID, null, id);
+        return dueDatetime != null
+                ? new TaskCursor(Kind.DATED, dueDatetime, id)
+                : new TaskCursor(Kind.UNDATED, null, id);
+    }
+
+    public boolean matches(TaskSort sort) {
+        return (sort == TaskSort.ID) == (kind == Kind.ID);
+    }
+
+    public String encode() {
+        String raw = kind.name() + "|" + (dueDatetime == null ? "" : dueDatetime) + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static TaskCursor decode(String cursor) {
+        if (cursor == null || cursor.isBlank()) return null;
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            String[] parts = raw.split("\\|", -1);
+            Kind kind = Kind.valueOf(parts[0]);
+            LocalDateTime due = kind == Kind.DATED ? LocalDateTime.parse(parts[1]) : null;
+            return new TaskCursor(kind, due, Long.parseLong(parts[2]));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor");
+        }
+    }
+}
@@ -1,47 +1,99 @@
 package com.clarity.clarity.repository;
 
+import com.clarity.clarity.dto.response.TaskResponse;
 import com.clarity.clarity.entity.Task;
-import com.clarity.clarity.domain.TaskStatus;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 @Repository
-public interface TaskRepository extends JpaRepository<Task, Long> {
+public interface TaskRepository extends JpaRepository<Task, Long>, TaskRepositoryCustom {
 
-    // --- SYSTEM QUERIES (For Schedulers) ---
+    // --- USER QUERIES (Strictly User-Scoped & Filter Deleted) ---
+
+    // Standard fetches
+    Optional<Task> findByIdAndUserIdAndDeletedFalse(Long id, Long userId);
+
+    // Read-only listing: projected rows, the goal title comes from the same join
     @Query("""
-        SELECT t FROM Task t
-        WHERE t.dueDatetime IS NOT NULL
-          AND t.dueDatetime < :now
-          AND t.status IN :statuses
-          AND t.needsReview = false
+        SELECT new com.clarity.clarity.dto.response.TaskResponse(
+            t.id, t.title, t.status, t.dueDatetime, t.estimatedMinutes, t.actualMinutes,
+            t.recurrenceType, t.recurrencePattern, g.id, g.title)
+        FROM Task t JOIN t.goal g
+        WHERE t.userId = :userId
+          AND t.needsReview = true
           AND t.deleted = false
-    """) // Added deleted = false check
-    List<Task> findAllOverdueTasksForSystem(
-            @Param("now") LocalDateTime now,
-            @Param("statuses") List<TaskStatus> statuses
-    );
+        ORDER BY t.id
+    """)
+    List<TaskResponse> findReviewQueue(@Param("userId") Long userId);
 
-    // --- USER QUERIES (Strictly User-Scoped & Filter Deleted) ---
+    // Weekly insights: one aggregate over the created_at range (idx_tasks_user_created_at), no row transfer
+    @Query("""
+        SELECT new com.clarity.clarity.repository.WeeklyTaskStats(
+            COUNT(t.id),
+            COALESCE(SUM(CASE WHEN t.status = com.clarity.clarity.domain.TaskStatus.DONE THEN 1 ELSE 0 END), 0),
+            AVG(CASE WHEN t.actualMinutes IS NOT NULL AND t.estimatedMinutes IS NOT NULL
+                     THEN t.actualMinutes - t.estimatedMinutes END))
+        FROM Task t
+        WHERE t.userId = :userId
+          AND t.deleted = false
+          AND t.createdAt > :from
+          AND t.createdAt <= :to
+    """)
+    WeeklyTaskStats aggregateCreatedBetween(@Param("userId") Long userId,
+                                            @Param("from") LocalDateTime from,
+                                            @Param("to") LocalDateTime to);
 
-    // Standard fetches
-    List<Task> findAllByUserIdAndDeletedFalse(Long userId);
+    // --- RECURRENCE SERIES ---
 
-    Optional<Task> findByIdAndUserIdAndDeletedFalse(Long id, Long userId);
+    // Recurrence materializer: the latest live instance of each recurring series, id-ordered
+    @Query("""
+        SELECT t.id FROM Task t
+        WHERE t.id > :afterId
+          AND t.deleted = false
+          AND t.seriesId IS NOT NULL
+          AND t.occurrenceAt IS NOT NULL
+          AND t.status IN (com.clarity.clarity.domain.TaskStatus.READY, com.clarity.clarity.domain.TaskStatus.IN_PROGRESS)
+          AND NOT EXISTS (
+              SELECT n.id FROM Task n
+              WHERE n.seriesId = t.seriesId
+                AND n.deleted = false
+                AND n.occurrenceAt > t.occurrenceAt)
+        ORDER BY t.id
+    """)
+    List<Long> findOpenSeriesHeadIds(@Param("afterId") Long afterId, Pageable page);
 
-    // Filtered fetches
-    List<Task> findByNeedsReviewTrueAndUserIdAndDeletedFalse(Long userId);
+    @Query("SELECT t FROM Task t JOIN FETCH t.goal WHERE t.id IN :ids ORDER BY t.id")
+    List<Task> findAllWithGoalByIdIn(@Param("ids") Collection<Long> ids);
 
-    List<Task> findByGoalIdAndUserIdAndDeletedFalse(Long goalId, Long userId);
+    // First occurrence of a series, the anchor for INTERVAL phase and COUNT (uq_tasks_series_occurrence)
+    @Query("SELECT MIN(t.occurrenceAt) FROM Task t WHERE t.seriesId = :seriesId")
+    Optional<LocalDateTime> findSeriesAnchor(@Param("seriesId") Long seriesId);
 
-    // Logic checks
-    boolean existsByUserIdAndTitleAndGoalIdAndDueDatetimeAndDeletedFalse(
-            Long userId, String title, Long goalId, LocalDateTime dueDatetime
-    );
+    // Idempotent instance creation: an occupied (series, occurrence) slot - even a soft-deleted one - makes this a no-op
+    @Modifying
+    @Query(value = """
+        INSERT INTO tasks (goal_id, title, status, estimated_minutes, user_id, recurrence_type, recurrence_pattern,
+                           due_datetime, series_id, occurrence_at, created_at, needs_review, deleted)
+        VALUES (:goalId, :title, 'READY', :estimatedMinutes, :userId, :recurrenceType, :recurrencePattern,
+                :occurrenceAt, :seriesId, :occurrenceAt, :createdAt, FALSE, FALSE)
+        ON CONFLICT DO NOTHING
+    """, nativeQuery = true)
+    int insertOccurrence(@Param("goalId") Long goalId,
+                         @Param("title") String title,
+                         @Param("estimatedMinutes") Integer estimatedMinutes,
+                         @Param("userId") Long userId,
+                         @Param("recurrenceType") String recurrenceType,
+                         @Param("recurrencePattern") String recurrencePattern,
+                         @Param("seriesId") Long seriesId,
+                         @Param("occurrenceAt") LocalDateTime occurrenceAt,
+                         @Param("createdAt") LocalDateTime createdAt);
 }
\ No newline at end of file
@@ -0,0 +1,14 @@
+package com.clarity.clarity.repository;
+
+import com.clarity.clarity.domain.TaskSort;
+import com.clarity.clarity.dto.request.TaskFilter;
+import com.clarity.clarity.dto.response.TaskResponse;
+
+import java.util.List;
+
+public interface TaskRepositoryCustom {
+
+    // Keyset page of a user's live tasks, starting strictly after the cursor (null = first page).
+    // Rows are projected straight into TaskResponse: no entity hydration or dirty-checking snapshot.
+    List<TaskResponse> findPage(Long userId, TaskFilter filter, TaskSort sort, TaskCursor after, int limit);
+}
@@ -0,0 +1,108 @@
+package com.clarity.clarity.repository;
+
+import com.clarity.clarity.domain.TaskSort;
+import com.clarity.clarity.dto.request.TaskFilter;
+import com.clarity.clarity.dto.response.TaskResponse;
+import com.clarity.clarity.entity.Goal;
+import com.clarity.clarity.entity.Task;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.CriteriaQuery;
+import jakarta.persistence.criteria.Join;
+import jakarta.persistence.criteria.Path;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+public class TaskRepositoryCustomImpl implements TaskRepositoryCustom {
+
+    // The three index-friendly scans a page can be assembled from
+    private enum Segment { BY_ID, DATED, UNDATED }
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public List<TaskResponse> findPage(Long userId, TaskFilter filter, TaskSort sort, TaskCursor after, int limit) {
+        if (sort == TaskSort.ID) {
+            return select(userId, filter, Segment.BY_ID, after, limit);
+        }
+
+        // DUE_DATE: (due, id) for dated tasks, then undated tasks by id. Two range scans
+        // instead of one "NULLS LAST" sort keeps both halves on idx_tasks_user_due_id.
+        List<TaskResponse> page = new ArrayList<>();
+        if (after == null || after.kind() == TaskCursor.Kind.DATED) {
+            page.addAll(select(userId, filter, Segment.DATED, after, limit));
+        }
+
+        boolean dueRangeFilter = filter.dueFrom() != null || filter.dueTo() != null;
+        if (page.size() < limit && !dueRangeFilter) {
+            TaskCursor undatedAfter = after != null && after.kind() == TaskCursor.Kind.UNDATED ? after : null;
+            page.addAll(select(userId, filter, Segment.UNDATED, undatedAfter, limit - page.size()));
+        }
+        return page;
+    }
+
+    private List<TaskResponse> select(Long userId, TaskFilter filter, Segment segment, TaskCursor after, int limit) {
+        CriteriaBuilder cb = entityManager.getCriteriaBuilder();
+        CriteriaQuery<TaskResponse> query = cb.createQuery(TaskResponse.class);
+        Root<Task> task = query.from(Task.class);
+        Join<Task, Goal> goal = task.join("goal");
+
+        Path<LocalDateTime> due = task.get("dueDatetime");
+        Path<Long> id = task.get("id");
+        List<Predicate> where = filterPredicates(cb, task, goal, userId, filter);
+
+        switch (segment) {
+            case BY_ID -> {
+                if (after != null) where.add(cb.greaterThan(id, after.id()));
+                query.orderBy(cb.asc(id));
+            }
+            case DATED -> {
+                where.add(cb.isNotNull(due));
+                if (after != null) {
+                    where.add(cb.or(
+                            cb.greaterThan(due, after.dueDatetime()),
+                            cb.and(cb.equal(due, after.dueDatetime()), cb.greaterThan(id, after.id()))
+                    ));
+                }
+                query.orderBy(cb.asc(due), cb.asc(id));
+            }
+            case UNDATED -> {
+                where.add(cb.isNull(due));
+                if (after != null) where.add(cb.greaterThan(id, after.id()));
+                query.orderBy(cb.asc(id));
+            }
+        }
+
+        // Single join, one flat row per task
+        query.select(cb.construct(TaskResponse.class,
+                        id, task.get("title"), task.get("status"), due,
+                        task.get("estimatedMinutes"), task.get("actualMinutes"),
+                        task.get("recurrenceType"), task.get("recurrencePattern"),
+                        goal.get("id"), goal.get("title")))
+                .where(where.toArray(Predicate[]::new));
+        return entityManager.createQuery(query)
+                .setMaxResults(limit)
+                .getResultList();
+    }
+
+    private List<Predicate> filterPredicates(CriteriaBuilder cb, Root<Task> task, Join<Task, Goal> goal,
+                                             Long userId, TaskFilter filter) {
+        List<Predicate> where = new ArrayList<>();
+        where.add(cb.equal(task.get("userId"), userId));
+        where.add(cb.isFalse(task.get("deleted")));
+
+        Path<LocalDateTime> due = task.get("dueDatetime");
+        if (filter.statuses() != null && !filter.statuses().isEmpty()) where.add(task.get("status").in(filter.statuses()));
+        if (filter.goalId() != null) where.add(cb.equal(goal.get("id"), filter.goalId()));
+        if (filter.dueFrom() != null) where.add(cb.greaterThanOrEqualTo(due, filter.dueFrom()));
+        if (filter.dueTo() != null) where.add(cb.lessThan(due, filter.dueTo()));
+        if (filter.needsReview() != null) where.add(cb.equal(task.get("needsReview"), filter.needsReview()));
+        return where;
+    }
+}
@@ -1,5 +1,6 @@
 package com.clarity.clarity.repository;
 
+import com.clarity.clarity.dto.response.TimeBlockResponse;
 import com.clarity.clarity.entity.TimeBlock;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
@@ -11,10 +12,17 @@ import java.util.Optional;
 
 public interface TimeBlockRepository extends JpaRepository<TimeBlock, Long> {
 
-    void deleteAllByTaskId(Long taskId);
-
-    @Query("SELECT b FROM TimeBlock b WHERE b.userId = :userId AND b.startTime >= :start AND b.startTime < :end ORDER BY b.startTime ASC")
-    List<TimeBlock> findByUserIdAndDate(
+    List<TimeBlock> findAllByTaskId(Long taskId);
+
+    // Day schedule with task and goal titles in one query, no entities loaded
+    @Query("""
+            SELECT new com.clarity.clarity.dto.response.TimeBlockResponse(
+                b.id, t.id, t.title, g.title, b.startTime, b.endTime)
+            FROM TimeBlock b JOIN b.task t JOIN t.goal g
+            WHERE b.userId = :userId AND b.startTime >= :start AND b.startTime < :end
+            ORDER BY b.startTime ASC
+            """)
+    List<TimeBlockResponse> findScheduleByUserIdAndDate(
             @Param("userId") Long userId,
             @Param("start") LocalDateTime start,
             @Param("end") LocalDateTime end
@@ -28,6 +36,4 @@ public interface TimeBlockRepository extends JpaRepository<TimeBlock, Long> {
 
     // 4. SECURITY: Generic single item access
     Optional<TimeBlock> findByIdAndUserId(Long id, Long userId);
-
-    void deleteByIdAndUserId(Long id, Long userId);
 }
\ No newline at end of file
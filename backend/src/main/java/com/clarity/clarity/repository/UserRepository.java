@@ -1,10 +1,33 @@
 package com.clarity.clarity.repository;
 
 import com.clarity.clarity.entity.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByEmail(String email);
-}
\ No newline at end of file
+
+    // Atomic, so concurrent revocations never collapse into one bump; commits before returning
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.tokenVersion = u.tokenVersion + 1 WHERE u.id = :id")
+    int incrementTokenVersion(@Param("id") Long id);
+
+    // Users whose local-midnight review is due (nextReviewAt is UTC), oldest first; idx_users_next_review_at
+    @Query("""
+        SELECT new com.clarity.clarity.repository.ReviewSlot(u.id, u.timeZone)
+        FROM User u
+        WHERE u.nextReviewAt <= :nowUtc
+        ORDER BY u.nextReviewAt
+    """)
+    List<ReviewSlot> findDueForReview(@Param("nowUtc") LocalDateTime nowUtc, Pageable page);
+}
@@ -0,0 +1,8 @@
+package com.clarity.clarity.repository;
+
+/**
+ * Aggregate over a user's tasks created in a time window.
+ * avgEstimationError is null when no task in the window has both estimate and actual minutes.
+ */
+public record WeeklyTaskStats(Long total, Long completed, Double avgEstimationError) {
+}
@@ -0,0 +1,28 @@
+package com.clarity.clarity.scheduler;
+
+import com.clarity.clarity.scheduler.lock.ClusterLocked;
+import com.clarity.clarity.service.RecurrenceService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pre-generates upcoming recurring instances. Off by default: without it the next instance is
+ * only created when the current one is completed.
+ */
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "clarity.recurrence.materialize.enabled", havingValue = "true")
+public class RecurrenceMaterializerScheduler {
+
+    private final RecurrenceService recurrenceService;
+
+    @Scheduled(fixedDelayString = "${clarity.recurrence.materialize.interval-ms:3600000}")
+    @Timed(value = "clarity.scheduler.run", extraTags = {"job", "recurrence-materializer"})
+    @ClusterLocked(name = "recurrence-materializer", lockAtMostFor = "PT30M", lockAtLeastFor = "PT1M")
+    public void materialize() {
+        recurrenceService.materializeUpcoming();
+    }
+}
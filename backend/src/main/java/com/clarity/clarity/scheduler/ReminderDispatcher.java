@@ -0,0 +1,231 @@
+package com.clarity.clarity.scheduler;
+
+import com.clarity.clarity.config.NodeIdentity;
+import com.clarity.clarity.repository.DueReminder;
+import com.clarity.clarity.repository.ReminderRepository;
+import com.clarity.clarity.service.ReminderClaimService;
+import com.clarity.clarity.service.TaskActivityLogService;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.DelayQueue;
+import java.util.concurrent.Delayed;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Fires reminders from memory instead of polling the table: pending reminders due within the
+ * horizon sit in a DelayQueue and a dedicated thread wakes exactly when the earliest one is due.
+ * <p>
+ * The queue is hydrated on startup, fed by {@code ReminderService.createReminder} after commit,
+ * and topped up by the {@link ReminderScheduler} reconciliation sweep, which also catches
+ * anything that was missed.
+ * <p>
+ * Every replica holds the same wake-ups, but a wake-up only triggers claiming: due rows are
+ * claimed in bounded SKIP LOCKED batches under a lease ({@link ReminderClaimService}), so
+ * replicas split the work and each reminder fires once. Claimed reminders are marked SENT
+ * with one UPDATE per batch.
+ */
+@Slf4j
+@Component
+public class ReminderDispatcher {
+
+    private final ReminderClaimService claimService;
+    private final ReminderRepository reminderRepository;
+    private final TaskActivityLogService taskActivityLogService;
+    private final Duration horizon;
+    private final Duration lease;
+    private final int batchSize;
+    private final String nodeId;
+
+    private final DelayQueue<Entry> queue = new DelayQueue<>();
+    // Ids currently queued, so hydration / sweeps / creates never double-enqueue
+    private final Set<Long> tracked = ConcurrentHashMap.newKeySet();
+    private final DistributionSummary lateness;
+    // Not synchronized: a virtual thread blocking on JDBC inside a monitor would pin its carrier
+    private final ReentrantLock dispatchLock = new ReentrantLock();
+
+    private volatile Thread worker;
+
+    public ReminderDispatcher(ReminderClaimService claimService,
+                              ReminderRepository reminderRepository,
+                              TaskActivityLogService taskActivityLogService,
+                              @Value("${clarity.reminders.horizon-minutes:60}") long horizonMinutes,
+                              @Value("${clarity.reminders.lease-seconds:120}") long leaseSeconds,
+                              @Value("${clarity.reminders.claim-batch-size:100}") int batchSize,
+                              NodeIdentity nodeIdentity) {
+        this.claimService = claimService;
+        this.reminderRepository = reminderRepository;
+        this.taskActivityLogService = taskActivityLogService;
+        this.horizon = Duration.ofMinutes(horizonMinutes);
+        this.lease = Duration.ofSeconds(leaseSeconds);
+        this.batchSize = batchSize;
+        this.nodeId = nodeIdentity.getId();
+
+        Gauge.builder("clarity.reminders.queued", queue, DelayQueue::size).register(Metrics.globalRegistry);
+        this.lateness = DistributionSummary.builder("clarity.reminders.lateness")
+                .baseUnit("milliseconds")
+                .register(Metrics.globalRegistry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        log.info("Reminder dispatcher starting as node {}", nodeId);
+        reconcile();
+        Thread thread = new Thread(this::dispatchLoop, "reminder-dispatcher");
+        thread.setDaemon(true);
+        worker = thread;
+        thread.start();
+    }
+
+    @PreDestroy
+    public void stop() {
+        Thread thread = worker;
+        worker = null;
+        if (thread != null) {
+            thread.interrupt();
+        }
+    }
+
+    /**
+     * Queues every pending reminder due within the horizon that is not already tracked, then
+     * claims whatever is already due (e.g. reminders whose claim expired on a crashed node).
+     */
+    public void reconcile() {
+        List<DueReminder> due = reminderRepository.findPendingDueBefore(LocalDateTime.now().plus(horizon));
+        int added = 0;
+        for (DueReminder reminder : due) {
+            if (schedule(reminder)) added++;
+        }
+        if (added > 0) {
+            log.info("Reminder reconciliation queued {} reminder(s), {} in memory", added, queue.size());
+        }
+        dispatchDue();
+    }
+
+    // Published by ReminderService; runs only once the reminder row is committed
+    @TransactionalEventListener
+    public void onReminderCreated(DueReminder reminder) {
+        schedule(reminder);
+    }
+
+    /**
+     * Returns false when the reminder is beyond the horizon (the sweep picks it up later)
+     * or already queued.
+     */
+    public boolean schedule(DueReminder reminder) {
+        if (reminder.remindAt().isAfter(LocalDateTime.now().plus(horizon))) {
+            return false;
+        }
+        if (!tracked.add(reminder.id())) {
+            return false;
+        }
+        queue.put(new Entry(reminder));
+        return true;
+    }
+
+    private void dispatchLoop() {
+        while (worker == Thread.currentThread()) {
+            try {
+                List<Entry> woken = new ArrayList<>();
+                woken.add(queue.take()); // sleeps until the earliest reminder is due
+                queue.drainTo(woken);    // everything else already due is covered by the same claim
+                woken.forEach(e -> tracked.remove(e.reminderId));
+                dispatchDue();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (RuntimeException e) {
+                log.error("Reminder dispatch failed: {}", e.getMessage(), e);
+            }
+        }
+    }
+
+    /**
+     * Claims and fires due reminders batch by batch until nothing claimable is left.
+     * Locked so the dispatcher thread and the sweep never work side by side on one node.
+     */
+    public int dispatchDue() {
+        dispatchLock.lock();
+        try {
+            int fired = 0;
+            List<DueReminder> claimed;
+            do {
+                claimed = claimService.claimBatch(nodeId, LocalDateTime.now(), lease, batchSize);
+                if (claimed.isEmpty()) {
+                    break;
+                }
+                fire(claimed);
+                claimService.markSent(nodeId, claimed.stream().map(DueReminder::id).toList());
+                fired += claimed.size();
+            } while (claimed.size() == batchSize);
+            return fired;
+        } finally {
+            dispatchLock.unlock();
+        }
+    }
+
+    private void fire(List<DueReminder> batch) {
+        long now = System.currentTimeMillis();
+        for (DueReminder reminder : batch) {
+            lateness.record(Math.max(0, now - toEpochMillis(reminder.remindAt())));
+
+            // V1 execution: just log
+            log.info(
+                    "🔔 REMINDER FIRED | TaskId={} | Title={} | Due={}",
+                    reminder.taskId(),
+                    reminder.taskTitle(),
+                    reminder.taskDueDatetime()
+            );
+
+            taskActivityLogService.log(
+                    reminder.taskId(),
+                    reminder.userId(),
+                    "REMINDER_FIRED",
+                    "SYSTEM",
+                    Map.of("remindAt", reminder.remindAt())
+            );
+        }
+    }
+
+    private static long toEpochMillis(LocalDateTime time) {
+        return time.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+    }
+
+    private static final class Entry implements Delayed {
+
+        private final Long reminderId;
+        private final long dueAtMillis;
+
+        Entry(DueReminder reminder) {
+            this.reminderId = reminder.id();
+            this.dueAtMillis = toEpochMillis(reminder.remindAt());
+        }
+
+        @Override
+        public long getDelay(TimeUnit unit) {
+            return unit.convert(dueAtMillis - System.currentTimeMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Override
+        public int compareTo(Delayed other) {
+            return Long.compare(dueAtMillis, ((Entry) other).dueAtMillis);
+        }
+    }
+}
@@ -1,65 +1,31 @@
 package com.clarity.clarity.scheduler;
 
-import com.clarity.clarity.entity.Reminder;
-import com.clarity.clarity.domain.ReminderStatus;
-import com.clarity.clarity.repository.ReminderRepository;
-import com.clarity.clarity.service.TaskActivityLogService;
-import jakarta.transaction.Transactional;
+import com.clarity.clarity.scheduler.lock.ClusterLocked;
+import io.micrometer.core.annotation.Timed;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Map;
-
+/**
+ * Slow reconciliation sweep behind the in-memory {@link ReminderDispatcher}: moves reminders that
+ * entered the dispatch horizon into the queue and re-queues anything missed (e.g. while down).
+ * Firing itself happens in the dispatcher, within about a second of remindAt.
+ * One replica sweeps per interval; the one that does queues the slice and fires it on time.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class ReminderScheduler {
 
-    private final ReminderRepository reminderRepository;
-    private final TaskActivityLogService taskActivityLogService;
+    private final ReminderDispatcher reminderDispatcher;
 
-    @Scheduled(fixedRate = 60_000) // every 1 minute
-    @Transactional
+    // Must stay well below clarity.reminders.horizon-minutes so nothing reaches its time unqueued
+    @Scheduled(fixedDelayString = "${clarity.reminders.reconcile-interval-ms:300000}",
+            initialDelayString = "${clarity.reminders.reconcile-interval-ms:300000}")
+    @Timed(value = "clarity.scheduler.run", extraTags = {"job", "reminder-reconciliation"})
+    @ClusterLocked(name = "reminder-reconciliation", lockAtMostFor = "PT5M", lockAtLeastFor = "PT30S")
     public void processReminders() {
-
-        LocalDateTime now = LocalDateTime.now();
-
-        List<Reminder> dueReminders =
-                reminderRepository.findByStatusAndRemindAtBefore(
-                        ReminderStatus.PENDING, now);
-
-        if (dueReminders.isEmpty()) {
-            return;
-        }
-
-        for (Reminder reminder : dueReminders) {
-            executeReminder(reminder);
-        }
-    }
-
-    private void executeReminder(Reminder reminder) {
-        // V1 execution: just log
-        log.info(
-                "🔔 REMINDER FIRED | TaskId={} | Title={} | Due={}",
-                reminder.getTask().getId(),
-                reminder.getTask().getTitle(),
-                reminder.getTask().getDueDatetime()
-        );
-
-        reminder.setStatus(ReminderStatus.SENT);
-
-        taskActivityLogService.log(
-                reminder.getTask().getId(),
-                "REMINDER_FIRED",
-                "SYSTEM",
-                Map.of(
-                        "remindAt", reminder.getRemindAt()
-                )
-        );
-
+        reminderDispatcher.reconcile();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,26 @@
+package com.clarity.clarity.scheduler;
+
+import com.clarity.clarity.scheduler.lock.ClusterLocked;
+import com.clarity.clarity.service.UserReviewService;
+import io.micrometer.core.annotation.Timed;
+import lombok.RequiredArgsConstructor;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Replaces the fixed 00:00 review / 00:10 overdue-flag crons: a short tick reviews whichever users
+ * have reached their local midnight, rate-limited per tick.
+ */
+@Component
+@RequiredArgsConstructor
+public class UserReviewScheduler {
+
+    private final UserReviewService userReviewService;
+
+    @Scheduled(fixedDelayString = "${clarity.review.tick-interval-ms:60000}")
+    @Timed(value = "clarity.scheduler.run", extraTags = {"job", "user-review-tick"})
+    @ClusterLocked(name = "user-review-tick", lockAtMostFor = "PT10M", lockAtLeastFor = "PT5S")
+    public void tick() {
+        userReviewService.reviewDueUsers();
+    }
+}
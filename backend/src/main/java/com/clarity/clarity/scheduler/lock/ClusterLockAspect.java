@@ -0,0 +1,84 @@
+package com.clarity.clarity.scheduler.lock;
+
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Wraps {@link ClusterLocked} methods: take the lock or skip the run, renew the lease while the
+ * job runs (heartbeat every third of the lease), release it afterwards.
+ * Metrics: clarity.scheduler.lock.held (timer) and clarity.scheduler.lock.skipped (counter), tagged by job.
+ */
+@Slf4j
+@Aspect
+@Component
+public class ClusterLockAspect {
+
+    private final JobLockProvider lockProvider;
+    private final ScheduledExecutorService heartbeats = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "scheduler-lock-heartbeat");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ClusterLockAspect(JobLockProvider lockProvider) {
+        this.lockProvider = lockProvider;
+    }
+
+    @Around("@annotation(clusterLocked)")
+    public Object runLocked(ProceedingJoinPoint joinPoint, ClusterLocked clusterLocked) throws Throwable {
+        String name = clusterLocked.name();
+        Duration lease = Duration.parse(clusterLocked.lockAtMostFor());
+        Duration atLeast = Duration.parse(clusterLocked.lockAtLeastFor());
+
+        Optional<JobLockProvider.JobLock> acquired = lockProvider.tryLock(name, lease);
+        if (acquired.isEmpty()) {
+            Metrics.counter("clarity.scheduler.lock.skipped", "job", name).increment();
+            log.debug("Skipping {}: locked by another replica", name);
+            return null;
+        }
+
+        JobLockProvider.JobLock lock = acquired.get();
+        long heartbeatMillis = Math.max(1, lease.toMillis() / 3);
+        ScheduledFuture<?> heartbeat = heartbeats.scheduleAtFixedRate(() -> {
+            try {
+                if (!lock.extend(lease)) {
+                    log.warn("Lost scheduler lock {} while the job was still running", name);
+                }
+            } catch (RuntimeException e) {
+                log.warn("Heartbeat for scheduler lock {} failed: {}", name, e.getMessage());
+            }
+        }, heartbeatMillis, heartbeatMillis, TimeUnit.MILLISECONDS);
+
+        Timer.Sample held = Timer.start(Metrics.globalRegistry);
+        try {
+            return joinPoint.proceed();
+        } finally {
+            heartbeat.cancel(false);
+            held.stop(Metrics.timer("clarity.scheduler.lock.held", "job", name));
+            try {
+                lock.release(atLeast);
+            } catch (RuntimeException e) {
+                // The lease still expires on its own
+                log.warn("Releasing scheduler lock {} failed: {}", name, e.getMessage());
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        heartbeats.shutdownNow();
+    }
+}
@@ -0,0 +1,27 @@
+package com.clarity.clarity.scheduler.lock;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Runs the annotated (scheduled) method on at most one replica at a time. Replicas that cannot
+ * take the lock skip the run. Durations are ISO-8601 (e.g. {@code PT10M}).
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface ClusterLocked {
+
+    /** Lock name, shared by every replica running the same job. */
+    String name();
+
+    /** Lease taken on acquisition and renewed by the heartbeat; a crashed holder's lock expires after it. */
+    String lockAtMostFor() default "PT10M";
+
+    /**
+     * Minimum hold time, so a replica whose clock fires a little later does not re-run a job
+     * that another replica has just finished.
+     */
+    String lockAtLeastFor() default "PT30S";
+}
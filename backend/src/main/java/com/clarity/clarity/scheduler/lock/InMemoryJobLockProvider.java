@@ -0,0 +1,68 @@
+package com.clarity.clarity.scheduler.lock;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * In-JVM stand-in for tests and single-instance runs (clarity.scheduler-lock.provider=in-memory).
+ * Same lease semantics as the JDBC provider, scoped to one process.
+ */
+@Component
+@ConditionalOnProperty(name = "clarity.scheduler-lock.provider", havingValue = "in-memory")
+public class InMemoryJobLockProvider implements JobLockProvider {
+
+    private record Lease(Object owner, Instant lockedAt, Instant until) {
+    }
+
+    private final ConcurrentMap<String, Lease> leases = new ConcurrentHashMap<>();
+    private final Clock clock;
+
+    public InMemoryJobLockProvider() {
+        this(Clock.systemUTC());
+    }
+
+    public InMemoryJobLockProvider(Clock clock) {
+        this.clock = clock;
+    }
+
+    @Override
+    public Optional<JobLock> tryLock(String name, Duration lease) {
+        Object owner = new Object();
+        Instant now = clock.instant();
+        Lease taken = leases.compute(name, (key, current) ->
+                current == null || !current.until().isAfter(now)
+                        ? new Lease(owner, now, now.plus(lease))
+                        : current);
+        if (taken.owner() != owner) {
+            return Optional.empty();
+        }
+        return Optional.of(new JobLock() {
+            @Override
+            public boolean extend(Duration newLease) {
+                Instant at = clock.instant();
+                Lease updated = leases.computeIfPresent(name, (key, current) ->
+                        current.owner() == owner && current.until().isAfter(at)
+                                ? new Lease(owner, current.lockedAt(), at.plus(newLease))
+                                : current);
+                return updated != null && updated.owner() == owner && updated.until().isAfter(at);
+            }
+
+            @Override
+            public void release(Duration atLeast) {
+                Instant at = clock.instant();
+                leases.computeIfPresent(name, (key, current) -> {
+                    if (current.owner() != owner) return current;
+                    Instant until = current.lockedAt().plus(atLeast);
+                    return until.isAfter(at) ? new Lease(owner, current.lockedAt(), until) : null;
+                });
+            }
+        });
+    }
+}
@@ -0,0 +1,69 @@
+package com.clarity.clarity.scheduler.lock;
+
+import com.clarity.clarity.config.NodeIdentity;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Locks in the scheduler_locks table. All lease arithmetic uses the database clock, so
+ * replicas with drifting clocks still agree on who holds a lock.
+ */
+@Component
+@ConditionalOnProperty(name = "clarity.scheduler-lock.provider", havingValue = "jdbc", matchIfMissing = true)
+public class JdbcJobLockProvider implements JobLockProvider {
+
+    // Takes a free or expired lock in one statement; a live lease makes the WHERE fail (0 rows)
+    private static final String ACQUIRE_SQL = """
+            INSERT INTO scheduler_locks (name, locked_by, locked_at, lock_until)
+            VALUES (?, ?, CURRENT_TIMESTAMP, CURRENT_TIMESTAMP + ? * INTERVAL '1 millisecond')
+            ON CONFLICT (name) DO UPDATE
+            SET locked_by = EXCLUDED.locked_by,
+                locked_at = EXCLUDED.locked_at,
+                lock_until = EXCLUDED.lock_until
+            WHERE scheduler_locks.lock_until <= CURRENT_TIMESTAMP
+            """;
+
+    private static final String EXTEND_SQL = """
+            UPDATE scheduler_locks
+            SET lock_until = CURRENT_TIMESTAMP + ? * INTERVAL '1 millisecond'
+            WHERE name = ? AND locked_by = ? AND lock_until > CURRENT_TIMESTAMP
+            """;
+
+    private static final String RELEASE_SQL = """
+            UPDATE scheduler_locks
+            SET lock_until = GREATEST(CURRENT_TIMESTAMP, locked_at + ? * INTERVAL '1 millisecond')
+            WHERE name = ? AND locked_by = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final String nodeId;
+
+    public JdbcJobLockProvider(JdbcTemplate jdbcTemplate, NodeIdentity nodeIdentity) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.nodeId = nodeIdentity.getId();
+    }
+
+    @Override
+    public Optional<JobLock> tryLock(String name, Duration lease) {
+        // Auto-commit statement: the lock must be visible to other replicas immediately
+        int acquired = jdbcTemplate.update(ACQUIRE_SQL, name, nodeId, lease.toMillis());
+        if (acquired == 0) {
+            return Optional.empty();
+        }
+        return Optional.of(new JobLock() {
+            @Override
+            public boolean extend(Duration newLease) {
+                return jdbcTemplate.update(EXTEND_SQL, newLease.toMillis(), name, nodeId) > 0;
+            }
+
+            @Override
+            public void release(Duration atLeast) {
+                jdbcTemplate.update(RELEASE_SQL, atLeast.toMillis(), name, nodeId);
+            }
+        });
+    }
+}
@@ -0,0 +1,21 @@
+package com.clarity.clarity.scheduler.lock;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Cluster-wide, lease-based job lock. Empty result means another holder owns a live lease.
+ */
+public interface JobLockProvider {
+
+    Optional<JobLock> tryLock(String name, Duration lease);
+
+    interface JobLock {
+
+        /** Heartbeat: pushes the lease out again. False when the lock was lost (lease already expired). */
+        boolean extend(Duration lease);
+
+        /** Releases the lock, keeping it held until at least {@code lockedAt + atLeast}. */
+        void release(Duration atLeast);
+    }
+}
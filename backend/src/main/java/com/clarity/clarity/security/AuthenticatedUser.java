@@ -0,0 +1,71 @@
+package com.clarity.clarity.security;
+
+import com.clarity.clarity.entity.User;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Principal stored in the SecurityContext for every authenticated request.
+ * Carries the user id so services never have to look the user up again by email.
+ *
+ * Deliberately NOT a CredentialsContainer: instances are shared through the user
+ * details cache, and Spring would otherwise wipe the cached password hash after login.
+ */
+@Getter
+public class AuthenticatedUser implements UserDetails {
+
+    private final Long id;
+    private final String email;
+    private final String password; // BCrypt hash, null when built from JWT claims
+    private final String role;
+    private final int tokenVersion;
+    private final List<GrantedAuthority> authorities;
+
+    public AuthenticatedUser(Long id, String email, String password, String role, int tokenVersion) {
+        this.id = id;
+        this.email = email;
+        this.password = password;
+        this.role = role;
+        this.tokenVersion = tokenVersion;
+        this.authorities = role == null ? List.of() : List.of(new SimpleGrantedAuthority("ROLE_" + role));
+    }
+
+    public static AuthenticatedUser from(User user) {
+        return new AuthenticatedUser(user.getId(), user.getEmail(), user.getPassword(), user.getRole(), user.getTokenVersion());
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    @Override
+    public Collection<? extends GrantedAuthority> getAuthorities() {
+        return authorities;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
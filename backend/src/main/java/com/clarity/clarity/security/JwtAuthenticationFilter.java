@@ -1,6 +1,7 @@
 package com.clarity.clarity.security;
 
-import com.clarity.clarity.service.CustomUserDetailsService; // We will create this next
+import com.clarity.clarity.service.CustomUserDetailsService;
+import io.jsonwebtoken.JwtException;
 import jakarta.servlet.FilterChain;
 import jakarta.servlet.ServletException;
 import jakarta.servlet.http.HttpServletRequest;
@@ -8,7 +9,6 @@ import jakarta.servlet.http.HttpServletResponse;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
-import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.web.authentication.WebAuthenticationDetailsSource;
 import org.springframework.stereotype.Component;
 import org.springframework.web.filter.OncePerRequestFilter;
@@ -29,25 +29,38 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             FilterChain filterChain
     ) throws ServletException, IOException {
         final String authHeader = request.getHeader("Authorization");
-        final String jwt;
-        final String userEmail;
+        final JwtService.VerifiedToken token;
 
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
             filterChain.doFilter(request, response);
             return;
         }
 
-        jwt = authHeader.substring(7);
-        userEmail = jwtService.extractUsername(jwt);
+        try {
+            // One parse + signature check per token, repeat requests hit the verified-token cache
+            token = jwtService.verify(authHeader.substring(7));
+        } catch (JwtException | IllegalArgumentException e) {
+            // Invalid / expired token: continue unauthenticated and let the chain answer 401/403
+            filterChain.doFilter(request, response);
+            return;
+        }
 
-        if (userEmail != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            UserDetails userDetails = this.userDetailsService.loadUserByUsername(userEmail);
+        if (token.email() != null && SecurityContextHolder.getContext().getAuthentication() == null) {
+            // Served from the bounded user cache, so this is normally an in-memory hit
+            AuthenticatedUser currentUser = this.userDetailsService.loadUserByUsername(token.email());
+
+            AuthenticatedUser principal = token.toPrincipal();
+            if (principal == null) {
+                principal = currentUser; // Legacy token without embedded claims
+            }
 
-            if (jwtService.isTokenValid(jwt, userDetails)) {
+            // A bumped token version (POST /auth/logout-all) revokes older tokens
+            if (principal.getId().equals(currentUser.getId())
+                    && principal.getTokenVersion() == currentUser.getTokenVersion()) {
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails,
+                        principal,
                         null,
-                        userDetails.getAuthorities()
+                        principal.getAuthorities()
                 );
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
                 SecurityContextHolder.getContext().setAuthentication(authToken);
@@ -55,4 +68,4 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         }
         filterChain.doFilter(request, response);
     }
-}
\ No newline at end of file
+}
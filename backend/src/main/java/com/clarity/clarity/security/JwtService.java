@@ -1,6 +1,10 @@
 package com.clarity.clarity.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.SignatureAlgorithm;
 import io.jsonwebtoken.io.Decoders;
@@ -9,66 +13,156 @@ import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Service;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.Base64;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Service
 public class JwtService {
 
-    @Value("${application.security.jwt.secret-key}")
-    private String secretKey;
+    // Custom claims that let the filter build the principal without a user lookup
+    static final String CLAIM_USER_ID = "uid";
+    static final String CLAIM_TOKEN_VERSION = "ver";
+    static final String CLAIM_ROLE = "role";
+
+    private static final long TOKEN_VALIDITY_MS = 1000 * 60 * 60 * 24; // 24 Hours
+
+    // Built once: decoding the secret and building a parser per call showed up on every request
+    private final Key signInKey;
+    private final JwtParser parser;
+
+    // Recently verified tokens, keyed by SHA-256 of the token and evicted at the token's own expiry
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    public JwtService(@Value("${application.security.jwt.secret-key}") String secretKey,
+                      @Value("${application.security.jwt.verified-cache.max-size:10000}") long verifiedCacheSize) {
+        this.signInKey = Keys.hmacShaKeyFor(Decoders.BASE64.decode(secretKey));
+        this.parser = Jwts.parserBuilder()
+                .setSigningKey(signInKey)
+                .build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(verifiedCacheSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    @Override
+                    public long expireAfterCreate(String key, VerifiedToken token, long currentTime) {
+                        long remainingMs = token.expiresAt().toEpochMilli() - System.currentTimeMillis();
+                        return TimeUnit.MILLISECONDS.toNanos(Math.max(0, remainingMs));
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String key, VerifiedToken token, long currentTime, long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .build();
+    }
+
+    /**
+     * Verifies the signature and expiry once and returns everything the filter needs.
+     * Repeat requests carrying the same token are answered from the cache without HMAC work.
+     *
+     * @throws io.jsonwebtoken.JwtException if the token is malformed, tampered with or expired
+     */
+    public VerifiedToken verify(String token) {
+        String cacheKey = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(cacheKey);
+        if (cached != null && !cached.isExpired()) {
+            return cached;
+        }
+
+        VerifiedToken verified = VerifiedToken.from(parseClaims(token));
+        verifiedTokens.put(cacheKey, verified);
+        return verified;
+    }
+
+    /**
+     * Single-parse API: one signature check, all claims returned. Never cached.
+     */
+    public Claims parseClaims(String token) {
+        return parser.parseClaimsJws(token).getBody();
+    }
 
     public String extractUsername(String token) {
-        return extractClaim(token, Claims::getSubject);
+        return verify(token).email();
     }
 
     public <T> T extractClaim(String token, Function<Claims, T> claimsResolver) {
-        final Claims claims = extractAllClaims(token);
-        return claimsResolver.apply(claims);
+        return claimsResolver.apply(parseClaims(token));
     }
 
     public String generateToken(UserDetails userDetails) {
         return generateToken(new HashMap<>(), userDetails);
     }
 
+    public String generateToken(AuthenticatedUser user) {
+        Map<String, Object> claims = new HashMap<>();
+        claims.put(CLAIM_USER_ID, user.getId());
+        claims.put(CLAIM_TOKEN_VERSION, user.getTokenVersion());
+        claims.put(CLAIM_ROLE, user.getRole());
+        return generateToken(claims, user);
+    }
+
     public String generateToken(Map<String, Object> extraClaims, UserDetails userDetails) {
         return Jwts.builder()
                 .setClaims(extraClaims)
                 .setSubject(userDetails.getUsername()) // This will be the email
                 .setIssuedAt(new Date(System.currentTimeMillis()))
-                .setExpiration(new Date(System.currentTimeMillis() + 1000 * 60 * 60 * 24)) // 24 Hours
-                .signWith(getSignInKey(), SignatureAlgorithm.HS256)
+                .setExpiration(new Date(System.currentTimeMillis() + TOKEN_VALIDITY_MS))
+                .signWith(signInKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return (username.equals(userDetails.getUsername())) && !isTokenExpired(token);
+        VerifiedToken verified = verify(token);
+        return verified.email().equals(userDetails.getUsername()) && !verified.isExpired();
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractExpiration(token).before(new Date());
+    private static String hash(String token) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.US_ASCII));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e); // Mandatory in every JRE
+        }
     }
 
-    private Date extractExpiration(String token) {
-        return extractClaim(token, Claims::getExpiration);
-    }
+    /**
+     * Claims of a token whose signature has already been checked.
+     * userId is null for tokens issued before the id was embedded.
+     */
+    public record VerifiedToken(String email, Long userId, String role, int tokenVersion, Instant expiresAt) {
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder()
-                .setSigningKey(getSignInKey())
-                .build()
-                .parseClaimsJws(token)
-                .getBody();
-    }
+        static VerifiedToken from(Claims claims) {
+            Number userId = claims.get(CLAIM_USER_ID, Number.class);
+            Number version = claims.get(CLAIM_TOKEN_VERSION, Number.class);
+            return new VerifiedToken(
+                    claims.getSubject(),
+                    userId == null ? null : userId.longValue(),
+                    claims.get(CLAIM_ROLE, String.class),
+                    version == null ? 0 : version.intValue(),
+                    claims.getExpiration().toInstant()
+            );
+        }
+
+        public boolean isExpired() {
+            return !expiresAt.isAfter(Instant.now());
+        }
 
-    private Key getSignInKey() {
-        // FIX: Using BASE64URL to support underscores/hyphens in the key
-        // OLD: byte[] keyBytes = Decoders.BASE64.decode(secretKey);
-        byte[] keyBytes = io.jsonwebtoken.io.Decoders.BASE64.decode(secretKey);
-        return Keys.hmacShaKeyFor(keyBytes);
+        public AuthenticatedUser toPrincipal() {
+            return userId == null ? null : new AuthenticatedUser(userId, email, null, role, tokenVersion);
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,248 @@
+package com.clarity.clarity.service;
+
+import com.clarity.clarity.cache.UserDataChanged;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Write-behind pipeline for task_activity_logs: callers enqueue into a bounded queue and a single
+ * background thread drains it into batched JDBC inserts, flushing every {@code batch-size} rows or
+ * {@code flush-interval-ms}, whichever comes first.
+ * <p>
+ * When the queue is full the caller waits up to {@code offer-timeout-ms} and then the entry is
+ * dropped and counted - activity logs are an audit trail, never a reason to fail a request.
+ * On shutdown the queue is drained and flushed before the DataSource goes away. The lifecycle
+ * phase sits below the web server's graceful shutdown (and the schedulers), so in-flight requests
+ * and jobs finish appending first; anything appended while the writer is not running is written
+ * synchronously on the caller's thread. Once review entries land, their users' cached weekly
+ * insights (which count them) are invalidated.
+ */
+@Slf4j
+@Component
+public class ActivityLogAppender implements SmartLifecycle {
+
+    // Stopped after graceful shutdown has drained requests (stop runs in descending phase order)
+    static final int PHASE = WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE - 1024;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO task_activity_logs (task_id, user_id, action, performed_by, metadata, created_at)
+            VALUES (?, ?, ?, ?, ?, ?)
+            """;
+
+    public record Entry(Long taskId, Long userId, String action, String performedBy,
+                        String metadataJson, LocalDateTime createdAt) {
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BlockingQueue<Entry> queue;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long offerTimeoutMs;
+    private final long shutdownTimeoutMs;
+
+    private final Counter enqueued;
+    private final Counter dropped;
+    private final Counter written;
+    private final Counter failed;
+    private final Timer flushTimer;
+
+    private volatile boolean running;
+    private Thread writer;
+
+    public ActivityLogAppender(JdbcTemplate jdbcTemplate,
+                               ApplicationEventPublisher eventPublisher,
+                               @Value("${clarity.activity-log.queue-capacity:10000}") int queueCapacity,
+                               @Value("${clarity.activity-log.batch-size:500}") int batchSize,
+                               @Value("${clarity.activity-log.flush-interval-ms:1000}") long flushIntervalMs,
+                               @Value("${clarity.activity-log.offer-timeout-ms:50}") long offerTimeoutMs,
+                               @Value("${clarity.activity-log.shutdown-timeout-ms:10000}") long shutdownTimeoutMs) {
+        if (queueCapacity <= 0 || batchSize <= 0 || flushIntervalMs <= 0) {
+            throw new IllegalArgumentException("clarity.activity-log queue-capacity, batch-size and flush-interval-ms must be positive");
+        }
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.offerTimeoutMs = offerTimeoutMs;
+        this.shutdownTimeoutMs = shutdownTimeoutMs;
+
+        MeterRegistry registry = Metrics.globalRegistry;
+        this.enqueued = registry.counter("clarity.activity_log.enqueued");
+        this.dropped = registry.counter("clarity.activity_log.dropped");
+        this.written = registry.counter("clarity.activity_log.written");
+        this.failed = registry.counter("clarity.activity_log.failed");
+        this.flushTimer = registry.timer("clarity.activity_log.flush");
+        Gauge.builder("clarity.activity_log.queue_depth", queue, BlockingQueue::size).register(registry);
+    }
+
+    /**
+     * Never blocks longer than the offer timeout while the writer runs. Returns false when the entry
+     * was dropped or could not be written.
+     */
+    public boolean append(Entry entry) {
+        if (!running) {
+            // No writer to drain the queue (not started yet, or already stopped)
+            return write(List.of(entry));
+        }
+        try {
+            if (queue.offer(entry, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+                enqueued.increment();
+                if (!running) {
+                    // stop() may have drained the queue before this entry landed
+                    flushRemaining();
+                }
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        dropped.increment();
+        log.warn("Activity log queue full, dropped {} for task {}", entry.action(), entry.taskId());
+        return false;
+    }
+
+    public int pending() {
+        return queue.size();
+    }
+
+    @Override
+    public void start() {
+        running = true;
+        writer = new Thread(this::drainLoop, "activity-log-writer");
+        writer.setDaemon(true);
+        writer.start();
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        Thread current = writer;
+        if (current != null) {
+            // No interrupt: an interrupted connection checkout would lose the in-flight batch.
+            // The writer notices the flag within one flush interval.
+            try {
+                current.join(shutdownTimeoutMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        // Durable flush: whatever the writer did not get to is written on the stopping thread
+        flushRemaining();
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    @Override
+    public int getPhase() {
+        return PHASE;
+    }
+
+    private void drainLoop() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                Entry first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                // Top up until the batch is full or the flush interval since the first entry elapses
+                while (batch.size() < batchSize) {
+                    queue.drainTo(batch, batchSize - batch.size());
+                    long remaining = deadline - System.nanoTime();
+                    if (batch.size() >= batchSize || remaining <= 0) {
+                        break;
+                    }
+                    Entry next = queue.poll(remaining, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            } finally {
+                write(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void flushRemaining() {
+        List<Entry> batch = new ArrayList<>(batchSize);
+        while (queue.drainTo(batch, batchSize) > 0) {
+            write(batch);
+            batch.clear();
+        }
+    }
+
+    /**
+     * Synchronous batched insert on the caller's thread and transaction. Batch jobs use it so a
+     * chunk's log rows commit (or roll back) together with the chunk; failures propagate.
+     */
+    public void insertBatch(List<Entry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.batchUpdate(INSERT_SQL, entries, entries.size(), (ps, e) -> {
+            ps.setLong(1, e.taskId());
+            ps.setLong(2, e.userId());
+            ps.setString(3, e.action());
+            ps.setString(4, e.performedBy());
+            // Types.OTHER lets Postgres coerce the text into the jsonb column
+            ps.setObject(5, e.metadataJson(), Types.OTHER);
+            ps.setTimestamp(6, Timestamp.valueOf(e.createdAt()));
+        });
+        written.increment(entries.size());
+    }
+
+    private boolean write(List<Entry> batch) {
+        if (batch.isEmpty()) {
+            return true;
+        }
+        try {
+            flushTimer.record(() -> insertBatch(batch));
+        } catch (RuntimeException ex) {
+            failed.increment(batch.size());
+            log.error("Failed to persist {} activity log entries: {}", batch.size(), ex.getMessage());
+            return false;
+        }
+        // Autocommitted, so the event is delivered right away
+        Set<Long> reviewers = batch.stream()
+                .filter(e -> "TASK_REVIEWED".equals(e.action()))
+                .map(Entry::userId)
+                .collect(Collectors.toSet());
+        if (!reviewers.isEmpty()) {
+            eventPublisher.publishEvent(new UserDataChanged(reviewers));
+        }
+        return true;
+    }
+}
@@ -2,17 +2,24 @@ package com.clarity.clarity.service;
 
 import com.clarity.clarity.dto.request.LoginRequest;
 import com.clarity.clarity.dto.request.RegisterRequest;
+import com.clarity.clarity.dto.request.TimeZoneRequest;
 import com.clarity.clarity.dto.response.AuthResponse;
 import com.clarity.clarity.entity.User;
 import com.clarity.clarity.repository.UserRepository;
+import com.clarity.clarity.security.AuthenticatedUser;
 import com.clarity.clarity.security.JwtService;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Instant;
+import java.time.ZoneId;
+
 @Service
 @RequiredArgsConstructor
 public class AuthService {
@@ -21,20 +28,44 @@ public class AuthService {
     private final PasswordEncoder passwordEncoder;
     private final AuthenticationManager authenticationManager;
     private final JwtService jwtService;
+    private final UserReviewService userReviewService;
     private final CustomUserDetailsService userDetailsService;
 
     public AuthResponse login(LoginRequest request) {
-        authenticationManager.authenticate(
+        Authentication authentication = authenticationManager.authenticate(
                 new UsernamePasswordAuthenticationToken(request.email(), request.password())
         );
 
-        // If we get here, password is correct
-        var userDetails = userDetailsService.loadUserByUsername(request.email());
-        var token = jwtService.generateToken(userDetails);
+        // If we get here, password is correct; reuse the principal instead of re-reading the user
+        var user = (AuthenticatedUser) authentication.getPrincipal();
+        var token = jwtService.generateToken(user);
 
         return new AuthResponse(token);
     }
 
+    /**
+     * Revokes every token issued to the user so far ("log out everywhere"). Takes effect at once on
+     * this node; other nodes notice once their cached copy of the user expires
+     * (application.security.user-cache.ttl-seconds).
+     */
+    public void revokeAllTokens(AuthenticatedUser user) {
+        userRepository.incrementTokenVersion(user.getId());
+        // After the commit, so no request can re-cache the old version in between
+        userDetailsService.evict(user.getEmail());
+    }
+
+    /**
+     * Changes the caller's zone and moves their next overdue review to match.
+     */
+    @Transactional
+    public void updateTimeZone(AuthenticatedUser principal, TimeZoneRequest request) {
+        ZoneId zone = UserReviewService.parseZone(request.timeZone());
+        User user = userRepository.findById(principal.getId())
+                .orElseThrow(() -> new EntityNotFoundException("User not found"));
+        user.setTimeZone(zone.getId());
+        user.setNextReviewAt(userReviewService.rescheduleForZone(user.getId(), zone, user.getNextReviewAt(), Instant.now()));
+    }
+
     @Transactional
     public User register(RegisterRequest request) {
 
@@ -49,6 +80,13 @@ public class AuthService {
 
         user.setPassword(passwordEncoder.encode(request.password()));
 
-        return userRepository.save(user);
+        ZoneId zone = UserReviewService.parseZone(request.timeZone());
+        user.setTimeZone(zone.getId());
+        user.setNextReviewAt(UserReviewService.nextLocalMidnightUtc(zone, Instant.now()));
+
+        User saved = userRepository.save(user);
+        // The per-user spread needs the generated id; flushed with the insert's transaction
+        saved.setNextReviewAt(userReviewService.nextReviewAt(saved.getId(), zone, Instant.now()));
+        return saved;
     }
 }
\ No newline at end of file
@@ -1,28 +1,48 @@
 package com.clarity.clarity.service;
 
 import com.clarity.clarity.repository.UserRepository;
-import lombok.RequiredArgsConstructor;
-import org.springframework.security.core.userdetails.UserDetails;
+import com.clarity.clarity.security.AuthenticatedUser;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
-import java.util.Collections;
+import java.time.Duration;
 
 @Service
-@RequiredArgsConstructor
 public class CustomUserDetailsService implements UserDetailsService {
 
     private final UserRepository userRepository;
 
+    // Bounded cache so the JWT filter can check token versions without a DB round trip
+    private final Cache<String, AuthenticatedUser> userCache;
+
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    @Value("${application.security.user-cache.max-size:10000}") long maxSize,
+                                    @Value("${application.security.user-cache.ttl-seconds:600}") long ttlSeconds) {
+        this.userRepository = userRepository;
+        this.userCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(Duration.ofSeconds(ttlSeconds))
+                .build();
+    }
+
     @Override
-    public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
-        return userRepository.findByEmail(email)
-                .map(user -> new org.springframework.security.core.userdetails.User(
-                        user.getEmail(),
-                        user.getPassword(),
-                        Collections.emptyList() // Authorities (Roles) - Empty for now
-                ))
-                .orElseThrow(() -> new UsernameNotFoundException("User not found"));
+    public AuthenticatedUser loadUserByUsername(String email) throws UsernameNotFoundException {
+        // Misses throw and are therefore never cached
+        return userCache.get(email, key -> userRepository.findByEmail(key)
+                .map(AuthenticatedUser::from)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found")));
+    }
+
+    /**
+     * Call after changing the user row (token version bump in {@link AuthService#revokeAllTokens})
+     * so the next request on this node re-reads it. Other nodes keep their copy until it expires,
+     * so revocation lags by up to application.security.user-cache.ttl-seconds there.
+     */
+    public void evict(String email) {
+        userCache.invalidate(email);
     }
-}
\ No newline at end of file
+}
@@ -1,41 +1,39 @@
 package com.clarity.clarity.service;
 
+import com.clarity.clarity.entity.DailyCapacity;
 import com.clarity.clarity.entity.TimeBlock;
-import com.clarity.clarity.repository.TimeBlockRepository;
-import com.clarity.clarity.util.SecurityUtils; // <--- Import This
+import com.clarity.clarity.repository.DailyCapacityRepository;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.util.List;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 public class DailyPlanningService {
 
-    private final TimeBlockRepository timeBlockRepository;
-    private final SecurityUtils securityUtils; // <--- Inject This
+    private final DailyCapacityRepository capacityRepository;
 
     // HARD LIMIT: 4 Hours (240 minutes).
-    private static final long DAILY_CAPACITY_MINUTES = 240;
+    public static final long DAILY_CAPACITY_MINUTES = 240;
 
-    @Transactional(readOnly = true)
-    public void validateDayCapacity(LocalDate date, long newBlockMinutes) {
-        Long userId = securityUtils.getCurrentUserId(); // <--- Get User ID
+    /**
+     * Atomically books {@code minutes} on the user's day or throws without booking anything.
+     * Joins the caller's transaction, so a failed block insert gives the minutes back.
+     */
+    @Transactional
+    public void reserve(Long userId, LocalDate date, long minutes) {
+        capacityRepository.ensureRow(userId, date);
 
-        LocalDateTime startOfDay = date.atStartOfDay();
-        LocalDateTime endOfDay = date.plusDays(1).atStartOfDay();
-
-        // FIX: Use the SECURE method (User ID + Date)
-        List<TimeBlock> dailyBlocks = timeBlockRepository.findByUserIdAndDate(userId, startOfDay, endOfDay);
-
-        long currentPlannedMinutes = dailyBlocks.stream()
-                .mapToLong(block -> java.time.Duration.between(block.getStartTime(), block.getEndTime()).toMinutes())
-                .sum();
-
-        if (currentPlannedMinutes + newBlockMinutes > DAILY_CAPACITY_MINUTES) {
+        if (capacityRepository.tryReserve(userId, date, minutes, DAILY_CAPACITY_MINUTES) == 0) {
+            long currentPlannedMinutes = capacityRepository.findById(new DailyCapacity.Key(userId, date))
+                    .map(DailyCapacity::getPlannedMinutes)
+                    .orElse(0L);
             long remaining = Math.max(0, DAILY_CAPACITY_MINUTES - currentPlannedMinutes);
             throw new IllegalArgumentException(
                     String.format("Daily Capacity Exceeded! You have planned %d mins. Limit is %d. Remaining: %d mins.",
@@ -43,4 +41,29 @@ public class DailyPlanningService {
             );
         }
     }
-}
\ No newline at end of file
+
+    @Transactional
+    public void release(Long userId, LocalDate date, long minutes) {
+        if (minutes > 0) {
+            capacityRepository.release(userId, date, minutes);
+        }
+    }
+
+    /**
+     * Gives back the minutes of blocks that are about to be deleted (one UPDATE per affected day).
+     */
+    @Transactional
+    public void releaseBlocks(Collection<TimeBlock> blocks) {
+        Map<LocalDate, Long> minutesByDay = blocks.stream()
+                .collect(Collectors.groupingBy(b -> b.getStartTime().toLocalDate(),
+                        Collectors.summingLong(DailyPlanningService::durationMinutes)));
+        if (minutesByDay.isEmpty()) return;
+
+        Long userId = blocks.iterator().next().getUserId();
+        minutesByDay.forEach((day, minutes) -> release(userId, day, minutes));
+    }
+
+    public static long durationMinutes(TimeBlock block) {
+        return Duration.between(block.getStartTime(), block.getEndTime()).toMinutes();
+    }
+}
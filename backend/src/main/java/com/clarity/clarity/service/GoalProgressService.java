@@ -0,0 +1,70 @@
+package com.clarity.clarity.service;
+
+import com.clarity.clarity.domain.TaskStatus;
+import com.clarity.clarity.repository.GoalRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Keeps goals.open_task_count / closed_task_count in step with task state transitions,
+ * so deciding whether a goal is finished never has to scan its tasks.
+ * Every method joins the caller's transaction: counters commit or roll back with the task change.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(propagation = Propagation.MANDATORY)
+public class GoalProgressService {
+
+    private final GoalRepository goalRepository;
+
+    public static boolean isClosed(TaskStatus status) {
+        return status == TaskStatus.DONE || status == TaskStatus.SKIPPED;
+    }
+
+    public void taskAdded(Long goalId, TaskStatus status) {
+        adjust(goalId, status, 1);
+    }
+
+    // Soft delete
+    public void taskRemoved(Long goalId, TaskStatus status) {
+        adjust(goalId, status, -1);
+    }
+
+    public void taskMoved(Long fromGoalId, Long toGoalId, TaskStatus status) {
+        taskRemoved(fromGoalId, status);
+        taskAdded(toGoalId, status);
+    }
+
+    public void statusChanged(Long goalId, TaskStatus from, TaskStatus to) {
+        if (isClosed(from) == isClosed(to)) {
+            return; // e.g. READY -> IN_PROGRESS, DONE -> SKIPPED
+        }
+        int openDelta = isClosed(to) ? -1 : 1;
+        goalRepository.adjustTaskCounters(goalId, openDelta, -openDelta);
+    }
+
+    // Set-based jobs: `count` open tasks of the goal were closed by one statement
+    public void tasksClosed(Long goalId, int count) {
+        if (count > 0) {
+            goalRepository.adjustTaskCounters(goalId, -count, count);
+        }
+    }
+
+    /**
+     * Flips the goal to DONE when it has no open tasks left. Call once the whole operation
+     * has been applied (e.g. after the next recurring instance has been added).
+     */
+    public boolean completeGoalIfFinished(Long goalId) {
+        return goalRepository.markDoneIfAllTasksClosed(goalId) > 0;
+    }
+
+    private void adjust(Long goalId, TaskStatus status, int delta) {
+        if (isClosed(status)) {
+            goalRepository.adjustTaskCounters(goalId, 0, delta);
+        } else {
+            goalRepository.adjustTaskCounters(goalId, delta, 0);
+        }
+    }
+}
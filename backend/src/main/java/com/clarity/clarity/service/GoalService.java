@@ -1,14 +1,16 @@
 package com.clarity.clarity.service;
 
+import com.clarity.clarity.cache.ReadModelCache;
+import com.clarity.clarity.cache.UserDataChanged;
 import com.clarity.clarity.domain.GoalStatus;
-import com.clarity.clarity.domain.TaskStatus;
 import com.clarity.clarity.dto.request.GoalRequest;
 import com.clarity.clarity.dto.response.GoalResponse;
 import com.clarity.clarity.entity.Goal;
-import com.clarity.clarity.entity.Task;
 import com.clarity.clarity.repository.GoalRepository;
 import com.clarity.clarity.util.SecurityUtils;
+import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -20,6 +22,8 @@ public class GoalService {
 
     private final GoalRepository goalRepository;
     private final SecurityUtils securityUtils;
+    private final ReadModelCache readModels;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public Goal createGoal(GoalRequest request) {
@@ -31,36 +35,21 @@ public class GoalService {
         goal.setPriority(request.priority());
         goal.setStatus(GoalStatus.ACTIVE);
 
-        return goalRepository.save(goal);
+        Goal saved = goalRepository.save(goal);
+        eventPublisher.publishEvent(UserDataChanged.of(userId));
+        return saved;
     }
 
+    // One goal-table read regardless of how many tasks the user has, cached until the user changes them
     public List<GoalResponse> getUserGoals() {
         Long userId = securityUtils.getCurrentUserId();
-        return goalRepository.findAllByUserId(userId).stream()
-                .map(this::mapToResponse)
-                .toList();
+        return readModels.get(ReadModelCache.Key.of("goals", userId),
+                () -> List.copyOf(goalRepository.findSummariesByUserId(userId)));
     }
 
     public GoalResponse mapToResponse(Goal goal) {
-        // Only count tasks that are NOT soft-deleted
-        List<Task> activeTasks = goal.getTasks().stream()
-                .filter(t -> !t.isDeleted())
-                .toList();
-
-        int total = activeTasks.size();
-        int completed = (int) activeTasks.stream()
-                .filter(t -> t.getStatus() == TaskStatus.DONE)
-                .count();
-
-        return new GoalResponse(
-                goal.getId(),
-                goal.getTitle(),
-                goal.getDescription(),
-                goal.getPriority(),
-                goal.getStatus(),
-                goal.getCreatedAt(),
-                total,
-                completed
-        );
+        // Counts only tasks that are NOT soft-deleted (the goal's live counters)
+        return goalRepository.findSummaryByIdAndUserId(goal.getId(), goal.getUserId())
+                .orElseThrow(() -> new EntityNotFoundException("Goal not found or access denied"));
     }
 }
\ No newline at end of file
@@ -0,0 +1,291 @@
+package com.clarity.clarity.service;
+
+import com.clarity.clarity.cache.UserDataChanged;
+import com.clarity.clarity.domain.TaskStatus;
+import com.clarity.clarity.entity.JobCheckpoint;
+import com.clarity.clarity.repository.JobCheckpointRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+/**
+ * Set-based, chunked overdue review: stale READY tasks are skipped, IN_PROGRESS ones flagged.
+ * Runs per bucket of users at their local midnight ({@link UserReviewService}), or system-wide.
+ * <p>
+ * Either way the task id space is split into {@code parallelism} partitions ({@code id % n}). Each partition
+ * walks its overdue tasks in keyset chunks of {@code chunk-size}: one {@code UPDATE ... RETURNING}
+ * applies the transition, the returned rows feed one batched activity-log insert and the goal
+ * counter deltas, and the partition checkpoint advances - all in the chunk's own short
+ * transaction. A crashed run resumes from its checkpoints; rows that were already transitioned
+ * no longer match the overdue predicate, so a chunk is never applied twice.
+ * <p>
+ * The first pass uses {@code SKIP LOCKED}, so it never queues behind a user editing a task, and it
+ * ends only on an empty chunk: a short one may just mean rows were locked. Locked rows it skipped
+ * lie behind its keyset position, so a second pass restarts from the beginning of the partition
+ * and waits for row locks; by then only those leftovers still match.
+ */
+@Slf4j
+@Service
+public class OverdueTaskJobService {
+
+    public static final String REVIEW_JOB = "overdue-review";
+    public static final String USER_REVIEW_JOB = "overdue-review-users";
+
+    // Live, unflagged, active tasks past their due date (idx_tasks_overdue_scan), narrowed by a scope
+    private static final String REVIEW_CHUNK_SQL = """
+            WITH chunk AS (
+                SELECT t0.id, t0.status FROM tasks t0
+                WHERE t0.deleted = FALSE
+                  AND t0.needs_review = FALSE
+                  AND t0.due_datetime IS NOT NULL
+                  AND t0.due_datetime < :cutoff
+                  AND t0.status IN ('READY', 'IN_PROGRESS')
+                  AND t0.id > :afterId
+                  AND %s
+                ORDER BY t0.id
+                LIMIT :limit
+                %s
+            )
+            UPDATE tasks t
+            SET status = CASE WHEN c.status = 'READY' THEN 'SKIPPED' ELSE t.status END,
+                needs_review = CASE WHEN c.status = 'IN_PROGRESS' THEN TRUE ELSE t.needs_review END
+            FROM chunk c
+            WHERE t.id = c.id
+            RETURNING t.id, t.user_id, t.goal_id, c.status AS old_status, t.status AS new_status
+            """;
+
+    // Whole system, split into id partitions (manual / catch-up runs)
+    private static final String PARTITION_SCOPE = "MOD(t0.id, :partitions) = :partition";
+
+    // One bucket of users reaching their local midnight (UserReviewService), same partitions
+    private static final String USERS_SCOPE = "t0.user_id IN (:userIds) AND " + PARTITION_SCOPE;
+
+    /**
+     * What one run covers and its two passes: skipping locked rows, then waiting for them.
+     */
+    private record Scope(String jobName, Collection<Long> userIds, String skipLockedSql, String waitingSql) {
+
+        static Scope system() {
+            return new Scope(REVIEW_JOB, null,
+                    REVIEW_CHUNK_SQL.formatted(PARTITION_SCOPE, "FOR UPDATE SKIP LOCKED"),
+                    REVIEW_CHUNK_SQL.formatted(PARTITION_SCOPE, "FOR UPDATE"));
+        }
+
+        static Scope users(Collection<Long> userIds) {
+            return new Scope(USER_REVIEW_JOB, userIds,
+                    REVIEW_CHUNK_SQL.formatted(USERS_SCOPE, "FOR UPDATE SKIP LOCKED"),
+                    REVIEW_CHUNK_SQL.formatted(USERS_SCOPE, "FOR UPDATE"));
+        }
+    }
+
+    private record TransitionedTask(Long id, Long userId, Long goalId, TaskStatus oldStatus, TaskStatus newStatus) {
+    }
+
+    private static final RowMapper<TransitionedTask> ROW_MAPPER = (rs, i) -> new TransitionedTask(
+            rs.getLong("id"),
+            rs.getLong("user_id"),
+            rs.getLong("goal_id"),
+            TaskStatus.valueOf(rs.getString("old_status")),
+            TaskStatus.valueOf(rs.getString("new_status")));
+
+    private final NamedParameterJdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final JobCheckpointRepository checkpointRepository;
+    private final TaskActivityLogService activityLogService;
+    private final GoalProgressService goalProgressService;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int chunkSize;
+    private final int parallelism;
+
+    public OverdueTaskJobService(NamedParameterJdbcTemplate jdbc,
+                                 TransactionTemplate transactionTemplate,
+                                 JobCheckpointRepository checkpointRepository,
+                                 TaskActivityLogService activityLogService,
+                                 GoalProgressService goalProgressService,
+                                 ApplicationEventPublisher eventPublisher,
+                                 @Value("${clarity.jobs.overdue.chunk-size:500}") int chunkSize,
+                                 @Value("${clarity.jobs.overdue.parallelism:2}") int parallelism) {
+        if (chunkSize <= 0 || parallelism <= 0) {
+            throw new IllegalArgumentException("clarity.jobs.overdue chunk-size and parallelism must be positive");
+        }
+        this.jdbc = jdbc;
+        this.transactionTemplate = transactionTemplate;
+        this.checkpointRepository = checkpointRepository;
+        this.activityLogService = activityLogService;
+        this.goalProgressService = goalProgressService;
+        this.eventPublisher = eventPublisher;
+        this.chunkSize = chunkSize;
+        this.parallelism = parallelism;
+    }
+
+    /**
+     * Reviews every user's overdue tasks now, partitioned and checkpointed. Regular processing is
+     * bucketed per user time zone instead; this is the manual / catch-up path.
+     */
+    public long reviewOverdue() {
+        LocalDateTime now = LocalDateTime.now();
+        return run(Scope.system(), now.toLocalDate().toString(), now);
+    }
+
+    /**
+     * Reviews the overdue tasks of one bucket of users through the same partitioned, checkpointed
+     * path. The users stay due until the caller advances their next review, so a crashed tick picks
+     * the same bucket up again, finds its run key and resumes; the checkpoints go once it finishes.
+     */
+    public long reviewOverdueForUsers(Collection<Long> userIds, LocalDateTime cutoff) {
+        if (userIds.isEmpty()) {
+            return 0;
+        }
+        String runKey = cutoff.toLocalDate() + ":" + Integer.toHexString(new TreeSet<>(userIds).hashCode());
+        long processed = run(Scope.users(userIds), runKey, cutoff);
+        transactionTemplate.executeWithoutResult(status -> checkpointRepository.deleteAll(
+                checkpointRepository.findByJobNameAndRunKey(USER_REVIEW_JOB, runKey)));
+        return processed;
+    }
+
+    private long run(Scope scope, String runKey, LocalDateTime cutoff) {
+        List<JobCheckpoint> checkpoints = startOrResume(scope.jobName(), runKey, cutoff);
+        long started = System.currentTimeMillis();
+
+        ExecutorService pool = Executors.newFixedThreadPool(parallelism, r -> {
+            Thread thread = new Thread(r, scope.jobName() + "-worker");
+            thread.setDaemon(true);
+            return thread;
+        });
+        try {
+            List<Future<Long>> partitions = new ArrayList<>();
+            for (JobCheckpoint checkpoint : checkpoints) {
+                partitions.add(pool.submit(() -> runPartition(checkpoint, scope)));
+            }
+            long total = 0;
+            for (Future<Long> partition : partitions) {
+                total += partition.get();
+            }
+            log.info("Job {} run {} processed {} task(s) in {} ms",
+                    scope.jobName(), runKey, total, System.currentTimeMillis() - started);
+            return total;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Job " + scope.jobName() + " interrupted; it resumes from its checkpoints", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Job " + scope.jobName() + " failed; it resumes from its checkpoints", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Reuses the run's unfinished checkpoints (same cutoff, same keyset positions) or starts a
+     * fresh run with the given cutoff.
+     */
+    private List<JobCheckpoint> startOrResume(String jobName, String runKey, LocalDateTime cutoff) {
+        return transactionTemplate.execute(status -> {
+            List<JobCheckpoint> existing = checkpointRepository.findByJobNameAndRunKey(jobName, runKey);
+            boolean resumable = existing.size() == parallelism && existing.stream().anyMatch(c -> !c.isCompleted());
+            if (resumable) {
+                log.info("Job {} resuming run {} from checkpoints", jobName, runKey);
+                return existing.stream().filter(c -> !c.isCompleted()).toList();
+            }
+
+            checkpointRepository.deleteAll(existing);
+            checkpointRepository.flush();
+            List<JobCheckpoint> fresh = new ArrayList<>();
+            for (int partition = 0; partition < parallelism; partition++) {
+                JobCheckpoint checkpoint = new JobCheckpoint();
+                checkpoint.setJobName(jobName);
+                checkpoint.setRunKey(runKey);
+                checkpoint.setPartitionNo(partition);
+                checkpoint.setCutoff(cutoff);
+                fresh.add(checkpoint);
+            }
+            return checkpointRepository.saveAll(fresh);
+        });
+    }
+
+    private long runPartition(JobCheckpoint checkpoint, Scope scope) {
+        long processed = 0;
+        for (String sql : List.of(scope.skipLockedSql(), scope.waitingSql())) {
+            // Only an empty chunk ends a pass; a short one may just have skipped locked rows
+            int size;
+            do {
+                size = transactionTemplate.execute(status -> applyPartitionChunk(checkpoint, scope, sql));
+                processed += size;
+            } while (size > 0);
+            // The next pass starts over; a resumed run repeats the waiting pass, which is cheap
+            // because only leftovers still match
+            checkpoint.setLastId(0);
+        }
+        checkpoint.setCompleted(true);
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        transactionTemplate.executeWithoutResult(status -> checkpointRepository.save(checkpoint));
+        return processed;
+    }
+
+    // Chunk and checkpoint advance commit together
+    private int applyPartitionChunk(JobCheckpoint checkpoint, Scope scope, String sql) {
+        MapSqlParameterSource params = new MapSqlParameterSource()
+                .addValue("cutoff", Timestamp.valueOf(checkpoint.getCutoff()))
+                .addValue("partitions", parallelism)
+                .addValue("partition", checkpoint.getPartitionNo())
+                .addValue("afterId", checkpoint.getLastId())
+                .addValue("limit", chunkSize);
+        if (scope.userIds() != null) {
+            params.addValue("userIds", scope.userIds());
+        }
+
+        List<TransitionedTask> chunk = applyChunk(sql, params);
+
+        // RETURNING order is unspecified; the keyset position is the highest id touched
+        chunk.stream().mapToLong(TransitionedTask::id).max().ifPresent(checkpoint::setLastId);
+        checkpoint.setProcessed(checkpoint.getProcessed() + chunk.size());
+        checkpoint.setUpdatedAt(LocalDateTime.now());
+        checkpointRepository.save(checkpoint);
+
+        return chunk.size();
+    }
+
+    // Runs inside the chunk transaction: transition + batched logs + goal counters + cache invalidation on commit
+    private List<TransitionedTask> applyChunk(String sql, MapSqlParameterSource params) {
+        List<TransitionedTask> chunk = jdbc.query(sql, params, ROW_MAPPER);
+
+        activityLogService.logAllInCurrentTransaction(chunk.stream()
+                .map(task -> activityLogService.entry(
+                        task.id(), task.userId(), "TASK_MARKED_OVERDUE", "SYSTEM",
+                        Map.of("oldStatus", task.oldStatus(), "newStatus", task.newStatus())))
+                .toList());
+
+        Map<Long, Long> closedPerGoal = chunk.stream()
+                .filter(t -> !GoalProgressService.isClosed(t.oldStatus()) && GoalProgressService.isClosed(t.newStatus()))
+                .collect(Collectors.groupingBy(TransitionedTask::goalId, LinkedHashMap::new, Collectors.counting()));
+        closedPerGoal.forEach((goalId, count) -> {
+            goalProgressService.tasksClosed(goalId, count.intValue());
+            goalProgressService.completeGoalIfFinished(goalId);
+        });
+
+        Set<Long> users = chunk.stream().map(TransitionedTask::userId).collect(Collectors.toSet());
+        if (!users.isEmpty()) {
+            eventPublisher.publishEvent(new UserDataChanged(users));
+        }
+        return chunk;
+    }
+}
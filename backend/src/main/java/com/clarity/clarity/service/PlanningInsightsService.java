@@ -1,19 +1,15 @@
 package com.clarity.clarity.service;
 
+import com.clarity.clarity.cache.ReadModelCache;
 import com.clarity.clarity.dto.response.PlanningInsightsResponse;
-import com.clarity.clarity.entity.Task;
-import com.clarity.clarity.entity.TaskActivityLog;
 import com.clarity.clarity.repository.TaskActivityLogRepository;
 import com.clarity.clarity.repository.TaskRepository;
+import com.clarity.clarity.repository.WeeklyTaskStats;
 import com.clarity.clarity.util.SecurityUtils;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
-import java.util.List;
-import java.util.Set;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -22,39 +18,31 @@ public class PlanningInsightsService {
     private final TaskRepository taskRepository;
     private final TaskActivityLogRepository logRepository;
     private final SecurityUtils securityUtils;
+    private final ReadModelCache readModels;
 
-    @Transactional(readOnly = true)
+    // Cached per user until one of their writes (or the overdue review) commits
     public PlanningInsightsResponse getWeeklyInsights() {
         Long userId = securityUtils.getCurrentUserId();
-        LocalDateTime sevenDaysAgo = LocalDateTime.now().minusDays(7);
+        return readModels.get(ReadModelCache.Key.of("weekly-insights", userId), () -> computeWeeklyInsights(userId));
+    }
 
-        List<Task> recentTasks = taskRepository.findAllByUserIdAndDeletedFalse(userId).stream()
-                .filter(t -> t.getCreatedAt().isAfter(sevenDaysAgo))
-                .toList();
+    private PlanningInsightsResponse computeWeeklyInsights(Long userId) {
+        LocalDateTime now = LocalDateTime.now();
+        LocalDateTime sevenDaysAgo = now.minusDays(7);
 
-        List<TaskActivityLog> recentLogs = logRepository.findByCreatedAtAfterAndUserId(sevenDaysAgo, userId);
+        // Two aggregate statements bounded by the week, independent of the user's history size
+        WeeklyTaskStats stats = taskRepository.aggregateCreatedBetween(userId, sevenDaysAgo, now);
+        long slipped = logRepository.countDelayedTasksReviewedBetween(userId, sevenDaysAgo, now);
 
-        int total = recentTasks.size();
-        int completed = (int) recentTasks.stream()
-                .filter(t -> "DONE".equals(t.getStatus().name()))
-                .count();
+        int total = stats.total() == null ? 0 : stats.total().intValue();
+        int completed = stats.completed() == null ? 0 : stats.completed().intValue();
 
         int completionRate = total == 0 ? 0 : (completed * 100 / total);
 
-        Set<Long> slippedTaskIds = recentLogs.stream()
-                .filter(l -> "TASK_REVIEWED".equals(l.getAction()))
-                .filter(l -> l.getMetadata().contains("ACCEPT_DELAY"))
-                .map(TaskActivityLog::getTaskId)
-                .collect(Collectors.toSet());
-
-        int slippageCount = slippedTaskIds.size();
+        int slippageCount = (int) slipped;
         int slippageRate = total == 0 ? 0 : (slippageCount * 100 / total);
 
-        double avgError = recentTasks.stream()
-                .filter(t -> t.getActualMinutes() != null && t.getEstimatedMinutes() != null)
-                .mapToLong(t -> t.getActualMinutes() - t.getEstimatedMinutes())
-                .average()
-                .orElse(0.0);
+        double avgError = stats.avgEstimationError() == null ? 0.0 : stats.avgEstimationError();
 
         String feedback = generateFeedback(total, completionRate, slippageRate, avgError);
 
@@ -77,4 +65,4 @@ public class PlanningInsightsService {
         if (error > 30) return "You chronically underestimate tasks. Double your estimates.";
         return "Solid week. You are executing well.";
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,166 @@
+package com.clarity.clarity.service;
+
+import com.clarity.clarity.cache.UserDataChanged;
+import com.clarity.clarity.domain.TaskStatus;
+import com.clarity.clarity.entity.Task;
+import com.clarity.clarity.recurrence.RecurrenceRule;
+import com.clarity.clarity.recurrence.RecurrenceRules;
+import com.clarity.clarity.repository.TaskRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Creates recurring task instances from compiled {@link RecurrenceRule}s: the successor of a
+ * completed instance, and (when {@code clarity.recurrence.materialize.enabled}) every instance
+ * due within the next {@code horizon-days}, generated ahead of time in batches.
+ * <p>
+ * Every instance holds a slot in its series: {@code (seriesId, occurrenceAt)}, unique in the
+ * table. Instances are inserted with {@code ON CONFLICT DO NOTHING}, so completion, the
+ * materializer and retries can race without duplicating an occurrence, in one round trip.
+ * Occurrences are phased from the series anchor (its first slot), which also bounds COUNT.
+ */
+@Slf4j
+@Service
+public class RecurrenceService {
+
+    private final TaskRepository taskRepository;
+    private final GoalProgressService goalProgressService;
+    private final RecurrenceRules recurrenceRules;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final int horizonDays;
+    private final int batchSize;
+
+    public RecurrenceService(TaskRepository taskRepository,
+                             GoalProgressService goalProgressService,
+                             RecurrenceRules recurrenceRules,
+                             TransactionTemplate transactionTemplate,
+                             ApplicationEventPublisher eventPublisher,
+                             @Value("${clarity.recurrence.materialize.horizon-days:14}") int horizonDays,
+                             @Value("${clarity.recurrence.materialize.batch-size:200}") int batchSize) {
+        if (horizonDays <= 0 || batchSize <= 0) {
+            throw new IllegalArgumentException("clarity.recurrence.materialize horizon-days and batch-size must be positive");
+        }
+        this.taskRepository = taskRepository;
+        this.goalProgressService = goalProgressService;
+        this.recurrenceRules = recurrenceRules;
+        this.transactionTemplate = transactionTemplate;
+        this.eventPublisher = eventPublisher;
+        this.horizonDays = horizonDays;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Fails with {@link IllegalArgumentException} (400) for a pattern that does not compile.
+     */
+    public RecurrenceRule rule(Task task) {
+        return recurrenceRules.get(task.getRecurrenceType(), task.getRecurrencePattern());
+    }
+
+    /**
+     * Makes a newly created recurring task the first instance of its own series.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void startSeries(Task task) {
+        task.setSeriesId(task.getId());
+        task.setOccurrenceAt(task.getDueDatetime());
+    }
+
+    /**
+     * Adds the instance following {@code task}, unless the series has ended (UNTIL / COUNT) or the
+     * slot is already taken, e.g. materialized ahead of time or created by a concurrent request.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public boolean createNextInstance(Task task) {
+        if (task.getSeriesId() == null) {
+            startSeries(task);
+        }
+        RecurrenceRule rule = rule(task);
+        LocalDateTime current = task.getOccurrenceAt() != null ? task.getOccurrenceAt()
+                : task.getDueDatetime() != null ? task.getDueDatetime() : LocalDateTime.now();
+        Optional<LocalDateTime> next = taskRepository.findSeriesAnchor(task.getSeriesId())
+                .map(anchor -> rule.nextAfter(anchor, current))
+                .orElseGet(() -> rule.nextAfter(current));
+        return next.isPresent() && insertInstance(task, next.get());
+    }
+
+    private boolean insertInstance(Task source, LocalDateTime occurrenceAt) {
+        int inserted = taskRepository.insertOccurrence(
+                source.getGoal().getId(), source.getTitle(), source.getEstimatedMinutes(), source.getUserId(),
+                source.getRecurrenceType().name(), source.getRecurrencePattern(),
+                source.getSeriesId(), occurrenceAt, LocalDateTime.now());
+        if (inserted == 0) {
+            return false;
+        }
+        goalProgressService.taskAdded(source.getGoal().getId(), TaskStatus.READY);
+        return true;
+    }
+
+    /**
+     * Batch mode: for every open series (its latest live instance is READY or IN_PROGRESS),
+     * creates the missing instances due before now + horizon. Series are walked in id-ordered
+     * batches, each in its own transaction.
+     */
+    public int materializeUpcoming() {
+        LocalDateTime horizon = LocalDateTime.now().plusDays(horizonDays);
+        long started = System.currentTimeMillis();
+        int created = 0;
+        int series = 0;
+        long afterId = 0;
+
+        while (true) {
+            long cursor = afterId;
+            List<Long> ids = taskRepository.findOpenSeriesHeadIds(cursor, PageRequest.of(0, batchSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+            created += transactionTemplate.execute(status -> materializeBatch(ids, horizon));
+            series += ids.size();
+            afterId = ids.get(ids.size() - 1);
+            if (ids.size() < batchSize) {
+                break;
+            }
+        }
+        log.info("Materialized {} recurring instance(s) across {} series in {} ms",
+                created, series, System.currentTimeMillis() - started);
+        return created;
+    }
+
+    private int materializeBatch(List<Long> headIds, LocalDateTime horizon) {
+        int created = 0;
+        Set<Long> users = new HashSet<>();
+        for (Task head : taskRepository.findAllWithGoalByIdIn(headIds)) {
+            RecurrenceRule rule;
+            try {
+                rule = rule(head);
+            } catch (IllegalArgumentException e) {
+                // Stored before patterns were validated; completion keeps failing loudly for these
+                log.warn("Skipping task {} with invalid recurrence pattern: {}", head.getId(), e.getMessage());
+                continue;
+            }
+            LocalDateTime anchor = taskRepository.findSeriesAnchor(head.getSeriesId()).orElse(head.getOccurrenceAt());
+            for (LocalDateTime occurrence : rule.occurrences(anchor, head.getOccurrenceAt().plusNanos(1), horizon)) {
+                if (insertInstance(head, occurrence)) {
+                    created++;
+                    users.add(head.getUserId());
+                }
+            }
+        }
+        if (!users.isEmpty()) {
+            eventPublisher.publishEvent(new UserDataChanged(users)); // their task lists grew
+        }
+        return created;
+    }
+}
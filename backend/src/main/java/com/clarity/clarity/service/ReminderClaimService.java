@@ -0,0 +1,49 @@
+package com.clarity.clarity.service;
+
+import com.clarity.clarity.entity.Reminder;
+import com.clarity.clarity.repository.DueReminder;
+import com.clarity.clarity.repository.ReminderRepository;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Lease-based claiming of due reminders, safe across replicas sharing one database.
+ * A claim lasts {@code lease}; if the node dies before marking SENT, the reminders are
+ * claimable again once the lease runs out (at-least-once delivery).
+ */
+@Service
+@RequiredArgsConstructor
+public class ReminderClaimService {
+
+    private final ReminderRepository reminderRepository;
+
+    @Transactional
+    public List<DueReminder> claimBatch(String nodeId, LocalDateTime now, Duration lease, int limit) {
+        List<Long> ids = reminderRepository.lockClaimable(now, PageRequest.of(0, limit)).stream()
+                .map(Reminder::getId)
+                .toList();
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+
+        // Millisecond precision so the value reads back equal from the TIMESTAMP column
+        LocalDateTime expiresAt = now.plus(lease).truncatedTo(ChronoUnit.MILLIS);
+        if (reminderRepository.claim(ids, nodeId, now, expiresAt) == 0) {
+            return List.of();
+        }
+        return reminderRepository.findClaimed(ids, nodeId, expiresAt);
+    }
+
+    @Transactional
+    public int markSent(String nodeId, Collection<Long> ids) {
+        return ids.isEmpty() ? 0 : reminderRepository.markSent(ids, nodeId);
+    }
+}
@@ -4,11 +4,13 @@ import com.clarity.clarity.dto.request.ReminderRequest;
 import com.clarity.clarity.entity.Reminder;
 import com.clarity.clarity.entity.Task;
 import com.clarity.clarity.domain.TaskStatus; // Import Status
+import com.clarity.clarity.repository.DueReminder;
 import com.clarity.clarity.repository.ReminderRepository;
 import com.clarity.clarity.repository.TaskRepository;
 import com.clarity.clarity.util.SecurityUtils; // <--- Import
 import lombok.RequiredArgsConstructor;
 import org.apache.coyote.BadRequestException; // Or use IllegalArgumentException
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,6 +25,7 @@ public class ReminderService {
     private final TaskRepository taskRepository;
     private final TaskActivityLogService taskActivityLogService;
     private final SecurityUtils securityUtils; // <--- INJECT THIS
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
     public void createReminder(Long taskId, ReminderRequest request) throws BadRequestException {
@@ -50,8 +53,13 @@ public class ReminderService {
 
         reminderRepository.save(reminder);
 
+        // Picked up by ReminderDispatcher once this transaction commits
+        eventPublisher.publishEvent(new DueReminder(reminder.getId(), task.getId(), userId,
+                task.getTitle(), task.getDueDatetime(), reminder.getRemindAt()));
+
         taskActivityLogService.log(
                 task.getId(),
+                userId,
                 "REMINDER_CREATED",
                 "USER",
                 Map.of("remindAt", request.remindAt())
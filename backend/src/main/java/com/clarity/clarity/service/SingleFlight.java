@@ -0,0 +1,92 @@
+package com.clarity.clarity.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Collapses identical concurrent reads: while one request computes a result for a key, identical
+ * requests wait for it and share it instead of querying again. Nothing is kept once the
+ * computation finishes; caching is {@link com.clarity.clarity.cache.ReadModelCache}'s job.
+ * <p>
+ * Only the first caller, the leader, runs the read, in its own read-only transaction. Callers
+ * must not be in a transaction already, so followers wait without holding a pooled connection.
+ * Shared results must be immutable. A failure reaches every waiter as the same exception.
+ * Keys must change when the data does (ReadModelCache puts the user's generation in them), so
+ * a flight that started before a write is never joined by a request made after it.
+ * <p>
+ * Metrics, tagged by operation: clarity.singleflight.calls (role=leader|follower) and
+ * clarity.singleflight.dedup.ratio, the share of calls served by another call's read.
+ */
+@Component
+public class SingleFlight {
+
+    private record OperationMeters(Counter leaders, Counter followers) {
+    }
+
+    private final TransactionTemplate readOnly;
+    private final Map<Object, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, OperationMeters> meters = new ConcurrentHashMap<>();
+
+    public SingleFlight(PlatformTransactionManager transactionManager) {
+        this.readOnly = new TransactionTemplate(transactionManager);
+        this.readOnly.setReadOnly(true);
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String operation, Object key, Supplier<T> read) {
+        OperationMeters operationMeters = meters(operation);
+        CompletableFuture<Object> flight = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, flight);
+        if (existing != null) {
+            operationMeters.followers().increment();
+            return (T) await(existing);
+        }
+
+        operationMeters.leaders().increment();
+        try {
+            T result = readOnly.execute(status -> read.get());
+            flight.complete(result);
+            return result;
+        } catch (RuntimeException | Error e) {
+            flight.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, flight);
+        }
+    }
+
+    private static Object await(CompletableFuture<Object> flight) {
+        try {
+            return flight.join();
+        } catch (CompletionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) throw runtime;
+            if (cause instanceof Error error) throw error;
+            throw e;
+        }
+    }
+
+    private OperationMeters meters(String operation) {
+        return meters.computeIfAbsent(operation, name -> {
+            Counter leaders = Metrics.counter("clarity.singleflight.calls", "operation", name, "role", "leader");
+            Counter followers = Metrics.counter("clarity.singleflight.calls", "operation", name, "role", "follower");
+            Gauge.builder("clarity.singleflight.dedup.ratio", () -> {
+                        double total = leaders.count() + followers.count();
+                        return total == 0 ? 0 : followers.count() / total;
+                    })
+                    .tag("operation", name)
+                    .register(Metrics.globalRegistry);
+            return new OperationMeters(leaders, followers);
+        });
+    }
+}
@@ -1,11 +1,11 @@
 package com.clarity.clarity.service;
 
 import com.clarity.clarity.dto.response.TaskActivityLogResponse;
-import com.clarity.clarity.entity.Task;
 import com.clarity.clarity.entity.TaskActivityLog;
 import com.clarity.clarity.repository.TaskActivityLogRepository;
-import com.clarity.clarity.repository.TaskRepository;
 import com.clarity.clarity.util.SecurityUtils;
+import io.micrometer.core.annotation.Timed;
+import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.core.type.TypeReference;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import org.slf4j.Logger;
@@ -25,44 +25,58 @@ public class TaskActivityLogService {
     private static final Logger log = LoggerFactory.getLogger(TaskActivityLogService.class);
 
     private final TaskActivityLogRepository repository;
-    private final TaskRepository taskRepository;
+    private final ActivityLogAppender appender;
     private final ObjectMapper objectMapper;
     private final SecurityUtils securityUtils;
 
     public TaskActivityLogService(TaskActivityLogRepository repository,
-                                  TaskRepository taskRepository,
+                                  ActivityLogAppender appender,
                                   ObjectMapper objectMapper,
                                   SecurityUtils securityUtils) {
         this.repository = repository;
-        this.taskRepository = taskRepository;
+        this.appender = appender;
         this.objectMapper = objectMapper;
         this.securityUtils = securityUtils;
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public void log(Long taskId, String action, String performedBy, Map<String, Object> metadata) {
+    /**
+     * Fire-and-forget: the entry is queued for the background writer, so no transaction or
+     * connection is taken here. Callers pass the task owner they already hold.
+     */
+    @Timed(value = "clarity.activity-log.log", histogram = true)
+    public void log(Long taskId, Long userId, String action, String performedBy, Map<String, Object> metadata) {
         try {
-            // 1. Fetch the Task to find the Owner
-            Task task = taskRepository.findById(taskId)
-                    .orElseThrow(() -> new IllegalArgumentException("Task not found for logging"));
-
-            TaskActivityLog logEntry = new TaskActivityLog();
-            logEntry.setTaskId(taskId);
-
-            // 2. SAVE THE USER ID (This closes the loop!)
-            logEntry.setUserId(task.getUserId());
-
-            logEntry.setAction(action);
-            logEntry.setPerformedBy(performedBy);
-            logEntry.setMetadata(objectMapper.writeValueAsString(metadata));
-            logEntry.setCreatedAt(LocalDateTime.now());
-
-            repository.save(logEntry);
+            // Serialize on the caller's thread so later mutations of the map cannot leak into the row
+            String metadataJson = objectMapper.writeValueAsString(metadata);
+            appender.append(new ActivityLogAppender.Entry(
+                    taskId, userId, action, performedBy, metadataJson, LocalDateTime.now()));
         } catch (Exception e) {
-            log.error("Failed to persist activity log for task {}: {}", taskId, e.getMessage());
+            log.error("Failed to queue activity log for task {}: {}", taskId, e.getMessage());
+        }
+    }
+
+    /**
+     * Builds an entry for {@link #logAllInCurrentTransaction}; metadata is serialized here.
+     */
+    public ActivityLogAppender.Entry entry(Long taskId, Long userId, String action, String performedBy,
+                                           Map<String, Object> metadata) {
+        try {
+            return new ActivityLogAppender.Entry(taskId, userId, action, performedBy,
+                    objectMapper.writeValueAsString(metadata), LocalDateTime.now());
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Unserializable activity log metadata", e);
         }
     }
 
+    /**
+     * Durable variant for batch jobs: one batched insert inside the caller's transaction,
+     * bypassing the write-behind queue.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void logAllInCurrentTransaction(List<ActivityLogAppender.Entry> entries) {
+        appender.insertBatch(entries);
+    }
+
     @Transactional(readOnly = true)
     public List<TaskActivityLogResponse> getTaskTimeline(Long taskId) {
         Long userId = securityUtils.getCurrentUserId();
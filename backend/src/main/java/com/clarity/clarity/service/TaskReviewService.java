@@ -1,5 +1,6 @@
 package com.clarity.clarity.service;
 
+import com.clarity.clarity.cache.UserDataChanged;
 import com.clarity.clarity.entity.Task;
 import com.clarity.clarity.domain.TaskStatus;
 import com.clarity.clarity.dto.request.ReviewRequest;
@@ -7,10 +8,9 @@ import com.clarity.clarity.repository.TaskRepository;
 import com.clarity.clarity.util.SecurityUtils;
 import jakarta.transaction.Transactional;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 
-import java.time.LocalDateTime;
-import java.util.List;
 import java.util.Map;
 
 @Service
@@ -20,31 +20,13 @@ public class TaskReviewService {
     private final TaskRepository taskRepository;
     private final TaskActivityLogService taskActivityLogService;
     private final SecurityUtils securityUtils;
+    private final GoalProgressService goalProgressService;
+    private final OverdueTaskJobService overdueTaskJobService;
+    private final ApplicationEventPublisher eventPublisher;
 
-    @Transactional
+    // Chunked, set-based and checkpointed; see OverdueTaskJobService
     public void reviewOverdueTasks() {
-
-        List<Task> overdueTasks = taskRepository.findAllOverdueTasksForSystem(
-                LocalDateTime.now(),
-                List.of(TaskStatus.READY, TaskStatus.IN_PROGRESS)
-        );
-
-        for (Task task : overdueTasks) {
-            TaskStatus oldStatus = task.getStatus();
-            boolean oldNeedsReview = task.isNeedsReview();
-
-            if (task.getStatus() == TaskStatus.READY) {
-                task.setStatus(TaskStatus.SKIPPED); // Auto-skip stale tasks
-            } else if (task.getStatus() == TaskStatus.IN_PROGRESS) {
-                task.setNeedsReview(true); // Flag active tasks for review
-            }
-
-            taskActivityLogService.log(
-                    task.getId(), "TASK_MARKED_OVERDUE", "SYSTEM",
-                    Map.of("oldStatus", oldStatus, "newStatus", task.getStatus())
-            );
-        }
-        taskRepository.saveAll(overdueTasks);
+        overdueTaskJobService.reviewOverdue();
     }
 
     @Transactional
@@ -58,6 +40,7 @@ public class TaskReviewService {
             throw new IllegalStateException("Task does not require review");
         }
 
+        TaskStatus oldStatus = task.getStatus();
         task.setReviewNote(request.note());
         task.setReviewDecision(request.decision());
 
@@ -70,5 +53,16 @@ public class TaskReviewService {
         }
         task.setNeedsReview(false);
         taskRepository.save(task);
+        eventPublisher.publishEvent(UserDataChanged.of(userId));
+
+        Long goalId = task.getGoal().getId();
+        goalProgressService.statusChanged(goalId, oldStatus, task.getStatus());
+        goalProgressService.completeGoalIfFinished(goalId);
+
+        // Weekly insights count ACCEPT_DELAY decisions from these entries
+        taskActivityLogService.log(
+                taskId, userId, "TASK_REVIEWED", "USER",
+                Map.of("decision", request.decision(), "oldStatus", oldStatus, "newStatus", task.getStatus())
+        );
     }
 }
\ No newline at end of file
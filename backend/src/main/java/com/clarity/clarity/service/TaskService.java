@@ -1,25 +1,31 @@
 package com.clarity.clarity.service;
 
+import com.clarity.clarity.cache.ReadModelCache;
+import com.clarity.clarity.cache.UserDataChanged;
+import com.clarity.clarity.dto.request.TaskFilter;
 import com.clarity.clarity.dto.request.TaskRequest;
+import com.clarity.clarity.dto.response.TaskPage;
 import com.clarity.clarity.dto.response.TaskResponse;
 import com.clarity.clarity.entity.Goal;
 import com.clarity.clarity.entity.Task;
+import com.clarity.clarity.entity.TimeBlock;
 import com.clarity.clarity.repository.GoalRepository;
+import com.clarity.clarity.repository.TaskCursor;
 import com.clarity.clarity.repository.TaskRepository;
 import com.clarity.clarity.repository.TimeBlockRepository;
 import com.clarity.clarity.util.SecurityUtils;
 import com.clarity.clarity.domain.TaskStatus;
-import com.clarity.clarity.domain.GoalStatus;
 import com.clarity.clarity.domain.RecurrenceType;
+import com.clarity.clarity.domain.TaskSort;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
-import java.time.DayOfWeek;
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -30,6 +36,14 @@ public class TaskService {
     private final SecurityUtils securityUtils;
     private final TaskActivityLogService activityLogService;
     private final TimeBlockRepository timeBlockRepository;
+    private final GoalProgressService goalProgressService;
+    private final DailyPlanningService dailyPlanningService;
+    private final RecurrenceService recurrenceService;
+    private final ReadModelCache readModels;
+    private final ApplicationEventPublisher eventPublisher;
+
+    public static final int DEFAULT_PAGE_SIZE = 100;
+    public static final int MAX_PAGE_SIZE = 500;
 
     @Transactional
     public Task createTask(TaskRequest request) {
@@ -51,113 +65,92 @@ public class TaskService {
         task.setUserId(userId);
         task.setRecurrenceType(request.recurrenceType() != null ? request.recurrenceType() : RecurrenceType.NONE);
         task.setRecurrencePattern(request.recurrencePattern());
+        if (task.getRecurrenceType() != RecurrenceType.NONE) {
+            recurrenceService.rule(task); // rejects a malformed pattern up front
+        }
 
         Task savedTask = taskRepository.save(task);
-        activityLogService.log(savedTask.getId(), "TASK_CREATED", "USER", Collections.emptyMap());
+        if (savedTask.getRecurrenceType() != RecurrenceType.NONE) {
+            recurrenceService.startSeries(savedTask);
+        }
+        goalProgressService.taskAdded(goal.getId(), savedTask.getStatus());
+        activityLogService.log(savedTask.getId(), userId, "TASK_CREATED", "USER", Collections.emptyMap());
+        eventPublisher.publishEvent(UserDataChanged.of(userId));
         return savedTask;
     }
 
     @Transactional
+    @Timed(value = "clarity.tasks.complete", histogram = true)
     public void completeTask(Long taskId) {
         Long userId = securityUtils.getCurrentUserId();
         Task task = taskRepository.findByIdAndUserIdAndDeletedFalse(taskId, userId)
                 .orElseThrow(() -> new EntityNotFoundException("Task not found"));
 
+        TaskStatus previousStatus = task.getStatus();
         task.setStatus(TaskStatus.DONE);
         taskRepository.save(task);
+        goalProgressService.statusChanged(task.getGoal().getId(), previousStatus, TaskStatus.DONE);
 
-        activityLogService.log(taskId, "TASK_COMPLETED", "USER", Collections.emptyMap());
-
-        // 1. RECURRENCE ENGINE
-        handleRecurrence(task, userId);
-
-        // 2. GOAL AUTOMATION (Check if Goal is now complete)
-        updateGoalStatusIfComplete(task.getGoal());
-    }
+        activityLogService.log(taskId, userId, "TASK_COMPLETED", "USER", Collections.emptyMap());
 
-    private void handleRecurrence(Task task, Long userId) {
+        // 1. RECURRENCE ENGINE (compiled, cached rule)
         if (task.getRecurrenceType() != null && task.getRecurrenceType() != RecurrenceType.NONE) {
-            LocalDateTime baseDate = (task.getDueDatetime() != null) ? task.getDueDatetime() : LocalDateTime.now();
-            LocalDateTime nextDue = calculateNextOccurrence(baseDate, task.getRecurrenceType(), task.getRecurrencePattern());
-
-            boolean alreadyExists = taskRepository.existsByUserIdAndTitleAndGoalIdAndDueDatetimeAndDeletedFalse(
-                    userId, task.getTitle(), task.getGoal().getId(), nextDue
-            );
-
-            if (!alreadyExists) {
-                Task nextTask = new Task();
-                nextTask.setTitle(task.getTitle());
-                nextTask.setGoal(task.getGoal());
-                nextTask.setEstimatedMinutes(task.getEstimatedMinutes());
-                nextTask.setUserId(userId);
-                nextTask.setRecurrenceType(task.getRecurrenceType());
-                nextTask.setRecurrencePattern(task.getRecurrencePattern());
-                nextTask.setStatus(TaskStatus.READY);
-                nextTask.setDueDatetime(nextDue);
-                taskRepository.save(nextTask);
-            }
+            recurrenceService.createNextInstance(task);
         }
-    }
 
-    private void updateGoalStatusIfComplete(Goal goal) {
-        if (goal != null) {
-            // Re-fetch goal to get latest tasks or use the relationship
-            boolean allDone = goal.getTasks().stream()
-                    .filter(t -> !t.isDeleted())
-                    .allMatch(t -> t.getStatus() == TaskStatus.DONE || t.getStatus() == TaskStatus.SKIPPED);
-
-            if (allDone && !goal.getTasks().isEmpty()) {
-                goal.setStatus(GoalStatus.DONE);
-                goalRepository.save(goal);
-            }
-        }
+        // 2. GOAL AUTOMATION (O(1): counters already reflect the completion and the next instance)
+        goalProgressService.completeGoalIfFinished(task.getGoal().getId());
+        eventPublisher.publishEvent(UserDataChanged.of(userId));
     }
 
-    private LocalDateTime calculateNextOccurrence(LocalDateTime current, RecurrenceType type, String pattern) {
-        return switch (type) {
-            case DAILY -> (pattern != null && !pattern.isEmpty())
-                    ? findNextDayInPattern(current, pattern)
-                    : current.plusDays(1);
-            case WEEKLY -> current.plusWeeks(1);
-            case MONTHLY -> current.plusMonths(1);
-            default -> current;
-        };
-    }
+    // --- SECURE USER QUERIES ---
 
-    private LocalDateTime findNextDayInPattern(LocalDateTime current, String pattern) {
-        Set<DayOfWeek> activeDays = Arrays.stream(pattern.split(","))
-                .map(String::trim).map(String::toUpperCase).map(DayOfWeek::valueOf)
-                .collect(Collectors.toSet());
+    @Transactional(readOnly = true)
+    public TaskPage getTasksByGoal(Long goalId, String cursor, Integer limit) {
+        Long userId = securityUtils.getCurrentUserId();
 
-        LocalDateTime next = current;
-        for (int i = 1; i <= 7; i++) {
-            next = next.plusDays(1);
-            if (activeDays.contains(next.getDayOfWeek())) return next;
+        // Ensure user owns the goal first (existence probe, the Goal itself isn't needed)
+        if (!goalRepository.existsByIdAndUserId(goalId, userId)) {
+            throw new EntityNotFoundException("Goal not found or access denied");
         }
-        return current.plusDays(1);
+
+        return loadPage(userId, TaskFilter.none().withGoalId(goalId), TaskSort.DUE_DATE, cursor, limit);
     }
 
-    // --- SECURE USER QUERIES ---
+    @Transactional(readOnly = true)
+    public List<TaskResponse> getTasksNeedingReview() {
+        return taskRepository.findReviewQueue(securityUtils.getCurrentUserId());
+    }
 
-    public List<TaskResponse> getTasksByGoal(Long goalId) {
+    // Cached per user, filter, sort and page; identical concurrent misses share one query
+    public TaskPage getAllTasks(TaskFilter filter, TaskSort sort, String cursor, Integer limit) {
         Long userId = securityUtils.getCurrentUserId();
+        return readModels.get(ReadModelCache.Key.of("tasks", userId, filter, sort, cursor, limit),
+                () -> loadPage(userId, filter, sort, cursor, limit));
+    }
 
-        // Ensure user owns the goal first
-        goalRepository.findByIdAndUserId(goalId, userId)
-                .orElseThrow(() -> new EntityNotFoundException("Goal not found or access denied"));
+    // Keyset pagination: fetch one extra row to know whether another page exists
+    private TaskPage loadPage(Long userId, TaskFilter filter, TaskSort sort, String cursor, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : limit;
+        if (pageSize < 1 || pageSize > MAX_PAGE_SIZE) {
+            throw new IllegalArgumentException("limit must be between 1 and " + MAX_PAGE_SIZE);
+        }
 
-        // FIX: Return mapped DTOs and ignore deleted tasks
-        return taskRepository.findByGoalIdAndUserIdAndDeletedFalse(goalId, userId).stream()
-                .map(this::mapToResponse)
-                .toList();
-    }
+        TaskCursor after = TaskCursor.decode(cursor);
+        if (after != null && !after.matches(sort)) {
+            throw new IllegalArgumentException("Cursor does not match sort order " + sort);
+        }
 
-    public List<Task> getTasksNeedingReview() {
-        return taskRepository.findByNeedsReviewTrueAndUserIdAndDeletedFalse(securityUtils.getCurrentUserId());
-    }
+        List<TaskResponse> rows = taskRepository.findPage(userId, filter, sort, after, pageSize + 1);
+        boolean hasMore = rows.size() > pageSize;
+        List<TaskResponse> page = hasMore ? rows.subList(0, pageSize) : rows;
 
-    public List<Task> getAllTasks() {
-        return taskRepository.findAllByUserIdAndDeletedFalse(securityUtils.getCurrentUserId());
+        String nextCursor = null;
+        if (hasMore) {
+            TaskResponse last = page.get(page.size() - 1);
+            nextCursor = TaskCursor.of(sort, last.dueDatetime(), last.id()).encode();
+        }
+        return new TaskPage(List.copyOf(page), nextCursor);
     }
 
     public Task getTaskById(Long id) {
@@ -170,7 +163,16 @@ public class TaskService {
         Task task = getTaskById(taskId); // Reuses secure fetch
         task.setDeleted(true);
         taskRepository.save(task);
-        timeBlockRepository.deleteAllByTaskId(taskId);
+
+        // Cascade to the task's blocks and give their minutes back to the daily ledger
+        List<TimeBlock> blocks = timeBlockRepository.findAllByTaskId(taskId);
+        dailyPlanningService.releaseBlocks(blocks);
+        timeBlockRepository.deleteAll(blocks);
+
+        Long goalId = task.getGoal().getId();
+        goalProgressService.taskRemoved(goalId, task.getStatus());
+        goalProgressService.completeGoalIfFinished(goalId);
+        eventPublisher.publishEvent(UserDataChanged.of(task.getUserId()));
     }
 
     @Transactional
@@ -182,11 +184,15 @@ public class TaskService {
         if (request.actualMinutes() != null) task.setActualMinutes(request.actualMinutes());
         task.setDueDatetime(request.dueDatetime());
 
-        if (request.goalId() != null && !request.goalId().equals(task.getGoal().getId())) {
+        Long oldGoalId = task.getGoal().getId();
+        if (request.goalId() != null && !request.goalId().equals(oldGoalId)) {
             Goal newGoal = goalRepository.findByIdAndUserId(request.goalId(), securityUtils.getCurrentUserId())
                     .orElseThrow(() -> new IllegalArgumentException("Target goal not found"));
             task.setGoal(newGoal);
+            goalProgressService.taskMoved(oldGoalId, newGoal.getId(), task.getStatus());
+            goalProgressService.completeGoalIfFinished(oldGoalId);
         }
+        eventPublisher.publishEvent(UserDataChanged.of(task.getUserId()));
         return taskRepository.save(task);
     }
 
@@ -1,15 +1,20 @@
 package com.clarity.clarity.service;
 
+import com.clarity.clarity.cache.ReadModelCache;
+import com.clarity.clarity.cache.UserDataChanged;
 import com.clarity.clarity.domain.TaskStatus;
 import com.clarity.clarity.dto.request.TimeBlockRequest;
+import com.clarity.clarity.dto.response.TimeBlockResponse;
 import com.clarity.clarity.entity.Task;
 import com.clarity.clarity.entity.TimeBlock;
 import com.clarity.clarity.repository.TaskRepository;
 import com.clarity.clarity.repository.TimeBlockRepository;
 import com.clarity.clarity.util.SecurityUtils;
+import io.micrometer.core.annotation.Timed;
 import jakarta.persistence.EntityNotFoundException;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -28,8 +33,11 @@ public class TimeBlockService {
     private final TaskActivityLogService activityLogService;
     private final DailyPlanningService dailyPlanningService;
     private final SecurityUtils securityUtils;
+    private final ReadModelCache readModels;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Transactional
+    @Timed(value = "clarity.timeblocks.create", histogram = true)
     public TimeBlock createTimeBlock(TimeBlockRequest request) {
 
         Long userId = securityUtils.getCurrentUserId();
@@ -46,7 +54,8 @@ public class TimeBlockService {
         }
 
         long durationMinutes = Duration.between(request.startTime(), request.endTime()).toMinutes();
-        dailyPlanningService.validateDayCapacity(request.startTime().toLocalDate(), durationMinutes);
+        // O(1) admission: conditional increment on the day's ledger row, safe under parallel requests
+        dailyPlanningService.reserve(userId, request.startTime().toLocalDate(), durationMinutes);
 
         TimeBlock timeBlock = new TimeBlock();
         timeBlock.setTask(task);
@@ -63,9 +72,10 @@ public class TimeBlockService {
         }
 
         taskRepository.save(task);
+        eventPublisher.publishEvent(UserDataChanged.of(userId));
 
         try {
-            activityLogService.log(taskId, "TIME_BLOCK_CREATED", "USER",
+            activityLogService.log(taskId, userId, "TIME_BLOCK_CREATED", "USER",
                     java.util.Map.of("minutesLogged", durationMinutes));
         } catch (Exception e) {
             log.warn("Exception occurred while saving time block", e);
@@ -74,16 +84,23 @@ public class TimeBlockService {
         return saved;
     }
 
-    public List<TimeBlock> getBlocksForDay(java.time.LocalDate date) {
+    // Cached per user and day; identical concurrent misses share one query
+    public List<TimeBlockResponse> getBlocksForDay(LocalDate date) {
         Long userId = securityUtils.getCurrentUserId();
-        java.time.LocalDateTime start = date.atStartOfDay();
-        java.time.LocalDateTime end = date.plusDays(1).atStartOfDay();
-        return timeBlockRepository.findByUserIdAndDate(userId, start, end);
+        LocalDateTime start = date.atStartOfDay();
+        LocalDateTime end = date.plusDays(1).atStartOfDay();
+        return readModels.get(ReadModelCache.Key.of("day-blocks", userId, date),
+                () -> List.copyOf(timeBlockRepository.findScheduleByUserIdAndDate(userId, start, end)));
     }
 
     @Transactional
     public void deleteBlock(Long id) {
         Long userId = securityUtils.getCurrentUserId();
-        timeBlockRepository.deleteByIdAndUserId(id, userId);
+        timeBlockRepository.findByIdAndUserId(id, userId).ifPresent(block -> {
+            dailyPlanningService.release(userId, block.getStartTime().toLocalDate(),
+                    DailyPlanningService.durationMinutes(block));
+            timeBlockRepository.delete(block);
+            eventPublisher.publishEvent(UserDataChanged.of(userId));
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,144 @@
+package com.clarity.clarity.service;
+
+import com.clarity.clarity.repository.ReviewSlot;
+import com.clarity.clarity.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Metrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.DateTimeException;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+
+/**
+ * Rolling overdue review: every user is reviewed at their own local midnight plus a stable
+ * per-user offset within {@code spread-minutes}, so the work is spread over the day instead of
+ * spiking at server midnight. Each tick takes at most {@code max-users-per-tick} due users
+ * (the rate limit) and processes them in buckets of {@code users-per-chunk}.
+ */
+@Slf4j
+@Service
+public class UserReviewService {
+
+    private final UserRepository userRepository;
+    private final OverdueTaskJobService overdueTaskJobService;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration spread;
+    private final int maxUsersPerTick;
+    private final int usersPerChunk;
+
+    private final Counter usersReviewed = Metrics.counter("clarity.review.users");
+    private final Counter tasksReviewed = Metrics.counter("clarity.review.tasks");
+
+    public UserReviewService(UserRepository userRepository,
+                             OverdueTaskJobService overdueTaskJobService,
+                             JdbcTemplate jdbcTemplate,
+                             TransactionTemplate transactionTemplate,
+                             @Value("${clarity.review.spread-minutes:60}") long spreadMinutes,
+                             @Value("${clarity.review.max-users-per-tick:500}") int maxUsersPerTick,
+                             @Value("${clarity.review.users-per-chunk:100}") int usersPerChunk) {
+        if (spreadMinutes < 0 || maxUsersPerTick <= 0 || usersPerChunk <= 0) {
+            throw new IllegalArgumentException("clarity.review spread-minutes, max-users-per-tick and users-per-chunk must be positive");
+        }
+        this.userRepository = userRepository;
+        this.overdueTaskJobService = overdueTaskJobService;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.spread = Duration.ofMinutes(spreadMinutes);
+        this.maxUsersPerTick = maxUsersPerTick;
+        this.usersPerChunk = usersPerChunk;
+    }
+
+    /**
+     * Reviews the users that are due now, up to the per-tick limit. Whatever is left over stays
+     * due and is picked up by the next tick.
+     */
+    public int reviewDueUsers() {
+        List<ReviewSlot> due = userRepository.findDueForReview(
+                LocalDateTime.now(ZoneOffset.UTC), PageRequest.of(0, maxUsersPerTick));
+
+        for (int from = 0; from < due.size(); from += usersPerChunk) {
+            List<ReviewSlot> bucket = due.subList(from, Math.min(from + usersPerChunk, due.size()));
+            List<Long> userIds = bucket.stream().map(ReviewSlot::userId).toList();
+
+            // Task due dates are server-local, so "overdue" is judged against server-local now
+            long tasks = overdueTaskJobService.reviewOverdueForUsers(userIds, LocalDateTime.now());
+            scheduleNext(bucket);
+
+            usersReviewed.increment(bucket.size());
+            tasksReviewed.increment(tasks);
+        }
+        if (!due.isEmpty()) {
+            log.info("Overdue review tick: {} user(s) reviewed", due.size());
+        }
+        return due.size();
+    }
+
+    private void scheduleNext(List<ReviewSlot> bucket) {
+        Instant now = Instant.now();
+        List<Object[]> args = bucket.stream()
+                .map(slot -> new Object[]{
+                        Timestamp.valueOf(nextReviewAt(slot.userId(), parseZone(slot.timeZone()), now)),
+                        slot.userId()})
+                .toList();
+        transactionTemplate.executeWithoutResult(status ->
+                jdbcTemplate.batchUpdate("UPDATE users SET next_review_at = ? WHERE id = ?", args));
+    }
+
+    /**
+     * UTC time of the user's first local midnight after {@code after}, plus their stable offset.
+     */
+    public LocalDateTime nextReviewAt(Long userId, ZoneId zone, Instant after) {
+        return reviewSlot(userId, zone, after, spread);
+    }
+
+    /**
+     * Next review after a change of zone: the new zone's slot, unless the one already scheduled comes
+     * first. Keeping the earlier one means a move never skips a day's review; the run after it is
+     * scheduled in the new zone.
+     */
+    public LocalDateTime rescheduleForZone(Long userId, ZoneId zone, LocalDateTime scheduled, Instant now) {
+        LocalDateTime next = nextReviewAt(userId, zone, now);
+        return scheduled != null && scheduled.isBefore(next) ? scheduled : next;
+    }
+
+    /**
+     * Pure form of {@link #nextReviewAt} for callers without the service (e.g. the dataset generator).
+     */
+    public static LocalDateTime reviewSlot(Long userId, ZoneId zone, Instant after, Duration spread) {
+        long spreadSeconds = spread.toSeconds();
+        // Fibonacci hashing: the high bits of the product scaled onto the window, so consecutive ids
+        // land far apart (a plain modulo of the wrapped product collides for about half of them)
+        long offset = Math.unsignedMultiplyHigh(userId * 0x9E3779B97F4A7C15L, spreadSeconds);
+        return nextLocalMidnightUtc(zone, after).plusSeconds(offset);
+    }
+
+    public static LocalDateTime nextLocalMidnightUtc(ZoneId zone, Instant after) {
+        return after.atZone(zone).toLocalDate().plusDays(1)
+                .atStartOfDay(zone)
+                .withZoneSameInstant(ZoneOffset.UTC)
+                .toLocalDateTime();
+    }
+
+    public static ZoneId parseZone(String timeZone) {
+        if (timeZone == null || timeZone.isBlank()) {
+            return ZoneOffset.UTC;
+        }
+        try {
+            return ZoneId.of(timeZone);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Unknown time zone: " + timeZone);
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.clarity.clarity.util;
 
 import com.clarity.clarity.entity.User;
 import com.clarity.clarity.repository.UserRepository;
+import com.clarity.clarity.security.AuthenticatedUser;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.stereotype.Component;
@@ -16,17 +17,24 @@ public class SecurityUtils {
     }
 
     public User getCurrentUser() {
+        return userRepository.findById(getCurrentUserId())
+                .orElseThrow(() -> new IllegalStateException("User not found in database"));
+    }
+
+    public Long getCurrentUserId() {
         Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
         if (authentication == null || !authentication.isAuthenticated()) {
             throw new IllegalStateException("No authenticated user found");
         }
 
+        // Fast path: the JWT filter already put the user id on the principal
+        if (authentication.getPrincipal() instanceof AuthenticatedUser user) {
+            return user.getId();
+        }
+
         String email = authentication.getName(); // JWT Subject is email
         return userRepository.findByEmail(email)
+                .map(User::getId)
                 .orElseThrow(() -> new IllegalStateException("User not found in database"));
     }
-
-    public Long getCurrentUserId() {
-        return getCurrentUser().getId();
-    }
-}
\ No newline at end of file
+}
@@ -0,0 +1,57 @@
+package com.clarity.clarity.web;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Token buckets in a bounded Caffeine map that forgets idle buckets. An idle bucket has refilled
+ * anyway, so evicting it only resets it to full. Each bucket is an immutable state behind an
+ * {@link AtomicReference}, updated by compare-and-set, so consuming never takes a lock.
+ * <p>
+ * clarity.rate-limit.store.max-buckets bounds memory; idle-minutes should exceed the slowest
+ * bucket's refill time.
+ */
+@Component
+public class CaffeineRateLimitStore implements RateLimitStore {
+
+    private record BucketState(double tokens, long refilledAtNanos) {
+    }
+
+    private final Cache<String, AtomicReference<BucketState>> buckets;
+
+    public CaffeineRateLimitStore(@Value("${clarity.rate-limit.store.max-buckets:100000}") long maxBuckets,
+                                  @Value("${clarity.rate-limit.store.idle-minutes:10}") long idleMinutes) {
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(maxBuckets)
+                .expireAfterAccess(Duration.ofMinutes(idleMinutes))
+                .build();
+        Gauge.builder("clarity.ratelimit.buckets", buckets, Cache::estimatedSize).register(Metrics.globalRegistry);
+    }
+
+    @Override
+    public Decision tryConsume(String key, Bandwidth bandwidth, long nowNanos) {
+        AtomicReference<BucketState> bucket = buckets.get(key,
+                k -> new AtomicReference<>(new BucketState(bandwidth.capacity(), nowNanos)));
+        while (true) {
+            BucketState current = bucket.get();
+            double elapsedSeconds = Math.max(0, nowNanos - current.refilledAtNanos()) / 1e9;
+            double tokens = Math.min(bandwidth.capacity(), current.tokens() + elapsedSeconds * bandwidth.refillPerSecond());
+            long refilledAt = Math.max(nowNanos, current.refilledAtNanos());
+
+            boolean allowed = tokens >= 1;
+            double left = allowed ? tokens - 1 : tokens;
+            if (bucket.compareAndSet(current, new BucketState(left, refilledAt))) {
+                long resetSeconds = (long) Math.ceil((bandwidth.capacity() - left) / bandwidth.refillPerSecond());
+                long retryAfterSeconds = allowed ? 0 : Math.max(1, (long) Math.ceil((1 - left) / bandwidth.refillPerSecond()));
+                return new Decision(allowed, (long) left, resetSeconds, retryAfterSeconds);
+            }
+        }
+    }
+}
@@ -0,0 +1,184 @@
+package com.clarity.clarity.web;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Pattern;
+
+/**
+ * Load shedding at the API edge: each endpoint class has its own adaptive concurrency limit
+ * ({@link GradientLimit}) learned from its own latency. A request over the limit is rejected
+ * immediately with 503 and Retry-After instead of queueing behind a slow database.
+ * <p>
+ * Classes are prioritised. While a higher-priority class is at its limit, lower-priority ones
+ * are admitted only up to half of theirs, so expensive reports are shed before cheap lookups.
+ * Runs in the security chain before {@code JwtAuthenticationFilter}, so a shed request costs
+ * no token check either.
+ * <p>
+ * Per class: clarity.concurrency-limit.&lt;class&gt;.initial-limit / .max-limit. Shared:
+ * min-limit, smoothing, rtt-tolerance, retry-after-seconds.
+ * Metrics, tagged by class: clarity.concurrency.limit and clarity.concurrency.inflight (gauges),
+ * clarity.concurrency.rejected (counter).
+ */
+@Slf4j
+@Component
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    /**
+     * Endpoint classes in priority order (first = most important), with their default limits.
+     */
+    public enum EndpointClass {
+        CHEAP(50, 400),     // single-resource lookups, e.g. GET /tasks/{id}
+        STANDARD(20, 200),  // listings and writes on tasks, goals, time blocks, reminders
+        EXPENSIVE(5, 40);   // aggregations such as /insights/weekly
+
+        private final int initialLimit;
+        private final int maxLimit;
+
+        EndpointClass(int initialLimit, int maxLimit) {
+            this.initialLimit = initialLimit;
+            this.maxLimit = maxLimit;
+        }
+    }
+
+    private static final Pattern SINGLE_RESOURCE = Pattern.compile("^/(tasks|goals)/\\d+$");
+    private static final Pattern LIMITED = Pattern.compile("^/(tasks|goals|time-blocks)(/.*)?$");
+
+    private static final class Partition {
+        final EndpointClass endpointClass;
+        final GradientLimit limit;
+        final AtomicInteger inFlight = new AtomicInteger();
+        final Counter rejected;
+
+        Partition(EndpointClass endpointClass, GradientLimit limit) {
+            this.endpointClass = endpointClass;
+            this.limit = limit;
+            String tag = endpointClass.name().toLowerCase(Locale.ROOT);
+            this.rejected = Counter.builder("clarity.concurrency.rejected").tag("class", tag).register(Metrics.globalRegistry);
+            Gauge.builder("clarity.concurrency.limit", limit, GradientLimit::getLimit).tag("class", tag)
+                    .register(Metrics.globalRegistry);
+            Gauge.builder("clarity.concurrency.inflight", inFlight, AtomicInteger::get).tag("class", tag)
+                    .register(Metrics.globalRegistry);
+        }
+
+        boolean saturated() {
+            return inFlight.get() >= limit.getLimit();
+        }
+    }
+
+    private final boolean enabled;
+    private final long retryAfterSeconds;
+    private final Map<EndpointClass, Partition> partitions = new EnumMap<>(EndpointClass.class);
+
+    public ConcurrencyLimitFilter(Environment environment,
+                                  @Value("${clarity.concurrency-limit.enabled:true}") boolean enabled,
+                                  @Value("${clarity.concurrency-limit.min-limit:2}") int minLimit,
+                                  @Value("${clarity.concurrency-limit.smoothing:0.2}") double smoothing,
+                                  @Value("${clarity.concurrency-limit.rtt-tolerance:1.5}") double tolerance,
+                                  @Value("${clarity.concurrency-limit.retry-after-seconds:1}") long retryAfterSeconds) {
+        this.enabled = enabled;
+        this.retryAfterSeconds = retryAfterSeconds;
+        for (EndpointClass endpointClass : EndpointClass.values()) {
+            String prefix = "clarity.concurrency-limit." + endpointClass.name().toLowerCase(Locale.ROOT) + ".";
+            int initial = environment.getProperty(prefix + "initial-limit", Integer.class, endpointClass.initialLimit);
+            int max = environment.getProperty(prefix + "max-limit", Integer.class, endpointClass.maxLimit);
+            partitions.put(endpointClass, new Partition(endpointClass,
+                    new GradientLimit(initial, Math.min(minLimit, initial), max, smoothing, tolerance)));
+        }
+    }
+
+    /**
+     * The class a request is limited under, or null for endpoints outside the limiter
+     * (auth, health, actuator, errors).
+     */
+    public static EndpointClass classify(String method, String path) {
+        if (path.startsWith("/insights")) {
+            return EndpointClass.EXPENSIVE;
+        }
+        if (!LIMITED.matcher(path).matches()) {
+            return null;
+        }
+        return "GET".equals(method) && SINGLE_RESOURCE.matcher(path).matches()
+                ? EndpointClass.CHEAP
+                : EndpointClass.STANDARD;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled || classify(request.getMethod(), pathOf(request)) == null;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Partition partition = partitions.get(classify(request.getMethod(), pathOf(request)));
+        if (!tryAcquire(partition)) {
+            partition.rejected.increment();
+            reject(response);
+            return;
+        }
+
+        long started = System.nanoTime();
+        boolean dropped = true;
+        try {
+            filterChain.doFilter(request, response);
+            dropped = response.getStatus() >= 500;
+        } finally {
+            int inFlight = partition.inFlight.getAndDecrement();
+            int before = partition.limit.getLimit();
+            int after = partition.limit.onSample(System.nanoTime() - started, inFlight, dropped);
+            if (after != before && log.isDebugEnabled()) {
+                log.debug("Concurrency limit {} {} -> {}", partition.endpointClass, before, after);
+            }
+        }
+    }
+
+    private boolean tryAcquire(Partition partition) {
+        int cap = partition.limit.getLimit();
+        for (EndpointClass higher : EndpointClass.values()) {
+            if (higher == partition.endpointClass) break;
+            if (partitions.get(higher).saturated()) {
+                cap = Math.max(1, cap / 2);
+                break;
+            }
+        }
+        while (true) {
+            int current = partition.inFlight.get();
+            if (current >= cap) {
+                return false;
+            }
+            if (partition.inFlight.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private void reject(HttpServletResponse response) throws IOException {
+        response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(retryAfterSeconds));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.getWriter().write("{\"error\":\"Service Unavailable\",\"message\":\"Server is busy, retry later\"}");
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+}
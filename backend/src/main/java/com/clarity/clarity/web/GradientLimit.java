@@ -0,0 +1,73 @@
+package com.clarity.clarity.web;
+
+/**
+ * Adaptive concurrency limit from measured latency, after the gradient algorithm (Netflix
+ * concurrency-limits "Gradient2").
+ * <p>
+ * A slow exponential average of round-trip times is the baseline. Each sample compares it with
+ * the current RTT: {@code gradient = clamp(tolerance * longRtt / rtt, 0.5, 1)}. While latency
+ * stays within the tolerance the gradient is 1 and the limit grows by {@code sqrt(limit)}, the
+ * queue it allows for. When latency rises the gradient drops below 1 and the limit shrinks
+ * towards what the backend can serve without queueing. Changes are smoothed. A dropped request
+ * (5xx, exception) backs the limit off by 10%.
+ * <p>
+ * Samples taken while less than half the limit was in use say nothing about capacity and are
+ * ignored, so an idle service does not inflate its limit.
+ */
+public class GradientLimit {
+
+    private static final double BACKOFF_RATIO = 0.9;
+    private static final int LONG_WINDOW = 600;
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+
+    private double limit;
+    private double longRttNanos;
+
+    public GradientLimit(int initialLimit, int minLimit, int maxLimit, double smoothing, double tolerance) {
+        if (minLimit <= 0 || maxLimit < minLimit || initialLimit < minLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException("Concurrency limits must satisfy 0 < min <= initial <= max");
+        }
+        if (smoothing <= 0 || smoothing > 1 || tolerance < 1) {
+            throw new IllegalArgumentException("Concurrency limit smoothing must be in (0, 1] and tolerance >= 1");
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.limit = initialLimit;
+    }
+
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * Feeds one completed request and returns the new limit.
+     *
+     * @param inFlight requests in flight when this one completed, itself included
+     */
+    public synchronized int onSample(long rttNanos, int inFlight, boolean dropped) {
+        if (dropped) {
+            limit = Math.max(minLimit, limit * BACKOFF_RATIO);
+            return (int) limit;
+        }
+        long rtt = Math.max(1, rttNanos);
+        longRttNanos = longRttNanos == 0 ? rtt : longRttNanos + (rtt - longRttNanos) * 2.0 / (LONG_WINDOW + 1);
+        // Latency recovered well below the baseline: let the baseline follow faster
+        if (longRttNanos / rtt > 2) {
+            longRttNanos *= 0.95;
+        }
+        if (inFlight < limit / 2) {
+            return (int) limit;
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, tolerance * longRttNanos / rtt));
+        double target = limit * gradient + Math.sqrt(limit);
+        limit = Math.max(minLimit, Math.min(maxLimit, limit * (1 - smoothing) + target * smoothing));
+        return (int) limit;
+    }
+}
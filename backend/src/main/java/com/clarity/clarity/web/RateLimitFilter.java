@@ -0,0 +1,124 @@
+package com.clarity.clarity.web;
+
+import com.clarity.clarity.security.AuthenticatedUser;
+import io.micrometer.core.instrument.Metrics;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-user, per-route token buckets for authenticated requests, keyed by user id and route name.
+ * Runs right after {@code JwtAuthenticationFilter}; anonymous requests are not limited here.
+ * <p>
+ * Routes: clarity.rate-limit.routes.&lt;name&gt;.{method, path, capacity, refill-per-minute}, path
+ * as an Ant pattern, method optional. The most specific match wins: routes with a method before
+ * those without, then longer patterns first. Anything else uses clarity.rate-limit.default.*.
+ * <p>
+ * Responses carry RateLimit-Limit, RateLimit-Remaining and RateLimit-Reset (seconds until the
+ * bucket is full). An empty bucket answers 429 with Retry-After. Rejections are counted in
+ * clarity.ratelimit.rejected, tagged by route.
+ */
+@Slf4j
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+
+    public record RouteLimit(String method, String path, long capacity, double refillPerMinute) {
+    }
+
+    private record Route(String name, String method, String path, RateLimitStore.Bandwidth bandwidth) {
+    }
+
+    private static final AntPathMatcher PATHS = new AntPathMatcher();
+
+    private final RateLimitStore store;
+    private final boolean enabled;
+    private final List<Route> routes = new ArrayList<>();
+    private final Route defaultRoute;
+
+    public RateLimitFilter(RateLimitStore store,
+                           Environment environment,
+                           @Value("${clarity.rate-limit.enabled:true}") boolean enabled,
+                           @Value("${clarity.rate-limit.default.capacity:120}") long defaultCapacity,
+                           @Value("${clarity.rate-limit.default.refill-per-minute:120}") double defaultRefillPerMinute) {
+        this.store = store;
+        this.enabled = enabled;
+        this.defaultRoute = new Route("default", null, "/**", bandwidth(defaultCapacity, defaultRefillPerMinute));
+
+        Map<String, RouteLimit> configured = Binder.get(environment)
+                .bind("clarity.rate-limit.routes", Bindable.mapOf(String.class, RouteLimit.class))
+                .orElse(Map.of());
+        configured.forEach((name, limit) -> {
+            if (limit.path() == null) {
+                throw new IllegalArgumentException("clarity.rate-limit.routes." + name + ".path is required");
+            }
+            routes.add(new Route(name, limit.method(), limit.path(), bandwidth(limit.capacity(), limit.refillPerMinute())));
+        });
+        routes.sort(Comparator.comparing((Route r) -> r.method() == null)
+                .thenComparing(r -> -r.path().length()));
+        log.info("Rate limits: {} route(s) + default {}", routes.size(), defaultRoute.bandwidth());
+    }
+
+    private static RateLimitStore.Bandwidth bandwidth(long capacity, double refillPerMinute) {
+        return new RateLimitStore.Bandwidth(capacity, refillPerMinute / 60.0);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !enabled;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || !(authentication.getPrincipal() instanceof AuthenticatedUser user)) {
+            filterChain.doFilter(request, response);
+            return;
+        }
+
+        Route route = match(request.getMethod(), request.getRequestURI().substring(request.getContextPath().length()));
+        RateLimitStore.Decision decision = store.tryConsume(user.getId() + ":" + route.name(), route.bandwidth(), System.nanoTime());
+
+        response.setHeader("RateLimit-Limit", Long.toString(route.bandwidth().capacity()));
+        response.setHeader("RateLimit-Remaining", Long.toString(decision.remaining()));
+        response.setHeader("RateLimit-Reset", Long.toString(decision.resetSeconds()));
+        if (!decision.allowed()) {
+            Metrics.counter("clarity.ratelimit.rejected", "route", route.name()).increment();
+            response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+            response.setHeader(HttpHeaders.RETRY_AFTER, Long.toString(decision.retryAfterSeconds()));
+            response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+            response.getWriter().write("{\"error\":\"Too Many Requests\",\"message\":\"Rate limit exceeded, retry later\"}");
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private Route match(String method, String path) {
+        for (Route route : routes) {
+            if ((route.method() == null || route.method().equalsIgnoreCase(method)) && PATHS.match(route.path(), path)) {
+                return route;
+            }
+        }
+        return defaultRoute;
+    }
+}
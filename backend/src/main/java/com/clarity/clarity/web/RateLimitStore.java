@@ -0,0 +1,34 @@
+package com.clarity.clarity.web;
+
+/**
+ * Where token buckets live. The in-memory {@link CaffeineRateLimitStore} limits per replica; a
+ * shared implementation (e.g. Redis with a server-side script) can replace it for cluster-wide
+ * limits without touching {@link RateLimitFilter}.
+ */
+public interface RateLimitStore {
+
+    /**
+     * A bucket of {@code capacity} tokens, refilled continuously at {@code refillPerSecond}.
+     */
+    record Bandwidth(long capacity, double refillPerSecond) {
+
+        public Bandwidth {
+            if (capacity <= 0 || refillPerSecond <= 0) {
+                throw new IllegalArgumentException("Rate limit capacity and refill rate must be positive");
+            }
+        }
+    }
+
+    /**
+     * @param remaining         whole tokens left after this request
+     * @param resetSeconds      until the bucket is full again
+     * @param retryAfterSeconds until the next token, 0 when allowed
+     */
+    record Decision(boolean allowed, long remaining, long resetSeconds, long retryAfterSeconds) {
+    }
+
+    /**
+     * Takes one token from the bucket under {@code key}, creating a full bucket on first use.
+     */
+    Decision tryConsume(String key, Bandwidth bandwidth, long nowNanos);
+}
@@ -0,0 +1,70 @@
+package db.migration;
+
+import com.clarity.clarity.recurrence.RecurrenceSeriesBackfill;
+import com.clarity.clarity.recurrence.RecurrenceSeriesBackfill.Assignment;
+import com.clarity.clarity.recurrence.RecurrenceSeriesBackfill.Row;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+
+/**
+ * Links existing recurring tasks into series by following each predecessor-to-successor chain
+ * (see {@link RecurrenceSeriesBackfill}), then builds the unique (series_id, occurrence_at) index.
+ * In Java because the successor's due date comes from the compiled recurrence rule.
+ */
+public class V24__backfill_task_recurrence_series extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        RecurrenceSeriesBackfill backfill = new RecurrenceSeriesBackfill();
+
+        try (Statement select = connection.createStatement();
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE tasks SET series_id = ?, occurrence_at = ? WHERE id = ?")) {
+            select.setFetchSize(BATCH_SIZE); // streamed: Flyway runs this inside a transaction
+            try (ResultSet rs = select.executeQuery("""
+                    SELECT id, user_id, goal_id, title, recurrence_type, recurrence_pattern, due_datetime
+                    FROM tasks
+                    WHERE recurrence_type <> 'NONE'
+                    ORDER BY id
+                    """)) {
+                int pending = 0;
+                while (rs.next()) {
+                    Timestamp due = rs.getTimestamp("due_datetime");
+                    Assignment assignment = backfill.add(new Row(
+                            rs.getLong("id"),
+                            rs.getObject("user_id", Long.class),
+                            rs.getObject("goal_id", Long.class),
+                            rs.getString("title"),
+                            rs.getString("recurrence_type"),
+                            rs.getString("recurrence_pattern"),
+                            due == null ? null : due.toLocalDateTime()));
+
+                    update.setLong(1, assignment.seriesId());
+                    update.setTimestamp(2, assignment.occurrenceAt() == null ? null : Timestamp.valueOf(assignment.occurrenceAt()));
+                    update.setLong(3, assignment.id());
+                    update.addBatch();
+                    if (++pending == BATCH_SIZE) {
+                        update.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    update.executeBatch();
+                }
+            }
+        }
+
+        try (Statement index = connection.createStatement()) {
+            index.execute("CREATE UNIQUE INDEX uq_tasks_series_occurrence ON tasks (series_id, occurrence_at)");
+        }
+    }
+}
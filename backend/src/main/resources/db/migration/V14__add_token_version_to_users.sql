@@ -0,0 +1,2 @@
+-- Bumped on password or role changes so that previously issued JWTs stop being accepted
+ALTER TABLE users ADD COLUMN token_version INT NOT NULL DEFAULT 0;
@@ -0,0 +1,8 @@
+-- Composite indexes backing keyset pagination of GET /tasks and GET /goals/{id}/tasks.
+-- Listings never return soft-deleted rows, so the indexes are partial on deleted = FALSE.
+CREATE INDEX idx_tasks_user_id_id ON tasks (user_id, id) WHERE deleted = FALSE;
+CREATE INDEX idx_tasks_user_due_id ON tasks (user_id, due_datetime, id) WHERE deleted = FALSE;
+CREATE INDEX idx_tasks_user_goal_id ON tasks (user_id, goal_id, id) WHERE deleted = FALSE;
+CREATE INDEX idx_tasks_user_goal_due_id ON tasks (user_id, goal_id, due_datetime, id) WHERE deleted = FALSE;
+CREATE INDEX idx_tasks_user_status_due_id ON tasks (user_id, status, due_datetime, id) WHERE deleted = FALSE;
+CREATE INDEX idx_tasks_user_review_id ON tasks (user_id, id) WHERE deleted = FALSE AND needs_review = TRUE;
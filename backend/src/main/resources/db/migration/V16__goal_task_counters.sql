@@ -0,0 +1,17 @@
+-- Live task counters per goal, maintained incrementally by GoalProgressService.
+-- "closed" means DONE or SKIPPED; soft-deleted tasks are not counted.
+ALTER TABLE goals ADD COLUMN open_task_count INT NOT NULL DEFAULT 0;
+ALTER TABLE goals ADD COLUMN closed_task_count INT NOT NULL DEFAULT 0;
+
+UPDATE goals g
+SET open_task_count   = c.open_count,
+    closed_task_count = c.closed_count
+FROM (
+    SELECT goal_id,
+           COUNT(*) FILTER (WHERE status NOT IN ('DONE', 'SKIPPED')) AS open_count,
+           COUNT(*) FILTER (WHERE status IN ('DONE', 'SKIPPED'))     AS closed_count
+    FROM tasks
+    WHERE deleted = FALSE
+    GROUP BY goal_id
+) c
+WHERE g.id = c.goal_id;
@@ -0,0 +1,6 @@
+-- Weekly insights aggregate over a created_at range instead of scanning a user's whole history.
+CREATE INDEX idx_tasks_user_created_at ON tasks (user_id, created_at) WHERE deleted = FALSE;
+
+-- Slippage count: only review events matter, the jsonb containment is checked on the (few) rows in range.
+CREATE INDEX idx_activity_logs_reviewed_user_created_at
+    ON task_activity_logs (user_id, created_at) WHERE action = 'TASK_REVIEWED';
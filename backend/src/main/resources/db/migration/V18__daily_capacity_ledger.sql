@@ -0,0 +1,17 @@
+-- Per-user, per-day planned minutes so time-block admission is one conditional UPDATE.
+CREATE TABLE daily_capacity_ledger (
+    user_id BIGINT NOT NULL,
+    plan_date DATE NOT NULL,
+    planned_minutes BIGINT NOT NULL DEFAULT 0,
+    CONSTRAINT pk_daily_capacity_ledger PRIMARY KEY (user_id, plan_date),
+    CONSTRAINT fk_capacity_user FOREIGN KEY (user_id) REFERENCES users(id),
+    CONSTRAINT chk_capacity_non_negative CHECK (planned_minutes >= 0)
+);
+
+-- Backfill from existing blocks (a block counts on the day it starts)
+INSERT INTO daily_capacity_ledger (user_id, plan_date, planned_minutes)
+SELECT b.user_id,
+       CAST(b.start_time AS DATE),
+       SUM(FLOOR(EXTRACT(EPOCH FROM (b.end_time - b.start_time)) / 60))
+FROM time_blocks b
+GROUP BY b.user_id, CAST(b.start_time AS DATE);
@@ -0,0 +1,7 @@
+-- Lease-based claiming so several backend replicas share reminder dispatch instead of duplicating it.
+-- A claim expires after the lease; a crashed node's reminders then become claimable again.
+ALTER TABLE reminders ADD COLUMN claimed_by VARCHAR(100);
+ALTER TABLE reminders ADD COLUMN claim_expires_at TIMESTAMP;
+
+-- Only PENDING rows are ever scanned by dispatch / reconciliation
+CREATE INDEX idx_reminders_pending_remind_at ON reminders (remind_at) WHERE status = 'PENDING';
@@ -0,0 +1,16 @@
+-- Per-partition progress of chunked batch jobs, so an interrupted run resumes where it stopped.
+CREATE TABLE job_checkpoints (
+    job_name VARCHAR(100) NOT NULL,
+    run_key VARCHAR(50) NOT NULL,
+    partition_no INT NOT NULL,
+    cutoff TIMESTAMP NOT NULL,
+    last_id BIGINT NOT NULL DEFAULT 0,
+    processed BIGINT NOT NULL DEFAULT 0,
+    completed BOOLEAN NOT NULL DEFAULT FALSE,
+    updated_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP,
+    CONSTRAINT pk_job_checkpoints PRIMARY KEY (job_name, run_key, partition_no)
+);
+
+-- Overdue scans walk live, unflagged, active tasks by due date
+CREATE INDEX idx_tasks_overdue_scan ON tasks (due_datetime, id)
+    WHERE deleted = FALSE AND needs_review = FALSE AND status IN ('READY', 'IN_PROGRESS');
@@ -0,0 +1,7 @@
+-- Cluster-wide locks for @Scheduled jobs: one row per job, held until lock_until (lease + heartbeat).
+CREATE TABLE scheduler_locks (
+    name VARCHAR(100) PRIMARY KEY,
+    locked_by VARCHAR(100) NOT NULL,
+    locked_at TIMESTAMP NOT NULL,
+    lock_until TIMESTAMP NOT NULL
+);
@@ -0,0 +1,12 @@
+-- Overdue review runs at each user's local midnight, spread by a per-user offset,
+-- instead of for everyone at server midnight.
+ALTER TABLE users ADD COLUMN time_zone VARCHAR(64) NOT NULL DEFAULT 'UTC';
+
+-- UTC instant of the user's next review. Existing users start at the next UTC midnight, spread
+-- over an hour; after their first review the application schedules their real local midnight.
+ALTER TABLE users ADD COLUMN next_review_at TIMESTAMP;
+UPDATE users
+SET next_review_at = date_trunc('day', timezone('UTC', now())) + INTERVAL '1 day' + (id % 3600) * INTERVAL '1 second';
+ALTER TABLE users ALTER COLUMN next_review_at SET NOT NULL;
+
+CREATE INDEX idx_users_next_review_at ON users (next_review_at);
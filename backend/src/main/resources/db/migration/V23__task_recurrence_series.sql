@@ -0,0 +1,5 @@
+-- Recurring instances belong to a series (the id of its first task) and an occurrence instant.
+-- The unique pair makes instance generation idempotent: INSERT ... ON CONFLICT DO NOTHING.
+-- Existing rows are linked into series, and the pair made unique, by V24 (a Java migration).
+ALTER TABLE tasks ADD COLUMN series_id BIGINT;
+ALTER TABLE tasks ADD COLUMN occurrence_at TIMESTAMP;
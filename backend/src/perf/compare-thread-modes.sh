@@ -0,0 +1,74 @@
+#!/usr/bin/env bash
+# Runs the same load-test scenario against the backend in platform-thread and in virtual-thread mode
+# and prints the two summaries side by side. Needs the database up (docker-compose) and DB_USERNAME,
+# DB_PASS and JWT_SECRET_KEY exported, as for a normal local start.
+#
+#   src/perf/compare-thread-modes.sh [scenario] [extra LoadTest args...]
+#   src/perf/compare-thread-modes.sh dashboard --users=1000 --duration=PT5M
+#
+# Results: src/perf/results/load-<scenario>-platform.csv, load-<scenario>-virtual.csv and
+# load-<scenario>-summary.txt (environment header + side-by-side table); commit all three
+# (see src/perf/results/README.md). POOL_SIZE sets the Hikari pool for both runs (default 10).
+set -euo pipefail
+cd "$(dirname "$0")/../.."
+
+SCENARIO="${1:-dashboard}"
+shift || true
+EXTRA_ARGS="$*"
+PORT="${PORT:-8080}"
+POOL_SIZE="${POOL_SIZE:-10}"
+RESULTS="src/perf/results"
+mkdir -p "$RESULTS"
+
+./mvnw -q -DskipTests package
+JAR="$(ls target/clarity-*.jar | grep -v original | head -n 1)"
+
+run_mode() {
+  local mode="$1" virtual="$2"
+  echo "=== ${mode} threads ==="
+  java -jar "$JAR" --server.port="$PORT" --spring.threads.virtual.enabled="$virtual" \
+       --spring.datasource.hikari.maximum-pool-size="$POOL_SIZE" \
+       --spring.jpa.show-sql=false > "target/app-${mode}.log" 2>&1 &
+  local app=$!
+  trap 'kill $app 2>/dev/null || true' EXIT
+
+  for _ in $(seq 1 120); do
+    curl -sf "http://localhost:${PORT}/api/actuator/health" > /dev/null && break
+    sleep 1
+  done
+
+  ./mvnw -q -Pperf -DskipTests test-compile exec:exec \
+      -Dperf.main=com.clarity.clarity.load.LoadTest \
+      -Dperf.args="--scenario=${SCENARIO} --base-url=http://localhost:${PORT}/api --out=${RESULTS}/load-${SCENARIO}-${mode}.csv ${EXTRA_ARGS}"
+
+  kill "$app"
+  wait "$app" 2>/dev/null || true
+  trap - EXIT
+}
+
+run_mode platform false
+run_mode virtual true
+
+SUMMARY="${RESULTS}/load-${SCENARIO}-summary.txt"
+{
+  echo "scenario:    ${SCENARIO} ${EXTRA_ARGS}"
+  echo "date:        $(date -u +%Y-%m-%dT%H:%M:%SZ)"
+  echo "commit:      $(git rev-parse --short HEAD 2>/dev/null || echo unknown)"
+  echo "cpu:         $(grep -m1 'model name' /proc/cpuinfo 2>/dev/null | cut -d: -f2- | xargs || uname -m) x $(getconf _NPROCESSORS_ONLN)"
+  echo "memory:      $(awk '/MemTotal/ {printf "%.1f GiB", $2 / 1048576}' /proc/meminfo 2>/dev/null || echo unknown)"
+  echo "java:        $(java -version 2>&1 | head -n 1)"
+  echo "postgres:    $(psql -XAtc 'SHOW server_version' 2>/dev/null || echo 'unknown (set PG* env vars for psql)')"
+  echo "pool size:   ${POOL_SIZE}"
+  echo
+} > "$SUMMARY"
+
+# operation, then req/s / p50 / p99 / p99.9 for platform vs virtual
+echo
+awk -F, '
+  FNR == 1 { next }
+  FNR == NR { tput[$2] = $4; p50[$2] = $9; p99[$2] = $11; p999[$2] = $12; next }
+  {
+    if (!header++) printf "%-16s %21s %21s %21s %21s\n", "operation", "req/s plat|virt", "p50 ms plat|virt", "p99 ms plat|virt", "p99.9 ms plat|virt"
+    printf "%-16s %10s|%-10s %10s|%-10s %10s|%-10s %10s|%-10s\n", $2, tput[$2], $4, p50[$2], $9, p99[$2], $11, p999[$2], $12
+  }' "${RESULTS}/load-${SCENARIO}-platform.csv" "${RESULTS}/load-${SCENARIO}-virtual.csv" \
+  | tee -a "$SUMMARY"
@@ -0,0 +1,62 @@
+package com.clarity.clarity.benchmark;
+
+import com.clarity.clarity.domain.TaskReviewDecision;
+import com.clarity.clarity.domain.TaskStatus;
+import com.clarity.clarity.service.TaskActivityLogService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Activity-log metadata serialization, which runs on the caller's thread for every log call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ActivityLogBenchmark {
+
+    private ObjectMapper objectMapper;
+    private TaskActivityLogService activityLogService;
+
+    private final Map<String, Object> empty = Collections.emptyMap();
+    private final Map<String, Object> review = Map.of(
+            "decision", TaskReviewDecision.ACCEPT_DELAY,
+            "oldStatus", TaskStatus.IN_PROGRESS,
+            "newStatus", TaskStatus.READY);
+    private final Map<String, Object> reminder = Map.of("remindAt", LocalDateTime.of(2026, 3, 5, 9, 30));
+
+    @Setup
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        // entry() only needs the mapper; repository, appender and security utils stay unused
+        activityLogService = new TaskActivityLogService(null, null, objectMapper, null);
+    }
+
+    @Benchmark
+    public String serializeEmpty() throws Exception {
+        return objectMapper.writeValueAsString(empty);
+    }
+
+    @Benchmark
+    public String serializeReview() throws Exception {
+        return objectMapper.writeValueAsString(review);
+    }
+
+    @Benchmark
+    public String serializeReminder() throws Exception {
+        return objectMapper.writeValueAsString(reminder);
+    }
+
+    @Benchmark
+    public Object buildEntry() {
+        return activityLogService.entry(1L, 42L, "TASK_REVIEWED", "USER", review);
+    }
+}
@@ -0,0 +1,134 @@
+package com.clarity.clarity.benchmark;
+
+import com.clarity.clarity.cache.LocalInvalidationBus;
+import com.clarity.clarity.cache.ReadModelCache;
+import com.clarity.clarity.domain.TaskStatus;
+import com.clarity.clarity.dto.response.PlanningInsightsResponse;
+import com.clarity.clarity.entity.Task;
+import com.clarity.clarity.entity.TaskActivityLog;
+import com.clarity.clarity.repository.TaskActivityLogRepository;
+import com.clarity.clarity.repository.TaskRepository;
+import com.clarity.clarity.repository.WeeklyTaskStats;
+import com.clarity.clarity.service.PlanningInsightsService;
+import com.clarity.clarity.service.SingleFlight;
+import com.clarity.clarity.util.SecurityUtils;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Weekly insights over a synthetic history: the original in-memory aggregation (every task and
+ * log row of the user streamed through Java) versus the service on top of the SQL aggregates,
+ * with the repositories stubbed so only the application side is measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class InsightsBenchmark {
+
+    @Param({"1000", "50000"})
+    public int historySize;
+
+    private List<Task> history;
+    private List<TaskActivityLog> logs;
+    private PlanningInsightsService service;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(8);
+        LocalDateTime now = LocalDateTime.now();
+        TaskStatus[] statuses = TaskStatus.values();
+
+        history = new ArrayList<>(historySize);
+        logs = new ArrayList<>(historySize / 4);
+        for (int i = 0; i < historySize; i++) {
+            Task task = new Task();
+            task.setId((long) i + 1);
+            task.setUserId(42L);
+            task.setStatus(statuses[random.nextInt(statuses.length)]);
+            // Two years of history, so only a small share falls in the last week
+            task.setCreatedAt(now.minusMinutes(random.nextInt(60 * 24 * 730)));
+            task.setEstimatedMinutes(15 + random.nextInt(120));
+            task.setActualMinutes(random.nextBoolean() ? 15 + random.nextInt(120) : null);
+            history.add(task);
+
+            if (i % 4 == 0) {
+                TaskActivityLog log = new TaskActivityLog();
+                log.setTaskId(task.getId());
+                log.setUserId(42L);
+                log.setAction("TASK_REVIEWED");
+                log.setPerformedBy("USER");
+                log.setMetadata(random.nextInt(3) == 0
+                        ? "{\"decision\":\"ACCEPT_DELAY\",\"oldStatus\":\"IN_PROGRESS\",\"newStatus\":\"READY\"}"
+                        : "{\"decision\":\"RESUME\",\"oldStatus\":\"IN_PROGRESS\",\"newStatus\":\"IN_PROGRESS\"}");
+                log.setCreatedAt(task.getCreatedAt().plusDays(1));
+                logs.add(log);
+            }
+        }
+
+        LocalDateTime weekAgo = now.minusDays(7);
+        List<Task> week = history.stream().filter(t -> t.getCreatedAt().isAfter(weekAgo)).toList();
+        WeeklyTaskStats stats = new WeeklyTaskStats(
+                (long) week.size(),
+                week.stream().filter(t -> t.getStatus() == TaskStatus.DONE).count(),
+                week.stream().filter(t -> t.getActualMinutes() != null)
+                        .mapToLong(t -> t.getActualMinutes() - t.getEstimatedMinutes()).average().orElse(0));
+
+        TaskRepository taskRepository = Mockito.mock(TaskRepository.class);
+        Mockito.when(taskRepository.aggregateCreatedBetween(ArgumentMatchers.anyLong(), ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(stats);
+        TaskActivityLogRepository logRepository = Mockito.mock(TaskActivityLogRepository.class);
+        Mockito.when(logRepository.countDelayedTasksReviewedBetween(ArgumentMatchers.anyLong(), ArgumentMatchers.any(), ArgumentMatchers.any()))
+                .thenReturn(week.size() / 10L);
+        SecurityUtils securityUtils = Mockito.mock(SecurityUtils.class);
+        Mockito.when(securityUtils.getCurrentUserId()).thenReturn(42L);
+
+        // Cache disabled: every call computes, which is what this benchmark measures
+        ReadModelCache readModels = new ReadModelCache(new SingleFlight(Mockito.mock(PlatformTransactionManager.class)),
+                new LocalInvalidationBus(), false, 1, 1);
+        service = new PlanningInsightsService(taskRepository, logRepository, securityUtils, readModels);
+    }
+
+    // The pre-aggregation PlanningInsightsService body, minus the repository calls
+    @Benchmark
+    public int[] inMemoryAggregation() {
+        LocalDateTime sevenDaysAgo = LocalDateTime.now().minusDays(7);
+        List<Task> recentTasks = history.stream()
+                .filter(t -> t.getCreatedAt().isAfter(sevenDaysAgo))
+                .toList();
+        List<TaskActivityLog> recentLogs = logs.stream()
+                .filter(l -> l.getCreatedAt().isAfter(sevenDaysAgo))
+                .toList();
+
+        int total = recentTasks.size();
+        int completed = (int) recentTasks.stream().filter(t -> "DONE".equals(t.getStatus().name())).count();
+        Set<Long> slipped = recentLogs.stream()
+                .filter(l -> "TASK_REVIEWED".equals(l.getAction()))
+                .filter(l -> l.getMetadata().contains("ACCEPT_DELAY"))
+                .map(TaskActivityLog::getTaskId)
+                .collect(Collectors.toSet());
+        double avgError = recentTasks.stream()
+                .filter(t -> t.getActualMinutes() != null && t.getEstimatedMinutes() != null)
+                .mapToLong(t -> t.getActualMinutes() - t.getEstimatedMinutes())
+                .average()
+                .orElse(0.0);
+        return new int[]{total, completed, slipped.size(), (int) avgError};
+    }
+
+    @Benchmark
+    public PlanningInsightsResponse aggregateService() {
+        return service.getWeeklyInsights();
+    }
+}
@@ -0,0 +1,100 @@
+package com.clarity.clarity.benchmark;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Diffs two JMH JSON result files (e.g. jmh-result-0.0.1.json from the last release against the
+ * current run) benchmark by benchmark and parameter set.
+ * <p>
+ * A change counts as a regression or an improvement only when it exceeds the threshold
+ * (default 10%) and the two scores are further apart than their combined error margins.
+ * Exits with status 1 if anything regressed, so it can gate a release.
+ * <pre>
+ * ./mvnw -Pperf -DskipTests test-compile exec:exec \
+ *     -Dperf.main=com.clarity.clarity.benchmark.JmhResultComparator \
+ *     -Dperf.args="baseline.json target/jmh-result-0.0.2-SNAPSHOT.json 10"
+ * </pre>
+ */
+public final class JmhResultComparator {
+
+    private record Score(double score, double error, String unit, String mode) {
+    }
+
+    private JmhResultComparator() {
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("Usage: JmhResultComparator <baseline.json> <current.json> [threshold-percent]");
+            System.exit(2);
+        }
+        Map<String, Score> baseline = read(new File(args[0]));
+        Map<String, Score> current = read(new File(args[1]));
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 10.0;
+
+        int regressions = 0;
+        System.out.printf("%-90s %14s %14s %9s  %s%n", "benchmark", "baseline", "current", "change", "verdict");
+        for (Map.Entry<String, Score> entry : current.entrySet()) {
+            Score now = entry.getValue();
+            Score before = baseline.get(entry.getKey());
+            if (before == null) {
+                System.out.printf("%-90s %14s %14.3f %9s  new%n", entry.getKey(), "-", now.score(), "");
+                continue;
+            }
+            double change = (now.score() - before.score()) / before.score() * 100;
+            // Throughput-style modes: higher is better; time-style modes: lower is better
+            boolean higherIsBetter = "thrpt".equals(now.mode());
+            double worse = higherIsBetter ? -change : change;
+            boolean significant = Math.abs(now.score() - before.score()) > now.error() + before.error();
+
+            String verdict = "same";
+            if (significant && worse > threshold) {
+                verdict = "REGRESSION";
+                regressions++;
+            } else if (significant && -worse > threshold) {
+                verdict = "improved";
+            }
+            System.out.printf("%-90s %14.3f %14.3f %+8.1f%%  %s (%s)%n",
+                    entry.getKey(), before.score(), now.score(), change, verdict, now.unit());
+        }
+        for (String removed : baseline.keySet()) {
+            if (!current.containsKey(removed)) {
+                System.out.printf("%-90s %14.3f %14s %9s  removed%n", removed, baseline.get(removed).score(), "-", "");
+            }
+        }
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    private static Map<String, Score> read(File file) throws IOException {
+        Map<String, Score> scores = new LinkedHashMap<>();
+        for (JsonNode run : new ObjectMapper().readTree(file)) {
+            JsonNode metric = run.path("primaryMetric");
+            double error = metric.path("scoreError").asDouble(0);
+            scores.put(key(run), new Score(
+                    metric.path("score").asDouble(),
+                    Double.isNaN(error) ? 0 : error,
+                    metric.path("scoreUnit").asText(),
+                    run.path("mode").asText()));
+        }
+        return scores;
+    }
+
+    // benchmark method plus its sorted @Param values, e.g. "...TaskResponseBenchmark.mapToResponses [size=500]"
+    private static String key(JsonNode run) {
+        Map<String, String> params = new TreeMap<>();
+        Iterator<Map.Entry<String, JsonNode>> fields = run.path("params").fields();
+        while (fields.hasNext()) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            params.put(field.getKey(), field.getValue().asText());
+        }
+        return params.isEmpty() ? run.path("benchmark").asText() : run.path("benchmark").asText() + " " + params;
+    }
+}
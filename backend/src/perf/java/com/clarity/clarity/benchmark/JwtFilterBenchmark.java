@@ -0,0 +1,83 @@
+package com.clarity.clarity.benchmark;
+
+import com.clarity.clarity.entity.User;
+import com.clarity.clarity.repository.UserRepository;
+import com.clarity.clarity.security.AuthenticatedUser;
+import com.clarity.clarity.security.JwtAuthenticationFilter;
+import com.clarity.clarity.security.JwtService;
+import com.clarity.clarity.service.CustomUserDetailsService;
+import jakarta.servlet.FilterChain;
+import org.mockito.Mockito;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of authenticating one request: the full JwtAuthenticationFilter pass with a warm
+ * verified-token cache versus a raw parse + HMAC verification of the same token; plus issuing
+ * a token at login.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JwtFilterBenchmark {
+
+    static final String SECRET = "nIx0CHEcYkdffvXTWy/DtZKAmsX1UuquOcju0/u3TVc=";
+
+    private JwtService jwtService;
+    private JwtAuthenticationFilter filter;
+    private AuthenticatedUser principal;
+    private String token;
+    private final FilterChain noopChain = (request, response) -> { };
+
+    @Setup
+    public void setUp() {
+        User user = new User();
+        user.setId(42L);
+        user.setEmail("bench@clarity.dev");
+        user.setPassword("{noop}unused");
+        user.setFullName("Bench User");
+        user.setRole("USER");
+
+        UserRepository userRepository = Mockito.mock(UserRepository.class);
+        Mockito.when(userRepository.findByEmail(user.getEmail())).thenReturn(Optional.of(user));
+
+        jwtService = new JwtService(SECRET, 10_000);
+        filter = new JwtAuthenticationFilter(jwtService, new CustomUserDetailsService(userRepository, 10_000, 600));
+        principal = AuthenticatedUser.from(user);
+        token = jwtService.generateToken(principal);
+    }
+
+    @Benchmark
+    public void filterWithVerifiedCache(Blackhole bh) throws Exception {
+        // OncePerRequestFilter marks the request as filtered, so each call needs a fresh one
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/tasks");
+        request.addHeader("Authorization", "Bearer " + token);
+        filter.doFilter(request, new MockHttpServletResponse(), noopChain);
+        bh.consume(SecurityContextHolder.getContext().getAuthentication());
+        SecurityContextHolder.clearContext();
+    }
+
+    @Benchmark
+    public String generateToken() {
+        return jwtService.generateToken(principal);
+    }
+
+    @Benchmark
+    public Object parseAndVerifySignature() {
+        return jwtService.parseClaims(token);
+    }
+
+    @Benchmark
+    public Object verifyCached() {
+        return jwtService.verify(token);
+    }
+}
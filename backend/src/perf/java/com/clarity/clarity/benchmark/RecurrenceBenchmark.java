@@ -0,0 +1,74 @@
+package com.clarity.clarity.benchmark;
+
+import com.clarity.clarity.domain.RecurrenceType;
+import com.clarity.clarity.recurrence.RecurrenceRule;
+import com.clarity.clarity.recurrence.RecurrenceRules;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Next-occurrence cost on task completion (legacy re-parse per call versus a cached compiled
+ * rule) and window enumeration as used by the materializer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RecurrenceBenchmark {
+
+    static final String LEGACY_PATTERN = "MONDAY,WEDNESDAY,FRIDAY";
+    static final String RULE_PATTERN = "INTERVAL=2;BYDAY=MO,WE,FR";
+
+    private RecurrenceRules rules;
+    private RecurrenceRule weekly;
+    private LocalDateTime current;
+    private LocalDateTime anchor;
+
+    @Setup
+    public void setUp() {
+        rules = new RecurrenceRules(1000);
+        weekly = rules.get(RecurrenceType.WEEKLY, RULE_PATTERN);
+        current = LocalDateTime.of(2026, 3, 5, 9, 0);
+        anchor = current.minusYears(3);
+    }
+
+    // The pre-compilation TaskService.findNextDayInPattern, kept here as the baseline
+    @Benchmark
+    public LocalDateTime legacyParsePerCall() {
+        Set<DayOfWeek> activeDays = Arrays.stream(LEGACY_PATTERN.split(","))
+                .map(String::trim).map(String::toUpperCase).map(DayOfWeek::valueOf)
+                .collect(Collectors.toSet());
+
+        LocalDateTime next = current;
+        for (int i = 1; i <= 7; i++) {
+            next = next.plusDays(1);
+            if (activeDays.contains(next.getDayOfWeek())) return next;
+        }
+        return current.plusDays(1);
+    }
+
+    @Benchmark
+    public Object cachedRuleNext() {
+        return rules.get(RecurrenceType.DAILY, LEGACY_PATTERN).nextAfter(current);
+    }
+
+    // 14-day window of a series anchored three years back (jumps straight to the window)
+    @Benchmark
+    public List<LocalDateTime> enumerateHorizon() {
+        return weekly.occurrences(anchor, current, current.plusDays(14));
+    }
+
+    @Benchmark
+    public List<LocalDateTime> enumerateYear() {
+        return weekly.occurrences(current, current, current.plusYears(1));
+    }
+}
@@ -0,0 +1,89 @@
+package com.clarity.clarity.benchmark;
+
+import com.clarity.clarity.domain.GoalPriority;
+import com.clarity.clarity.domain.GoalStatus;
+import com.clarity.clarity.domain.RecurrenceType;
+import com.clarity.clarity.domain.TaskStatus;
+import com.clarity.clarity.dto.response.TaskResponse;
+import com.clarity.clarity.entity.Goal;
+import com.clarity.clarity.entity.Task;
+import com.clarity.clarity.service.TaskService;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Building a task listing response: entity to DTO mapping and Jackson serialization of the
+ * list, with the ObjectMapper configured the way Spring MVC builds it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TaskResponseBenchmark {
+
+    // DEFAULT_PAGE_SIZE and MAX_PAGE_SIZE of the listing endpoints
+    @Param({"100", "500"})
+    public int size;
+
+    private TaskService taskService;
+    private ObjectMapper objectMapper;
+    private List<Task> tasks;
+    private List<TaskResponse> responses;
+
+    @Setup
+    public void setUp() {
+        // mapToResponse only reads the entity; none of the collaborators are touched
+        taskService = new TaskService(null, null, null, null, null, null, null, null, null, null);
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        Goal goal = new Goal();
+        goal.setId(7L);
+        goal.setTitle("Ship the release");
+        goal.setPriority(GoalPriority.P1);
+        goal.setStatus(GoalStatus.ACTIVE);
+        goal.setUserId(42L);
+
+        Random random = new Random(18);
+        LocalDateTime base = LocalDateTime.of(2026, 3, 1, 9, 0);
+        tasks = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Task task = new Task();
+            task.setId((long) i + 1);
+            task.setTitle("Task " + i + " - write the weekly summary");
+            task.setGoal(goal);
+            task.setUserId(42L);
+            task.setStatus(TaskStatus.values()[random.nextInt(TaskStatus.values().length)]);
+            task.setDueDatetime(base.plusMinutes(random.nextInt(60 * 24 * 30)));
+            task.setEstimatedMinutes(15 + random.nextInt(120));
+            task.setActualMinutes(random.nextBoolean() ? 15 + random.nextInt(120) : null);
+            task.setRecurrenceType(i % 5 == 0 ? RecurrenceType.DAILY : RecurrenceType.NONE);
+            task.setRecurrencePattern(i % 5 == 0 ? "MONDAY,WEDNESDAY,FRIDAY" : null);
+            tasks.add(task);
+        }
+        responses = mapToResponses();
+    }
+
+    @Benchmark
+    public List<TaskResponse> mapToResponses() {
+        return tasks.stream().map(taskService::mapToResponse).toList();
+    }
+
+    @Benchmark
+    public byte[] serializeResponses() throws Exception {
+        return objectMapper.writeValueAsBytes(responses);
+    }
+
+    @Benchmark
+    public byte[] mapAndSerialize() throws Exception {
+        return objectMapper.writeValueAsBytes(mapToResponses());
+    }
+}
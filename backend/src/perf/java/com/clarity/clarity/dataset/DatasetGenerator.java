@@ -0,0 +1,519 @@
+package com.clarity.clarity.dataset;
+
+import com.clarity.clarity.domain.RecurrenceType;
+import com.clarity.clarity.recurrence.RecurrenceRule;
+import com.clarity.clarity.service.UserReviewService;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Populates a Flyway-migrated PostgreSQL database with a production-sized synthetic dataset:
+ * users, goals, tasks (including recurring series), time blocks, reminders and activity logs,
+ * streamed in with COPY.
+ * <p>
+ * Output is a pure function of {@code --users}, {@code --tasks} and {@code --seed}: every user
+ * gets its own RNG derived from the seed and pre-assigned id ranges, so the worker count does
+ * not change the data. Timestamps are relative to the moment of generation. Generated users log
+ * in as {@code user<n>@load.clarity.dev} / {@code password}. Rows are appended after the existing
+ * ids unless {@code --truncate} wipes the application tables first.
+ * <p>
+ * Afterwards goal counters and the daily capacity ledger are recomputed for the new rows, the
+ * id sequences are moved past them and the tables are ANALYZEd, so query plans match what a
+ * real database of that size would use.
+ * <pre>
+ * ./mvnw -Pperf -DskipTests test-compile exec:exec \
+ *     -Dperf.main=com.clarity.clarity.dataset.DatasetGenerator \
+ *     -Dperf.args="--users=10000 --tasks=10000000 --seed=42 --threads=4"
+ * </pre>
+ * Connection: {@code --url} (default jdbc:postgresql://localhost:5432/clarity_db), {@code --db-user}
+ * and {@code --db-password} (default DB_USERNAME / DB_PASS). {@code --review-spread-minutes} should
+ * match the target's clarity.review.spread-minutes (default 60) so users get the same review slots.
+ */
+public final class DatasetGenerator {
+
+    private static final String[] ZONES = {
+            "UTC", "Europe/London", "Europe/Berlin", "America/New_York", "America/Los_Angeles",
+            "America/Sao_Paulo", "Asia/Kolkata", "Asia/Tokyo", "Australia/Sydney"};
+    private static final int[] ZONE_WEIGHTS = {10, 12, 18, 20, 12, 6, 12, 6, 4};
+
+    private static final String[] VERBS = {
+            "Write", "Review", "Plan", "Refactor", "Call", "Prepare", "Fix", "Read", "Draft", "Clean up", "Ship", "Test"};
+    private static final String[] NOUNS = {
+            "weekly report", "budget", "onboarding doc", "API client", "dentist appointment", "slides",
+            "flaky test", "reading list", "blog post", "garage", "release notes", "workout plan"};
+    private static final String[] GOALS = {
+            "Get fit", "Launch side project", "Learn Spanish", "Ship v2", "Home renovation",
+            "Read 24 books", "Career growth", "Financial plan"};
+
+    private record Options(String url, String dbUser, String dbPassword, int users, long tasks, long seed,
+                           int threads, int flushRows, boolean truncate, Duration reviewSpread) {
+
+        static Options parse(String[] args) {
+            Map<String, String> values = new HashMap<>();
+            for (String arg : args) {
+                if (!arg.startsWith("--")) {
+                    throw new IllegalArgumentException("Unexpected argument: " + arg);
+                }
+                int eq = arg.indexOf('=');
+                values.put(eq < 0 ? arg.substring(2) : arg.substring(2, eq), eq < 0 ? "true" : arg.substring(eq + 1));
+            }
+            Options options = new Options(
+                    values.getOrDefault("url", "jdbc:postgresql://localhost:5432/clarity_db"),
+                    values.getOrDefault("db-user", System.getenv().getOrDefault("DB_USERNAME", "clarity_user")),
+                    values.getOrDefault("db-password", System.getenv().getOrDefault("DB_PASS", "clarity_pass")),
+                    Integer.parseInt(values.getOrDefault("users", "1000")),
+                    Long.parseLong(values.getOrDefault("tasks", "100000")),
+                    Long.parseLong(values.getOrDefault("seed", "42")),
+                    Integer.parseInt(values.getOrDefault("threads", "4")),
+                    Integer.parseInt(values.getOrDefault("flush-rows", "50000")),
+                    Boolean.parseBoolean(values.getOrDefault("truncate", "false")),
+                    Duration.ofMinutes(Long.parseLong(values.getOrDefault("review-spread-minutes", "60"))));
+            if (options.users() <= 0 || options.tasks() < options.users() || options.threads() <= 0 || options.flushRows() <= 0
+                    || options.reviewSpread().isNegative()) {
+                throw new IllegalArgumentException("Need users > 0, tasks >= users, threads > 0, flush-rows > 0, review-spread-minutes >= 0");
+            }
+            return options;
+        }
+    }
+
+    // Per-user sizes and id ranges, fixed up front so workers never coordinate on ids
+    private record Plan(long userIdBase, long goalIdBase, long taskIdBase,
+                        int[] taskCounts, long[] taskOffsets, int[] goalCounts, long[] goalOffsets) {
+    }
+
+    private final Options options;
+    private final LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+    private final String passwordHash = new BCryptPasswordEncoder().encode("password");
+    private final AtomicLong rows = new AtomicLong();
+
+    private DatasetGenerator(Options options) {
+        this.options = options;
+    }
+
+    public static void main(String[] args) throws Exception {
+        new DatasetGenerator(Options.parse(args)).run();
+    }
+
+    private void run() throws Exception {
+        long started = System.currentTimeMillis();
+        Plan plan;
+        try (Connection connection = connect()) {
+            if (options.truncate()) {
+                execute(connection, """
+                        TRUNCATE users, goals, tasks, time_blocks, reminders, task_activity_logs,
+                                 daily_capacity_ledger, job_checkpoints RESTART IDENTITY CASCADE""");
+            }
+            plan = plan(connection);
+        }
+        System.out.printf("Generating %d users / %d tasks (seed %d) with %d worker(s)%n",
+                options.users(), options.tasks(), options.seed(), options.threads());
+
+        AtomicInteger nextUser = new AtomicInteger();
+        ExecutorService pool = Executors.newFixedThreadPool(options.threads());
+        try {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int i = 0; i < options.threads(); i++) {
+                workers.add(pool.submit(() -> {
+                    generate(plan, nextUser);
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        long loaded = System.currentTimeMillis();
+        System.out.printf("Loaded %d rows in %d s%n", rows.get(), (loaded - started) / 1000);
+
+        try (Connection connection = connect()) {
+            finish(connection, plan);
+        }
+        System.out.printf("Counters, ledger, sequences and statistics refreshed in %d s%n",
+                (System.currentTimeMillis() - loaded) / 1000);
+    }
+
+    private Connection connect() throws SQLException {
+        return DriverManager.getConnection(options.url(), options.dbUser(), options.dbPassword());
+    }
+
+    private Plan plan(Connection connection) throws SQLException {
+        // Heavy-tailed activity: a few power users own a large share of the tasks
+        Random random = new Random(options.seed());
+        int users = options.users();
+        double[] weights = new double[users];
+        double sum = 0;
+        for (int u = 0; u < users; u++) {
+            weights[u] = Math.exp(random.nextGaussian());
+            sum += weights[u];
+        }
+        int[] taskCounts = new int[users];
+        long assigned = 0;
+        for (int u = 0; u < users; u++) {
+            taskCounts[u] = (int) Math.max(1, Math.round(options.tasks() * weights[u] / sum));
+            assigned += taskCounts[u];
+        }
+        // Rounding drift goes to (or comes from) the heaviest user
+        int heaviest = 0;
+        for (int u = 1; u < users; u++) {
+            if (taskCounts[u] > taskCounts[heaviest]) heaviest = u;
+        }
+        taskCounts[heaviest] = (int) Math.max(1, taskCounts[heaviest] + options.tasks() - assigned);
+
+        int[] goalCounts = new int[users];
+        long[] taskOffsets = new long[users];
+        long[] goalOffsets = new long[users];
+        long taskOffset = 0;
+        long goalOffset = 0;
+        for (int u = 0; u < users; u++) {
+            goalCounts[u] = 1 + Math.min(7, taskCounts[u] / 200 + random.nextInt(3));
+            taskOffsets[u] = taskOffset;
+            goalOffsets[u] = goalOffset;
+            taskOffset += taskCounts[u];
+            goalOffset += goalCounts[u];
+        }
+        return new Plan(maxId(connection, "users"), maxId(connection, "goals"), maxId(connection, "tasks"),
+                taskCounts, taskOffsets, goalCounts, goalOffsets);
+    }
+
+    private void generate(Plan plan, AtomicInteger nextUser) throws SQLException {
+        try (Connection connection = connect()) {
+            CopyManager copy = connection.unwrap(PGConnection.class).getCopyAPI();
+            Batch batch = new Batch();
+            int u;
+            while ((u = nextUser.getAndIncrement()) < options.users()) {
+                generateUser(plan, u, batch);
+                if (batch.tasks.rows >= options.flushRows()) {
+                    batch.flush(copy);
+                }
+            }
+            batch.flush(copy);
+        }
+    }
+
+    private void generateUser(Plan plan, int u, Batch batch) {
+        SplittableRandom rnd = new SplittableRandom(options.seed() ^ (0x9E3779B97F4A7C15L * (u + 1)));
+        long userId = plan.userIdBase() + u + 1;
+        String zone = ZONES[weighted(rnd, ZONE_WEIGHTS)];
+        LocalDateTime joined = now.minusMinutes(rnd.nextInt(60 * 24 * 400));
+
+        batch.users.row(userId, "user" + userId + "@load.clarity.dev", passwordHash, "Load User " + userId, "USER",
+                joined, 0, zone, UserReviewService.reviewSlot(userId, ZoneId.of(zone), Instant.now(), options.reviewSpread()));
+
+        long firstGoal = plan.goalIdBase() + plan.goalOffsets()[u] + 1;
+        int goals = plan.goalCounts()[u];
+        for (int g = 0; g < goals; g++) {
+            int status = rnd.nextInt(100);
+            batch.goals.row(firstGoal + g, GOALS[rnd.nextInt(GOALS.length)], "P" + rnd.nextInt(3),
+                    status < 75 ? "ACTIVE" : status < 88 ? "PAUSED" : "DONE",
+                    rnd.nextInt(3) == 0 ? null : now.toLocalDate().plusDays(rnd.nextInt(-60, 300)),
+                    joined, userId, null, 0, 0);
+        }
+
+        UserTasks tasks = new UserTasks(batch, rnd, userId, joined, firstGoal, goals,
+                plan.taskIdBase() + plan.taskOffsets()[u] + 1);
+        int remaining = plan.taskCounts()[u];
+        while (remaining > 0) {
+            remaining -= (remaining >= 2 && rnd.nextInt(10) == 0) ? tasks.series(remaining) : tasks.single();
+        }
+        rows.addAndGet(1 + goals + plan.taskCounts()[u]);
+    }
+
+    /**
+     * Task rows of one user plus their blocks, reminders and logs. Time blocks respect the
+     * daily capacity the application enforces.
+     */
+    private final class UserTasks {
+
+        private final Batch batch;
+        private final SplittableRandom rnd;
+        private final long userId;
+        private final LocalDateTime joined;
+        private final long firstGoal;
+        private final int goals;
+        private final Map<LocalDate, Integer> plannedMinutes = new HashMap<>();
+        private long nextId;
+
+        UserTasks(Batch batch, SplittableRandom rnd, long userId, LocalDateTime joined, long firstGoal, int goals, long firstId) {
+            this.batch = batch;
+            this.rnd = rnd;
+            this.userId = userId;
+            this.joined = joined;
+            this.firstGoal = firstGoal;
+            this.goals = goals;
+            this.nextId = firstId;
+        }
+
+        int single() {
+            LocalDateTime created = between(joined, now);
+            LocalDateTime due = rnd.nextInt(8) == 0 ? null : created.plusMinutes(rnd.nextInt(60, 60 * 24 * 21));
+            task(nextId, goal(), title(), created, due, status(due), RecurrenceType.NONE, null, null);
+            nextId++;
+            return 1;
+        }
+
+        // A recurring series as the app builds it: completed history, one open instance at the end
+        int series(int remaining) {
+            int pick = rnd.nextInt(100);
+            RecurrenceType type = pick < 50 ? RecurrenceType.DAILY : pick < 85 ? RecurrenceType.WEEKLY : RecurrenceType.MONTHLY;
+            String pattern = switch (type) {
+                case DAILY -> new String[]{null, "MONDAY,WEDNESDAY,FRIDAY", "INTERVAL=2"}[rnd.nextInt(3)];
+                case WEEKLY -> new String[]{null, "BYDAY=TU,TH"}[rnd.nextInt(2)];
+                default -> new String[]{null, "BYMONTHDAY=-1"}[rnd.nextInt(2)];
+            };
+            RecurrenceRule rule = RecurrenceRule.compile(type, pattern);
+
+            int size = Math.min(remaining, 2 + rnd.nextInt(40));
+            long seriesId = nextId;
+            long goal = goal();
+            String title = title();
+            LocalDateTime anchor = between(joined, now).truncatedTo(ChronoUnit.HOURS);
+            LocalDateTime horizon = now.plusDays(14);
+
+            LocalDateTime due = anchor;
+            int created = 0;
+            while (created < size && due != null && due.isBefore(horizon)) {
+                LocalDateTime next = rule.nextAfter(anchor, due).orElse(null);
+                boolean last = created == size - 1 || next == null || !next.isBefore(horizon) || !due.isBefore(now);
+                String status = last
+                        ? (rnd.nextInt(4) == 0 ? "IN_PROGRESS" : "READY")
+                        : (rnd.nextInt(8) == 0 ? "SKIPPED" : "DONE");
+                task(nextId, goal, title, created == 0 ? anchor.minusDays(1) : due.minusDays(1),
+                        due, status, type, pattern, seriesId);
+                nextId++;
+                created++;
+                if (last) break;
+                due = next;
+            }
+            return created;
+        }
+
+        private void task(long id, long goal, String title, LocalDateTime created, LocalDateTime due, String status,
+                          RecurrenceType type, String pattern, Long seriesId) {
+            boolean overdue = due != null && due.isBefore(now) && ("READY".equals(status) || "IN_PROGRESS".equals(status));
+            boolean needsReview = overdue && "IN_PROGRESS".equals(status) && rnd.nextInt(2) == 0;
+            int estimate = 15 * (1 + (int) Math.min(15, Math.round(Math.exp(rnd.nextDouble() * 2))));
+            // Estimates run optimistic: actuals centre around +20%
+            Integer actual = "DONE".equals(status) ? (int) Math.max(5, estimate * (0.6 + rnd.nextDouble() * 1.2)) : null;
+            boolean deleted = rnd.nextInt(40) == 0;
+            String decision = null;
+            if ("SKIPPED".equals(status) && rnd.nextInt(3) == 0) decision = "DROP";
+
+            batch.tasks.row(id, goal, title, status, due, estimate, actual, created, needsReview, null, decision,
+                    userId, type.name(), pattern, deleted, seriesId, seriesId == null ? null : due);
+
+            batch.logs.row(id, "TASK_CREATED", "USER", "{}", created, userId);
+            if ("DONE".equals(status)) {
+                batch.logs.row(id, "TASK_COMPLETED", "USER", "{}", min(due == null ? created.plusDays(1) : due, now), userId);
+            } else if ("SKIPPED".equals(status)) {
+                batch.logs.row(id, "TASK_MARKED_OVERDUE", "SYSTEM",
+                        "{\"oldStatus\":\"READY\",\"newStatus\":\"SKIPPED\"}", due.plusDays(1), userId);
+            }
+            if (due != null && due.isBefore(now) && rnd.nextInt(10) == 0) {
+                String reviewed = new String[]{"ACCEPT_DELAY", "RESUME", "DROP"}[rnd.nextInt(3)];
+                batch.logs.row(id, "TASK_REVIEWED", "USER",
+                        "{\"decision\":\"" + reviewed + "\",\"oldStatus\":\"IN_PROGRESS\",\"newStatus\":\"" + status + "\"}",
+                        min(due.plusDays(1), now), userId);
+            }
+
+            if (due != null && !deleted && !"SKIPPED".equals(status) && rnd.nextInt(10) < 3) {
+                block(id, due.toLocalDate());
+            }
+            if (due != null && rnd.nextInt(5) == 0) {
+                LocalDateTime remindAt = due.minusMinutes(30);
+                String reminderStatus = rnd.nextInt(20) == 0 ? "CANCELLED" : remindAt.isBefore(now) ? "SENT" : "PENDING";
+                batch.reminders.row(id, remindAt, reminderStatus, created, userId, null, null);
+                if ("SENT".equals(reminderStatus)) {
+                    batch.logs.row(id, "REMINDER_FIRED", "SYSTEM", "{\"remindAt\":\"" + remindAt + "\"}", remindAt, userId);
+                }
+            }
+        }
+
+        private void block(long taskId, LocalDate day) {
+            int minutes = 15 * rnd.nextInt(2, 9);
+            int planned = plannedMinutes.getOrDefault(day, 0);
+            if (planned + minutes > 240) {
+                return;
+            }
+            plannedMinutes.put(day, planned + minutes);
+            LocalDateTime start = day.atTime(7 + rnd.nextInt(12), 15 * rnd.nextInt(4));
+            batch.blocks.row(taskId, start, start.plusMinutes(minutes), userId);
+        }
+
+        private long goal() {
+            return firstGoal + rnd.nextInt(goals);
+        }
+
+        private String title() {
+            return VERBS[rnd.nextInt(VERBS.length)] + " " + NOUNS[rnd.nextInt(NOUNS.length)];
+        }
+
+        private String status(LocalDateTime due) {
+            int pick = rnd.nextInt(100);
+            if (due != null && due.isBefore(now)) {
+                return pick < 62 ? "DONE" : pick < 80 ? "SKIPPED" : pick < 92 ? "READY" : "IN_PROGRESS";
+            }
+            return pick < 65 ? "READY" : pick < 85 ? "IN_PROGRESS" : pick < 95 ? "BACKLOG" : "DONE";
+        }
+
+        private LocalDateTime between(LocalDateTime from, LocalDateTime to) {
+            long minutes = Math.max(1, ChronoUnit.MINUTES.between(from, to));
+            return from.plusMinutes(rnd.nextLong(minutes));
+        }
+    }
+
+    private void finish(Connection connection, Plan plan) throws SQLException {
+        // Same definitions as V16 (goal counters) and V18 (ledger), scoped to the generated rows
+        execute(connection, """
+                UPDATE goals g
+                SET open_task_count   = c.open_count,
+                    closed_task_count = c.closed_count
+                FROM (
+                    SELECT goal_id,
+                           COUNT(*) FILTER (WHERE status NOT IN ('DONE', 'SKIPPED')) AS open_count,
+                           COUNT(*) FILTER (WHERE status IN ('DONE', 'SKIPPED'))     AS closed_count
+                    FROM tasks
+                    WHERE deleted = FALSE AND user_id > %d
+                    GROUP BY goal_id
+                ) c
+                WHERE g.id = c.goal_id""".formatted(plan.userIdBase()));
+        execute(connection, """
+                INSERT INTO daily_capacity_ledger (user_id, plan_date, planned_minutes)
+                SELECT b.user_id,
+                       CAST(b.start_time AS DATE),
+                       SUM(FLOOR(EXTRACT(EPOCH FROM (b.end_time - b.start_time)) / 60))
+                FROM time_blocks b
+                WHERE b.user_id > %d
+                GROUP BY b.user_id, CAST(b.start_time AS DATE)
+                ON CONFLICT (user_id, plan_date) DO UPDATE SET planned_minutes = EXCLUDED.planned_minutes"""
+                .formatted(plan.userIdBase()));
+
+        for (String table : List.of("users", "goals", "tasks")) {
+            execute(connection, "SELECT setval(pg_get_serial_sequence('%1$s', 'id'), (SELECT MAX(id) FROM %1$s))"
+                    .formatted(table));
+        }
+        for (String table : List.of("users", "goals", "tasks", "time_blocks", "reminders",
+                "task_activity_logs", "daily_capacity_ledger")) {
+            execute(connection, "ANALYZE " + table);
+        }
+    }
+
+    private static long maxId(Connection connection, String table) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COALESCE(MAX(id), 0) FROM " + table)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static void execute(Connection connection, String sql) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(sql);
+        }
+    }
+
+    private static int weighted(SplittableRandom rnd, int[] weights) {
+        int total = 0;
+        for (int weight : weights) total += weight;
+        int pick = rnd.nextInt(total);
+        for (int i = 0; i < weights.length; i++) {
+            pick -= weights[i];
+            if (pick < 0) return i;
+        }
+        return weights.length - 1;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+
+    // One worker's pending rows, flushed table by table in foreign-key order
+    private static final class Batch {
+
+        final CsvTable users = new CsvTable("users (id, email, password_hash, full_name, role, created_at, token_version, time_zone, next_review_at)");
+        final CsvTable goals = new CsvTable("goals (id, title, priority, status, target_date, created_at, user_id, description, open_task_count, closed_task_count)");
+        final CsvTable tasks = new CsvTable("tasks (id, goal_id, title, status, due_datetime, estimated_minutes, actual_minutes, created_at, "
+                + "needs_review, review_note, review_decision, user_id, recurrence_type, recurrence_pattern, deleted, series_id, occurrence_at)");
+        final CsvTable blocks = new CsvTable("time_blocks (task_id, start_time, end_time, user_id)");
+        final CsvTable reminders = new CsvTable("reminders (task_id, remind_at, status, created_at, user_id, claimed_by, claim_expires_at)");
+        final CsvTable logs = new CsvTable("task_activity_logs (task_id, action, performed_by, metadata, created_at, user_id)");
+
+        void flush(CopyManager copy) throws SQLException {
+            for (CsvTable table : List.of(users, goals, tasks, blocks, reminders, logs)) {
+                table.flush(copy);
+            }
+        }
+    }
+
+    private static final class CsvTable {
+
+        private final String target;
+        private final StringBuilder buffer = new StringBuilder(1 << 20);
+        int rows;
+
+        CsvTable(String target) {
+            this.target = target;
+        }
+
+        void row(Object... values) {
+            for (int i = 0; i < values.length; i++) {
+                if (i > 0) buffer.append(',');
+                Object value = values[i];
+                if (value == null) continue; // unquoted empty field = NULL
+                String text = value.toString();
+                if (text.indexOf(',') >= 0 || text.indexOf('"') >= 0) {
+                    buffer.append('"').append(text.replace("\"", "\"\"")).append('"');
+                } else {
+                    buffer.append(text);
+                }
+            }
+            buffer.append('\n');
+            rows++;
+        }
+
+        void flush(CopyManager copy) throws SQLException {
+            if (rows == 0) {
+                return;
+            }
+            byte[] bytes = buffer.toString().getBytes(StandardCharsets.UTF_8);
+            CopyIn in = copy.copyIn("COPY " + target + " FROM STDIN WITH (FORMAT csv)");
+            try {
+                in.writeToCopy(bytes, 0, bytes.length);
+                in.endCopy();
+            } finally {
+                if (in.isActive()) {
+                    in.cancelCopy();
+                }
+            }
+            buffer.setLength(0);
+            rows = 0;
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package com.clarity.clarity.load;
+
+import com.clarity.clarity.load.Scenario.Operation;
+import org.HdrHistogram.Histogram;
+import org.HdrHistogram.Recorder;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-operation latency histograms (microseconds, 3 significant digits) and outcome counters.
+ * Virtual users record into lock-free {@link Recorder}s; the reporter thread periodically swaps
+ * out the interval histograms and folds them into the run totals.
+ */
+final class LatencyStats {
+
+    enum Outcome {
+        OK,       // 2xx
+        REJECTED, // other 4xx, e.g. a full day of planned capacity
+        SHED,     // 429 / 503: rate limited or load shed
+        ERROR     // 5xx, timeouts and I/O failures
+    }
+
+    private final Map<Operation, Recorder> recorders = new EnumMap<>(Operation.class);
+    private final Map<Operation, Histogram> totals = new EnumMap<>(Operation.class);
+    private final Map<Operation, LongAdder[]> outcomes = new EnumMap<>(Operation.class);
+
+    LatencyStats() {
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new Recorder(3));
+            totals.put(operation, new Histogram(3));
+            LongAdder[] counters = new LongAdder[Outcome.values().length];
+            for (int i = 0; i < counters.length; i++) {
+                counters[i] = new LongAdder();
+            }
+            outcomes.put(operation, counters);
+        }
+    }
+
+    static Outcome classify(int status) {
+        if (status >= 200 && status < 300) return Outcome.OK;
+        if (status == 429 || status == 503) return Outcome.SHED;
+        if (status >= 400 && status < 500) return Outcome.REJECTED;
+        return Outcome.ERROR;
+    }
+
+    void record(Operation operation, Outcome outcome, long micros) {
+        recorders.get(operation).recordValue(Math.max(1, micros));
+        outcomes.get(operation)[outcome.ordinal()].increment();
+    }
+
+    // No response: counted, but there is no latency to record
+    void failed(Operation operation) {
+        outcomes.get(operation)[Outcome.ERROR.ordinal()].increment();
+    }
+
+    /**
+     * Moves everything recorded since the last call into the totals and returns it, merged
+     * across operations. Only one thread may call this.
+     */
+    Histogram drainInterval() {
+        Histogram interval = new Histogram(3);
+        recorders.forEach((operation, recorder) -> {
+            Histogram recorded = recorder.getIntervalHistogram();
+            totals.get(operation).add(recorded);
+            interval.add(recorded);
+        });
+        return interval;
+    }
+
+    Histogram total(Operation operation) {
+        return totals.get(operation);
+    }
+
+    long count(Operation operation, Outcome outcome) {
+        return outcomes.get(operation)[outcome.ordinal()].sum();
+    }
+}
@@ -0,0 +1,251 @@
+package com.clarity.clarity.load;
+
+import com.clarity.clarity.load.LatencyStats.Outcome;
+import com.clarity.clarity.load.Scenario.Operation;
+import org.HdrHistogram.Histogram;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * End-to-end HTTP load test against a running backend (e.g. started locally with
+ * {@code ./mvnw spring-boot:run} on a database loaded by {@code DatasetGenerator}).
+ * <p>
+ * Every virtual user is a virtual thread with its own freshly registered account. After setup
+ * the users ramp up, then loop: pick an operation by the scenario's weights, call it, sleep an
+ * exponentially distributed think time. This is a closed model, so the recorded latencies are the
+ * response times users see; when the server saturates, throughput drops instead of queues growing.
+ * Calls during the warm-up are not recorded.
+ * <p>
+ * Prints throughput, outcome counts and p50/p90/p99/p99.9/max latency per operation, plus a
+ * progress line every report interval. {@code --out=file.csv} also writes the summary as CSV.
+ * <pre>
+ * ./mvnw -Pperf -DskipTests test-compile exec:exec \
+ *     -Dperf.main=com.clarity.clarity.load.LoadTest \
+ *     -Dperf.args="--scenario=dashboard --users=500 --duration=PT5M --out=target/load-dashboard.csv"
+ * </pre>
+ * Scenario files and their keys: see {@link Scenario} and src/perf/resources/load.
+ */
+public final class LoadTest {
+
+    private final Scenario scenario;
+    private final ClarityClient client;
+    private final LatencyStats stats = new LatencyStats();
+
+    private LoadTest(Scenario scenario) {
+        this.scenario = scenario;
+        this.client = new ClarityClient(scenario.baseUrl(), scenario.requestTimeout());
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new HashMap<>();
+        for (String arg : args) {
+            if (!arg.startsWith("--") || arg.indexOf('=') < 0) {
+                throw new IllegalArgumentException("Expected --key=value, got: " + arg);
+            }
+            options.put(arg.substring(2, arg.indexOf('=')), arg.substring(arg.indexOf('=') + 1));
+        }
+        LoadTest test = new LoadTest(Scenario.load(options));
+        Duration measured = test.run();
+        test.report(measured, options.get("out"));
+    }
+
+    private Duration run() throws InterruptedException {
+        System.out.printf("Scenario %s against %s: %d users, warm-up %s, measuring %s, mix %s%n",
+                scenario.name(), scenario.baseUrl(), scenario.users(), scenario.warmup(), scenario.duration(), scenario.mix());
+
+        List<VirtualUser> users = setUp();
+
+        Operation[] table = weightedTable();
+        long started = System.nanoTime();
+        long measureFrom = started + scenario.warmup().toNanos();
+        long deadline = measureFrom + scenario.duration().toNanos();
+
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < users.size(); i++) {
+                VirtualUser user = users.get(i);
+                long startAt = started + scenario.rampUp().toNanos() * i / users.size();
+                SplittableRandom random = new SplittableRandom(scenario.seed() + i);
+                threads.submit(() -> {
+                    drive(user, random, table, startAt, measureFrom, deadline);
+                    return null;
+                });
+            }
+
+            long nextReport = started + scenario.reportInterval().toNanos();
+            while (System.nanoTime() < deadline) {
+                Thread.sleep(Math.max(1, Math.min(deadline, nextReport) - System.nanoTime()) / 1_000_000 + 1);
+                if (System.nanoTime() >= nextReport) {
+                    progress(System.nanoTime() - started, stats.drainInterval());
+                    nextReport += scenario.reportInterval().toNanos();
+                }
+            }
+        } // close() waits for the users to finish their last call
+        stats.drainInterval();
+        return Duration.ofNanos(Math.max(1, System.nanoTime() - measureFrom));
+    }
+
+    private List<VirtualUser> setUp() throws InterruptedException {
+        String runId = Long.toString(System.currentTimeMillis(), 36);
+        long started = System.nanoTime();
+        Semaphore permits = new Semaphore(scenario.setupConcurrency());
+        AtomicInteger failed = new AtomicInteger();
+        List<VirtualUser> users = new ArrayList<>();
+
+        try (ExecutorService threads = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<VirtualUser>> pending = new ArrayList<>();
+            for (int i = 0; i < scenario.users(); i++) {
+                int index = i;
+                pending.add(threads.submit(() -> {
+                    permits.acquire();
+                    try {
+                        VirtualUser user = new VirtualUser(client, runId, index, scenario.seed());
+                        user.setUp(scenario.setupGoals(), scenario.setupTasks());
+                        return user;
+                    } finally {
+                        permits.release();
+                    }
+                }));
+            }
+            for (Future<VirtualUser> user : pending) {
+                try {
+                    users.add(user.get());
+                } catch (ExecutionException e) {
+                    if (failed.getAndIncrement() == 0) {
+                        System.err.println("User setup failed: " + e.getCause());
+                    }
+                }
+            }
+        }
+        if (users.isEmpty()) {
+            throw new IllegalStateException("No user could be set up; is the backend running at " + scenario.baseUrl() + "?");
+        }
+        System.out.printf("Set up %d user(s) (%d failed) in %d s%n",
+                users.size(), failed.get(), Duration.ofNanos(System.nanoTime() - started).toSeconds());
+        return users;
+    }
+
+    private void drive(VirtualUser user, SplittableRandom random, Operation[] table,
+                       long startAt, long measureFrom, long deadline) throws InterruptedException {
+        sleepNanos(startAt - System.nanoTime());
+        while (System.nanoTime() < deadline) {
+            Operation operation = user.resolve(table[random.nextInt(table.length)]);
+            long sent = System.nanoTime();
+            boolean measured = sent >= measureFrom;
+            try {
+                ClarityClient.Response response = user.call(operation);
+                if (measured) {
+                    stats.record(operation, LatencyStats.classify(response.status()), (System.nanoTime() - sent) / 1_000);
+                }
+            } catch (IOException | RuntimeException e) {
+                if (measured) {
+                    stats.failed(operation);
+                }
+            }
+            long thinkNanos = scenario.thinkTime().toNanos();
+            sleepNanos((long) (-thinkNanos * Math.log(1 - random.nextDouble())));
+        }
+    }
+
+    // Each operation appears in proportion to its weight
+    private Operation[] weightedTable() {
+        List<Operation> table = new ArrayList<>();
+        scenario.mix().forEach((operation, weight) -> {
+            for (int i = 0; i < weight; i++) table.add(operation);
+        });
+        return table.toArray(Operation[]::new);
+    }
+
+    private void progress(long elapsedNanos, Histogram interval) {
+        if (interval.getTotalCount() == 0) {
+            System.out.printf("[%4ds] warming up%n", Duration.ofNanos(elapsedNanos).toSeconds());
+            return;
+        }
+        double seconds = scenario.reportInterval().toMillis() / 1000.0;
+        System.out.printf(Locale.ROOT, "[%4ds] %8.1f req/s  p50 %7.2f ms  p99 %7.2f ms  max %8.2f ms%n",
+                Duration.ofNanos(elapsedNanos).toSeconds(),
+                interval.getTotalCount() / seconds,
+                millis(interval.getValueAtPercentile(50)),
+                millis(interval.getValueAtPercentile(99)),
+                millis(interval.getMaxValue()));
+    }
+
+    private void report(Duration measured, String out) throws IOException {
+        double seconds = measured.toMillis() / 1000.0;
+        String header = String.format(Locale.ROOT, "%-16s %9s %9s %8s %8s %8s %8s %9s %9s %9s %9s %9s",
+                "operation", "count", "req/s", "ok", "rejected", "shed", "errors", "p50 ms", "p90 ms", "p99 ms", "p99.9 ms", "max ms");
+        List<String> csv = new ArrayList<>();
+        csv.add("scenario,operation,count,throughput,ok,rejected,shed,errors,p50_ms,p90_ms,p99_ms,p999_ms,max_ms");
+
+        System.out.printf("%nMeasured %d s%n%s%n", measured.toSeconds(), header);
+        Histogram all = new Histogram(3);
+        long[] allOutcomes = new long[Outcome.values().length];
+        for (Operation operation : Operation.values()) {
+            if (!scenario.mix().containsKey(operation) && stats.total(operation).getTotalCount() == 0) continue;
+            Histogram histogram = stats.total(operation);
+            all.add(histogram);
+            long[] outcomes = new long[Outcome.values().length];
+            for (Outcome outcome : Outcome.values()) {
+                outcomes[outcome.ordinal()] = stats.count(operation, outcome);
+                allOutcomes[outcome.ordinal()] += outcomes[outcome.ordinal()];
+            }
+            printRow(operation.key, histogram, outcomes, seconds, csv);
+        }
+        printRow("total", all, allOutcomes, seconds, csv);
+
+        if (out != null) {
+            Path path = Path.of(out);
+            if (path.getParent() != null) Files.createDirectories(path.getParent());
+            try (PrintWriter writer = new PrintWriter(Files.newBufferedWriter(path))) {
+                csv.forEach(writer::println);
+            }
+            System.out.println("Summary written to " + path);
+        }
+    }
+
+    private void printRow(String name, Histogram histogram, long[] outcomes, double seconds, List<String> csv) {
+        long count = 0;
+        for (long outcome : outcomes) count += outcome;
+        double[] latencies = {
+                millis(histogram.getValueAtPercentile(50)),
+                millis(histogram.getValueAtPercentile(90)),
+                millis(histogram.getValueAtPercentile(99)),
+                millis(histogram.getValueAtPercentile(99.9)),
+                millis(histogram.getMaxValue())};
+        System.out.printf(Locale.ROOT, "%-16s %9d %9.1f %8d %8d %8d %8d %9.2f %9.2f %9.2f %9.2f %9.2f%n",
+                name, count, count / seconds,
+                outcomes[Outcome.OK.ordinal()], outcomes[Outcome.REJECTED.ordinal()],
+                outcomes[Outcome.SHED.ordinal()], outcomes[Outcome.ERROR.ordinal()],
+                latencies[0], latencies[1], latencies[2], latencies[3], latencies[4]);
+        csv.add(String.format(Locale.ROOT, "%s,%s,%d,%.1f,%d,%d,%d,%d,%.2f,%.2f,%.2f,%.2f,%.2f",
+                scenario.name(), name, count, count / seconds,
+                outcomes[Outcome.OK.ordinal()], outcomes[Outcome.REJECTED.ordinal()],
+                outcomes[Outcome.SHED.ordinal()], outcomes[Outcome.ERROR.ordinal()],
+                latencies[0], latencies[1], latencies[2], latencies[3], latencies[4]));
+    }
+
+    private static double millis(long micros) {
+        return micros / 1000.0;
+    }
+
+    private static void sleepNanos(long nanos) throws InterruptedException {
+        if (nanos > 0) {
+            Thread.sleep(Duration.ofNanos(nanos));
+        }
+    }
+}
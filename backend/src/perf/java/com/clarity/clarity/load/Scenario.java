@@ -0,0 +1,117 @@
+package com.clarity.clarity.load;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.net.URI;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * A load-test scenario: how many virtual users, for how long, and the weighted mix of
+ * operations each of them replays.
+ * <p>
+ * Scenarios are properties files. {@code --scenario=dashboard} loads {@code load/dashboard.properties}
+ * from the classpath (src/perf/resources), any other value is read as a file path. Every key
+ * can be overridden on the command line as {@code --key=value}, e.g. {@code --users=500}.
+ */
+record Scenario(String name,
+                URI baseUrl,
+                int users,
+                int setupConcurrency,
+                int setupGoals,
+                int setupTasks,
+                Duration rampUp,
+                Duration warmup,
+                Duration duration,
+                Duration thinkTime,
+                Duration requestTimeout,
+                Duration reportInterval,
+                long seed,
+                Map<Operation, Integer> mix) {
+
+    /**
+     * What a virtual user can do; {@code key} is the {@code mix.<key>} weight in the scenario file.
+     */
+    enum Operation {
+        LIST_TASKS("list-tasks"),
+        LIST_GOALS("list-goals"),
+        WEEKLY_INSIGHTS("weekly-insights"),
+        DAY_BLOCKS("day-blocks"),
+        CREATE_TASK("create-task"),
+        COMPLETE_TASK("complete-task"),
+        FOCUS_BLOCK("focus-block");
+
+        final String key;
+
+        Operation(String key) {
+            this.key = key;
+        }
+    }
+
+    static Scenario load(Map<String, String> overrides) throws IOException {
+        String source = overrides.getOrDefault("scenario", "dashboard");
+        Properties properties = new Properties();
+        Path file = Path.of(source);
+        if (Files.isRegularFile(file)) {
+            try (Reader reader = Files.newBufferedReader(file)) {
+                properties.load(reader);
+            }
+        } else {
+            try (InputStream in = Scenario.class.getClassLoader().getResourceAsStream("load/" + source + ".properties")) {
+                if (in == null) {
+                    throw new IllegalArgumentException("No scenario file " + source + " and no classpath scenario load/" + source + ".properties");
+                }
+                properties.load(in);
+            }
+        }
+        overrides.forEach((key, value) -> {
+            if (!"scenario".equals(key) && !"out".equals(key)) {
+                properties.setProperty(key, value);
+            }
+        });
+        return from(properties);
+    }
+
+    static Scenario from(Properties p) {
+        Map<Operation, Integer> mix = new EnumMap<>(Operation.class);
+        int totalWeight = 0;
+        for (Operation operation : Operation.values()) {
+            int weight = Integer.parseInt(p.getProperty("mix." + operation.key, "0").trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("mix." + operation.key + " must not be negative");
+            }
+            if (weight > 0) {
+                mix.put(operation, weight);
+                totalWeight += weight;
+            }
+        }
+        if (totalWeight == 0) {
+            throw new IllegalArgumentException("Scenario has no operations: set at least one mix.<operation> weight");
+        }
+
+        Scenario scenario = new Scenario(
+                p.getProperty("name", "unnamed").trim(),
+                URI.create(p.getProperty("base-url", "http://localhost:8080/api").trim()),
+                Integer.parseInt(p.getProperty("users", "100").trim()),
+                Integer.parseInt(p.getProperty("setup-concurrency", "32").trim()),
+                Integer.parseInt(p.getProperty("setup-goals", "3").trim()),
+                Integer.parseInt(p.getProperty("setup-tasks", "20").trim()),
+                Duration.parse(p.getProperty("ramp-up", "PT10S").trim()),
+                Duration.parse(p.getProperty("warmup", "PT30S").trim()),
+                Duration.parse(p.getProperty("duration", "PT2M").trim()),
+                Duration.parse(p.getProperty("think-time", "PT0.5S").trim()),
+                Duration.parse(p.getProperty("request-timeout", "PT10S").trim()),
+                Duration.parse(p.getProperty("report-interval", "PT5S").trim()),
+                Long.parseLong(p.getProperty("seed", "42").trim()),
+                mix);
+        if (scenario.users() <= 0 || scenario.setupConcurrency() <= 0 || scenario.setupGoals() <= 0 || scenario.setupTasks() < 0) {
+            throw new IllegalArgumentException("users, setup-concurrency and setup-goals must be positive, setup-tasks not negative");
+        }
+        return scenario;
+    }
+}
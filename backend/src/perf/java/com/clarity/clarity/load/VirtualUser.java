@@ -0,0 +1,120 @@
+package com.clarity.clarity.load;
+
+import com.clarity.clarity.load.Scenario.Operation;
+
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * One synthetic user: its own account, a few goals and open tasks, and the calls the dashboard
+ * and FocusMode make on its behalf. Driven by a single virtual thread, so it needs no locking.
+ */
+final class VirtualUser {
+
+    private static final String[] TITLES = {
+            "Write weekly report", "Review pull request", "Plan sprint", "Call dentist", "Prepare slides",
+            "Read chapter", "Fix flaky test", "Draft blog post", "Go for a run", "Clean inbox"};
+
+    private final ClarityClient client;
+    private final SplittableRandom random;
+    private final String email;
+    private final List<Long> goalIds = new ArrayList<>();
+    private final List<Long> openTaskIds = new ArrayList<>();
+    private String token;
+
+    VirtualUser(ClarityClient client, String runId, int index, long seed) {
+        this.client = client;
+        this.random = new SplittableRandom(seed ^ (0x9E3779B97F4A7C15L * (index + 1)));
+        this.email = "load-" + runId + "-" + index + "@load.clarity.dev";
+    }
+
+    /**
+     * Registers and logs in, then creates the goals and tasks the measured operations work on.
+     */
+    void setUp(int goals, int tasks) throws IOException, InterruptedException {
+        expectOk("register", client.post("/auth/register", null, Map.of(
+                "fullName", "Load User", "email", email, "password", "password", "timeZone", "UTC")));
+        ClarityClient.Response login = expectOk("login", client.post("/auth/login", null,
+                Map.of("email", email, "password", "password")));
+        token = login.body().path("token").asText();
+
+        for (int i = 0; i < goals; i++) {
+            ClarityClient.Response goal = expectOk("create goal", client.post("/goals", token,
+                    Map.of("title", "Load goal " + i, "priority", "P" + random.nextInt(3))));
+            goalIds.add(goal.body().path("id").asLong());
+        }
+        for (int i = 0; i < tasks; i++) {
+            expectOk("create task", call(Operation.CREATE_TASK));
+        }
+    }
+
+    /**
+     * Completing or time-blocking needs an open task; without one the user creates a task instead.
+     */
+    Operation resolve(Operation operation) {
+        if ((operation == Operation.COMPLETE_TASK || operation == Operation.FOCUS_BLOCK) && openTaskIds.isEmpty()) {
+            return Operation.CREATE_TASK;
+        }
+        return operation;
+    }
+
+    ClarityClient.Response call(Operation operation) throws IOException, InterruptedException {
+        return switch (operation) {
+            case LIST_TASKS -> client.get(random.nextInt(4) == 0 ? "/tasks?limit=50&status=READY" : "/tasks?limit=50", token);
+            case LIST_GOALS -> client.get("/goals", token);
+            case WEEKLY_INSIGHTS -> client.get("/insights/weekly", token);
+            case DAY_BLOCKS -> client.get("/time-blocks?date=" + LocalDate.now(), token);
+            case CREATE_TASK -> createTask();
+            case COMPLETE_TASK -> completeTask();
+            case FOCUS_BLOCK -> focusBlock();
+        };
+    }
+
+    private ClarityClient.Response createTask() throws IOException, InterruptedException {
+        Map<String, Object> body = new HashMap<>();
+        body.put("title", TITLES[random.nextInt(TITLES.length)]);
+        body.put("goalId", goalIds.get(random.nextInt(goalIds.size())));
+        body.put("estimatedMinutes", 15 * random.nextInt(1, 9));
+        body.put("dueDatetime", LocalDateTime.now().plusHours(random.nextInt(1, 24 * 14)).truncatedTo(ChronoUnit.MINUTES).toString());
+        if (random.nextInt(10) == 0) {
+            body.put("recurrenceType", "DAILY");
+        }
+        ClarityClient.Response response = client.post("/tasks", token, body);
+        if (response.ok()) {
+            openTaskIds.add(response.body().path("id").asLong());
+        }
+        return response;
+    }
+
+    private ClarityClient.Response completeTask() throws IOException, InterruptedException {
+        int index = random.nextInt(openTaskIds.size());
+        Long taskId = openTaskIds.get(index);
+        openTaskIds.set(index, openTaskIds.get(openTaskIds.size() - 1));
+        openTaskIds.remove(openTaskIds.size() - 1);
+        return client.put("/tasks/" + taskId + "/complete", token);
+    }
+
+    // A FocusMode session: one 25-minute block, spread over the coming weeks to stay within daily capacity
+    private ClarityClient.Response focusBlock() throws IOException, InterruptedException {
+        Long taskId = openTaskIds.get(random.nextInt(openTaskIds.size()));
+        LocalDateTime start = LocalDate.now().plusDays(random.nextInt(60)).atTime(random.nextInt(8, 20), 5 * random.nextInt(12));
+        return client.post("/time-blocks", token, Map.of(
+                "taskId", taskId,
+                "startTime", start.toString(),
+                "endTime", start.plusMinutes(25).toString()));
+    }
+
+    private ClarityClient.Response expectOk(String step, ClarityClient.Response response) {
+        if (!response.ok()) {
+            throw new IllegalStateException("Setup step '" + step + "' for " + email + " failed with HTTP " + response.status());
+        }
+        return response;
+    }
+}
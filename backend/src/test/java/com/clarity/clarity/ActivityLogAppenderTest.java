@@ -0,0 +1,141 @@
+package com.clarity.clarity;
+
+import com.clarity.clarity.service.ActivityLogAppender;
+import com.clarity.clarity.service.ActivityLogAppender.Entry;
+import io.micrometer.core.instrument.Metrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.boot.web.context.WebServerGracefulShutdownLifecycle;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.ParameterizedPreparedStatementSetter;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Write-behind activity log: batches up to batch-size, drops (and counts) on a full queue, and
+ * loses nothing around shutdown.
+ */
+class ActivityLogAppenderTest {
+
+    private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+    private final List<Integer> batchSizes = new CopyOnWriteArrayList<>();
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private ActivityLogAppender appender;
+
+    @BeforeEach
+    void setUp() {
+        Metrics.addRegistry(registry); // the appender's counters live on the global registry
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (appender != null && appender.isRunning()) {
+            appender.stop();
+        }
+        Metrics.removeRegistry(registry);
+    }
+
+    @Test
+    void writesInBatchesAndFlushesTheTailOnStop() {
+        recordBatches(null);
+        appender = appender(100, 3, 200);
+        for (int i = 0; i < 7; i++) {
+            assertTrue(appender.append(entry(i))); // not started yet: written one at a time
+        }
+        assertEquals(List.of(1, 1, 1, 1, 1, 1, 1), batchSizes);
+        batchSizes.clear();
+
+        appender.start();
+        for (int i = 0; i < 7; i++) {
+            appender.append(entry(i));
+        }
+        appender.stop();
+
+        assertEquals(7, batchSizes.stream().mapToInt(Integer::intValue).sum());
+        assertTrue(batchSizes.stream().allMatch(size -> size <= 3), "batches never exceed batch-size: " + batchSizes);
+        assertEquals(0, appender.pending());
+    }
+
+    @Test
+    void fullQueueDropsAndCountsTheEntry() throws Exception {
+        CountDownLatch writing = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        recordBatches(() -> {
+            writing.countDown();
+            release.await(5, TimeUnit.SECONDS);
+        });
+        appender = appender(2, 1, 60_000);
+        appender.start();
+
+        assertTrue(appender.append(entry(0)));
+        assertTrue(writing.await(5, TimeUnit.SECONDS)); // the writer is stuck on entry 0
+        assertTrue(appender.append(entry(1)));
+        assertTrue(appender.append(entry(2)));
+        assertFalse(appender.append(entry(3)), "queue of 2 is full");
+        assertEquals(1, registry.counter("clarity.activity_log.dropped").count());
+
+        release.countDown();
+        appender.stop();
+        assertEquals(3, batchSizes.stream().mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    void appendAfterStopIsWrittenOnTheCallersThread() {
+        recordBatches(null);
+        appender = appender(100, 50, 60_000);
+        appender.start();
+        appender.stop();
+
+        assertTrue(appender.append(entry(1)));
+        assertEquals(List.of(1), batchSizes);
+        assertEquals(0, appender.pending());
+    }
+
+    @Test
+    void stopsAfterTheWebServerHasDrainedRequests() {
+        appender = appender(100, 50, 1000);
+        // Lower phase = stopped later
+        assertTrue(appender.getPhase() < WebServerGracefulShutdownLifecycle.SMART_LIFECYCLE_PHASE);
+    }
+
+    private interface Hook {
+        void run() throws Exception;
+    }
+
+    private void recordBatches(Hook hook) {
+        Mockito.when(jdbcTemplate.batchUpdate(anyString(), ArgumentMatchers.<Collection<Entry>>any(), anyInt(),
+                        ArgumentMatchers.<ParameterizedPreparedStatementSetter<Entry>>any()))
+                .thenAnswer(invocation -> {
+                    if (hook != null) {
+                        hook.run();
+                    }
+                    batchSizes.add(((Collection<?>) invocation.getArgument(1)).size());
+                    return new int[0][];
+                });
+    }
+
+    private ActivityLogAppender appender(int capacity, int batchSize, long flushIntervalMs) {
+        return new ActivityLogAppender(jdbcTemplate, Mockito.mock(ApplicationEventPublisher.class),
+                capacity, batchSize, flushIntervalMs, 10, 5_000);
+    }
+
+    private static Entry entry(long taskId) {
+        return new Entry(taskId, 1L, "TASK_COMPLETED", "USER", "{}", LocalDateTime.now());
+    }
+}
@@ -0,0 +1,78 @@
+package com.clarity.clarity;
+
+import com.clarity.clarity.config.BoundedDataSource;
+import org.junit.jupiter.api.Test;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The connection limiter in front of the pool: permits are held while a connection is open,
+ * given back exactly once on close, and waiting callers time out like a pool would.
+ */
+class BoundedDataSourceTest {
+
+    @Test
+    void waitersGetTheConnectionOnceItIsClosed() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        Connection pooled = mock(Connection.class);
+        when(pool.getConnection()).thenReturn(pooled);
+        BoundedDataSource limited = new BoundedDataSource(pool, 1, Duration.ofSeconds(2));
+
+        Connection first = limited.getConnection();
+        CompletableFuture<Connection> waiting = CompletableFuture.supplyAsync(() -> {
+            try {
+                return limited.getConnection();
+            } catch (SQLException e) {
+                throw new IllegalStateException(e);
+            }
+        });
+        Thread.sleep(100);
+        assertFalse(waiting.isDone());
+
+        first.close();
+        first.close(); // second close must not hand out a second permit
+        Connection second = waiting.get(5, TimeUnit.SECONDS);
+
+        assertThrows(SQLTransientConnectionException.class, limited::getConnection);
+        verify(pooled, times(2)).close();
+        second.close();
+    }
+
+    @Test
+    void timesOutWhenNoPermitIsFreed() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenReturn(mock(Connection.class));
+        BoundedDataSource limited = new BoundedDataSource(pool, 1, Duration.ofMillis(50));
+
+        Connection held = limited.getConnection();
+        assertThrows(SQLTransientConnectionException.class, limited::getConnection);
+
+        held.close();
+        limited.getConnection().close();
+    }
+
+    @Test
+    void failedBorrowGivesThePermitBack() throws Exception {
+        DataSource pool = mock(DataSource.class);
+        when(pool.getConnection()).thenThrow(new SQLException("pool down")).thenReturn(mock(Connection.class));
+        BoundedDataSource limited = new BoundedDataSource(pool, 1, Duration.ofMillis(50));
+
+        SQLException failure = assertThrows(SQLException.class, limited::getConnection);
+        assertEquals("pool down", failure.getMessage());
+        limited.getConnection().close();
+    }
+}
@@ -0,0 +1,113 @@
+package com.clarity.clarity;
+
+import com.clarity.clarity.scheduler.lock.ClusterLockAspect;
+import com.clarity.clarity.scheduler.lock.ClusterLocked;
+import com.clarity.clarity.scheduler.lock.InMemoryJobLockProvider;
+import com.clarity.clarity.scheduler.lock.JobLockProvider;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.aspectj.annotation.AspectJProxyFactory;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Optional;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Lease semantics of the in-JVM lock provider and the skip-if-locked behaviour of @ClusterLocked.
+ */
+class ClusterLockTest {
+
+    private static final Duration LEASE = Duration.ofMinutes(10);
+
+    static class MutableClock extends Clock {
+        Instant now = Instant.parse("2030-01-01T00:00:00Z");
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    @Test
+    void leaseBlocksOtherHoldersUntilReleasedOrExpired() {
+        MutableClock clock = new MutableClock();
+        InMemoryJobLockProvider provider = new InMemoryJobLockProvider(clock);
+
+        Optional<JobLockProvider.JobLock> first = provider.tryLock("job", LEASE);
+        assertTrue(first.isPresent());
+        assertTrue(provider.tryLock("job", LEASE).isEmpty());
+
+        // Released after 5s but held for at least 30s
+        clock.now = clock.now.plusSeconds(5);
+        first.get().release(Duration.ofSeconds(30));
+        assertTrue(provider.tryLock("job", LEASE).isEmpty());
+
+        clock.now = clock.now.plusSeconds(30);
+        Optional<JobLockProvider.JobLock> second = provider.tryLock("job", LEASE);
+        assertTrue(second.isPresent());
+
+        // Holder crashed: no heartbeat, the lease runs out on its own
+        clock.now = clock.now.plus(LEASE);
+        assertFalse(second.get().extend(LEASE));
+        assertTrue(provider.tryLock("job", LEASE).isPresent());
+    }
+
+    static class NightlyJob {
+        final AtomicInteger runs = new AtomicInteger();
+        final CountDownLatch started = new CountDownLatch(1);
+        final CountDownLatch finish = new CountDownLatch(1);
+
+        @ClusterLocked(name = "nightly", lockAtLeastFor = "PT0S")
+        public void run() throws InterruptedException {
+            runs.incrementAndGet();
+            started.countDown();
+            finish.await(10, TimeUnit.SECONDS);
+        }
+    }
+
+    @Test
+    void concurrentRunIsSkippedWhileLockIsHeld() throws Exception {
+        NightlyJob target = new NightlyJob();
+        AspectJProxyFactory factory = new AspectJProxyFactory(target);
+        factory.setProxyTargetClass(true);
+        factory.addAspect(new ClusterLockAspect(new InMemoryJobLockProvider()));
+        NightlyJob job = factory.getProxy();
+
+        Thread holder = new Thread(() -> {
+            try {
+                job.run();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        });
+        holder.start();
+        assertTrue(target.started.await(10, TimeUnit.SECONDS));
+
+        job.run(); // another "replica" fires while the first still holds the lock
+        assertEquals(1, target.runs.get());
+
+        target.finish.countDown();
+        holder.join(10_000);
+
+        job.run(); // lock released (no minimum hold), next run goes through
+        assertEquals(2, target.runs.get());
+    }
+}
@@ -0,0 +1,76 @@
+package com.clarity.clarity;
+
+import com.clarity.clarity.domain.GoalPriority;
+import com.clarity.clarity.domain.GoalStatus;
+import com.clarity.clarity.domain.TaskStatus;
+import com.clarity.clarity.entity.Goal;
+import com.clarity.clarity.entity.Task;
+import com.clarity.clarity.repository.GoalRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Fixtures and the race harness shared by the concurrency tests.
+ */
+final class ConcurrencyFixtures {
+
+    @FunctionalInterface
+    interface Contender<T> {
+        T run(int index) throws Exception;
+    }
+
+    private ConcurrencyFixtures() {
+    }
+
+    static Goal saveGoal(GoalRepository goalRepository, long userId, String title) {
+        Goal goal = new Goal();
+        goal.setTitle(title);
+        goal.setPriority(GoalPriority.P1);
+        goal.setStatus(GoalStatus.ACTIVE);
+        goal.setUserId(userId);
+        return goalRepository.save(goal);
+    }
+
+    // Unsaved READY task of the goal's user
+    static Task newTask(Goal goal, String title) {
+        Task task = new Task();
+        task.setTitle(title);
+        task.setGoal(goal);
+        task.setStatus(TaskStatus.READY);
+        task.setUserId(goal.getUserId());
+        return task;
+    }
+
+    /**
+     * Runs {@code threads} contenders released together by one latch and returns their results in
+     * index order. Anything a contender throws fails the test.
+     */
+    static <T> List<T> race(int threads, Contender<T> contender) throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<T>> futures = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                int index = i;
+                futures.add(pool.submit(() -> {
+                    start.await();
+                    return contender.run(index);
+                }));
+            }
+            start.countDown();
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(60, TimeUnit.SECONDS));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.clarity.clarity;
+
+import com.clarity.clarity.entity.DailyCapacity;
+import com.clarity.clarity.repository.DailyCapacityRepository;
+import com.clarity.clarity.service.DailyPlanningService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Many parallel reservations against one user-day: exactly as many succeed as fit in the limit
+ * and the ledger never goes past it.
+ */
+@SpringBootTest
+class DailyCapacityLedgerConcurrencyTest {
+
+    private static final long USER_ID = 9_101L;
+    private static final LocalDate DAY = LocalDate.of(2030, 1, 15);
+    private static final int THREADS = 32;
+    private static final long BLOCK_MINUTES = 30;
+
+    @Autowired
+    private DailyPlanningService dailyPlanningService;
+
+    @Autowired
+    private DailyCapacityRepository capacityRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @AfterEach
+    void tearDown() {
+        capacityRepository.deleteById(new DailyCapacity.Key(USER_ID, DAY));
+    }
+
+    @Test
+    void parallelReservationsNeverOverbookTheDay() throws Exception {
+        // Pre-warm the row so every thread contends on the conditional UPDATE, not the insert
+        transactionTemplate.executeWithoutResult(status -> capacityRepository.ensureRow(USER_ID, DAY));
+
+        List<Boolean> outcomes = ConcurrencyFixtures.race(THREADS, i -> {
+            try {
+                dailyPlanningService.reserve(USER_ID, DAY, BLOCK_MINUTES);
+                return true;
+            } catch (IllegalArgumentException e) {
+                return false; // capacity rejection; anything else fails the race
+            }
+        });
+        long admitted = outcomes.stream().filter(ok -> ok).count();
+
+        long expected = DailyPlanningService.DAILY_CAPACITY_MINUTES / BLOCK_MINUTES;
+        long planned = capacityRepository.findById(new DailyCapacity.Key(USER_ID, DAY))
+                .orElseThrow()
+                .getPlannedMinutes();
+
+        assertEquals(expected, admitted);
+        assertEquals(THREADS - expected, outcomes.size() - admitted);
+        assertEquals(DailyPlanningService.DAILY_CAPACITY_MINUTES, planned);
+        assertTrue(planned <= DailyPlanningService.DAILY_CAPACITY_MINUTES);
+    }
+
+    @Test
+    void releaseGivesMinutesBackWithoutGoingNegative() {
+        dailyPlanningService.reserve(USER_ID, DAY, 90);
+        dailyPlanningService.release(USER_ID, DAY, 60);
+        dailyPlanningService.release(USER_ID, DAY, 60);
+
+        assertEquals(0, capacityRepository.findById(new DailyCapacity.Key(USER_ID, DAY))
+                .orElseThrow()
+                .getPlannedMinutes());
+    }
+}
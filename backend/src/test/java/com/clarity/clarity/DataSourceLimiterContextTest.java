@@ -0,0 +1,40 @@
+package com.clarity.clarity;
+
+import com.clarity.clarity.config.BoundedDataSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.core.env.Environment;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The limiter wraps the auto-configured pool even when no pool size is configured, and then
+ * sizes itself like Hikari's default pool.
+ */
+@SpringBootTest
+class DataSourceLimiterContextTest {
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private Environment environment;
+
+    @Test
+    void wrapsThePoolWithHikarisDefaultSize() throws Exception {
+        assertNull(environment.getProperty("spring.datasource.hikari.maximum-pool-size"));
+
+        BoundedDataSource bounded = assertInstanceOf(BoundedDataSource.class, dataSource);
+        assertEquals(10, bounded.getMaxConcurrency());
+        try (Connection connection = dataSource.getConnection()) {
+            assertTrue(connection.isValid(1));
+        }
+    }
+}
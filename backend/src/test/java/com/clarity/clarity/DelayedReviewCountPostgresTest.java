@@ -0,0 +1,88 @@
+package com.clarity.clarity;
+
+import com.clarity.clarity.entity.TaskActivityLog;
+import com.clarity.clarity.entity.User;
+import com.clarity.clarity.repository.TaskActivityLogRepository;
+import com.clarity.clarity.repository.UserRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * The slippage count's native query (jsonb {@code @>}): distinct tasks whose review in (from, to]
+ * accepted a delay, for one user.
+ */
+@EnabledIfEnvironmentVariable(named = PostgresIntegrationTest.URL_ENV, matches = ".+")
+class DelayedReviewCountPostgresTest extends PostgresIntegrationTest {
+
+    private static final String ACCEPT_DELAY = "{\"decision\":\"ACCEPT_DELAY\",\"oldStatus\":\"READY\",\"newStatus\":\"READY\"}";
+
+    @Autowired
+    private TaskActivityLogRepository logRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private final List<TaskActivityLog> logs = new ArrayList<>();
+    private User user;
+    private User other;
+
+    @BeforeEach
+    void setUp() {
+        user = saveUser(userRepository);
+        other = saveUser(userRepository);
+    }
+
+    @AfterEach
+    void tearDown() {
+        logRepository.deleteAll(logs);
+        userRepository.deleteAll(List.of(user, other));
+    }
+
+    @Test
+    void countsDistinctTasksWithAnAcceptedDelayInTheWindow() {
+        LocalDateTime to = LocalDateTime.now().plusMinutes(1).withNano(0);
+        LocalDateTime from = to.minusDays(7);
+
+        log(user, 1, "TASK_REVIEWED", ACCEPT_DELAY, to.minusDays(1));
+        log(user, 1, "TASK_REVIEWED", ACCEPT_DELAY, to.minusDays(2));  // same task again
+        log(user, 2, "TASK_REVIEWED", ACCEPT_DELAY, to);                // upper bound is inclusive
+        // Not counted
+        log(user, 3, "TASK_REVIEWED", "{\"decision\":\"DROP\"}", to.minusDays(1));
+        log(user, 4, "STATUS_UPDATE", ACCEPT_DELAY, to.minusDays(1));
+        log(user, 5, "TASK_REVIEWED", ACCEPT_DELAY, from);              // lower bound is exclusive
+        log(user, 6, "TASK_REVIEWED", ACCEPT_DELAY, to.minusDays(8));
+        log(user, 7, "TASK_REVIEWED", null, to.minusDays(1));
+        log(other, 8, "TASK_REVIEWED", ACCEPT_DELAY, to.minusDays(1));
+
+        assertEquals(2, logRepository.countDelayedTasksReviewedBetween(user.getId(), from, to));
+        assertEquals(0, logRepository.countDelayedTasksReviewedBetween(user.getId(), to, to.plusDays(7)));
+    }
+
+    private void log(User owner, long taskId, String action, String metadata, LocalDateTime createdAt) {
+        TaskActivityLog entry = new TaskActivityLog();
+        entry.setTaskId(taskId);
+        entry.setUserId(owner.getId());
+        entry.setAction(action);
+        entry.setPerformedBy("USER");
+        entry.setMetadata(metadata);
+        entry = logRepository.save(entry);
+        // created_at is stamped on insert and not updatable through the entity
+        jdbcTemplate.update("UPDATE task_activity_logs SET created_at = ? WHERE id = ?",
+                Timestamp.valueOf(createdAt), entry.getId());
+        logs.add(entry);
+    }
+}
@@ -0,0 +1,105 @@
+package com.clarity.clarity;
+
+import com.clarity.clarity.domain.GoalStatus;
+import com.clarity.clarity.domain.TaskStatus;
+import com.clarity.clarity.dto.response.GoalResponse;
+import com.clarity.clarity.entity.Goal;
+import com.clarity.clarity.entity.Task;
+import com.clarity.clarity.repository.GoalRepository;
+import com.clarity.clarity.repository.TaskRepository;
+import com.clarity.clarity.security.AuthenticatedUser;
+import com.clarity.clarity.service.GoalProgressService;
+import com.clarity.clarity.service.TaskService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Parallel completions of one goal's tasks: the counters lose no update, the goal summary reads
+ * them back, and the goal is flipped to DONE exactly once.
+ */
+@SpringBootTest
+class GoalProgressConcurrencyTest {
+
+    private static final long USER_ID = 9_401L;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private GoalProgressService goalProgressService;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Goal goal;
+    private List<Task> tasks;
+
+    @BeforeEach
+    void setUp() {
+        goal = ConcurrencyFixtures.saveGoal(goalRepository, USER_ID, "Counters");
+        tasks = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            tasks.add(ConcurrencyFixtures.newTask(goal, "Step " + i));
+        }
+        tasks = taskRepository.saveAll(tasks);
+        transactionTemplate.executeWithoutResult(status -> goalRepository.adjustTaskCounters(goal.getId(), THREADS, 0));
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll(tasks);
+        goalRepository.deleteById(goal.getId());
+    }
+
+    @Test
+    void parallelClosesLoseNoUpdateAndFinishTheGoalOnce() throws Exception {
+        List<Boolean> flipped = ConcurrencyFixtures.race(THREADS, i -> transactionTemplate.execute(status -> {
+            goalProgressService.statusChanged(goal.getId(), TaskStatus.READY, TaskStatus.DONE);
+            return goalProgressService.completeGoalIfFinished(goal.getId());
+        }));
+
+        Goal after = goalRepository.findById(goal.getId()).orElseThrow();
+        assertEquals(0, after.getOpenTaskCount());
+        assertEquals(THREADS, after.getClosedTaskCount());
+        assertEquals(GoalStatus.DONE, after.getStatus());
+        assertEquals(1, flipped.stream().filter(done -> done).count(), "the goal is marked DONE exactly once");
+    }
+
+    @Test
+    void parallelTaskCompletionsAreAllCountedInTheGoalSummary() throws Exception {
+        ConcurrencyFixtures.race(THREADS, i -> {
+            AuthenticatedUser principal = new AuthenticatedUser(USER_ID, "counters@test.com", null, "USER", 0);
+            SecurityContextHolder.getContext().setAuthentication(
+                    new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+            try {
+                taskService.completeTask(tasks.get(i).getId());
+            } finally {
+                SecurityContextHolder.clearContext();
+            }
+            return null;
+        });
+
+        GoalResponse summary = goalRepository.findSummaryByIdAndUserId(goal.getId(), USER_ID).orElseThrow();
+        assertEquals(THREADS, summary.totalTasks());
+        assertEquals(THREADS, summary.completedTasks());
+        assertEquals(GoalStatus.DONE, summary.status());
+    }
+}
@@ -0,0 +1,67 @@
+package com.clarity.clarity;
+
+import com.clarity.clarity.web.ConcurrencyLimitFilter;
+import com.clarity.clarity.web.ConcurrencyLimitFilter.EndpointClass;
+import com.clarity.clarity.web.GradientLimit;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The adaptive limit behind the API load shedding: grows while latency holds, shrinks when it
+ * rises or requests fail, and ignores samples from an under-used service.
+ */
+class GradientLimitTest {
+
+    private static final long MS = 1_000_000;
+
+    @Test
+    void growsWhileLatencyHoldsAndShrinksWhenItRises() {
+        GradientLimit limit = new GradientLimit(10, 2, 100, 0.2, 1.5);
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MS, limit.getLimit(), false);
+        }
+        int grown = limit.getLimit();
+        assertTrue(grown > 10, "limit should grow at steady latency, was " + grown);
+
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(80 * MS, limit.getLimit(), false);
+        }
+        assertTrue(limit.getLimit() < grown / 2, "limit should shrink when latency rises, was " + limit.getLimit());
+    }
+
+    @Test
+    void neverLeavesItsBounds() {
+        GradientLimit limit = new GradientLimit(10, 4, 20, 1.0, 1.5);
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(MS, limit.getLimit(), false);
+        }
+        assertEquals(20, limit.getLimit());
+        for (int i = 0; i < 200; i++) {
+            limit.onSample(MS, limit.getLimit(), true);
+        }
+        assertEquals(4, limit.getLimit());
+    }
+
+    @Test
+    void ignoresSamplesFromAnUnderusedService() {
+        GradientLimit limit = new GradientLimit(10, 2, 100, 0.2, 1.5);
+        for (int i = 0; i < 50; i++) {
+            limit.onSample(10 * MS, 1, false);
+        }
+        assertEquals(10, limit.getLimit());
+    }
+
+    @Test
+    void classifiesEndpoints() {
+        assertEquals(EndpointClass.EXPENSIVE, ConcurrencyLimitFilter.classify("GET", "/insights/weekly"));
+        assertEquals(EndpointClass.CHEAP, ConcurrencyLimitFilter.classify("GET", "/tasks/42"));
+        assertEquals(EndpointClass.STANDARD, ConcurrencyLimitFilter.classify("PUT", "/tasks/42"));
+        assertEquals(EndpointClass.STANDARD, ConcurrencyLimitFilter.classify("GET", "/tasks"));
+        assertEquals(EndpointClass.STANDARD, ConcurrencyLimitFilter.classify("POST", "/time-blocks"));
+        assertNull(ConcurrencyLimitFilter.classify("POST", "/auth/login"));
+        assertNull(ConcurrencyLimitFilter.classify("GET", "/actuator/prometheus"));
+    }
+}
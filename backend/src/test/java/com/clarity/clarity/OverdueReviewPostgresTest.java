@@ -0,0 +1,101 @@
+package com.clarity.clarity;
+
+import com.clarity.clarity.domain.TaskStatus;
+import com.clarity.clarity.entity.Goal;
+import com.clarity.clarity.entity.Task;
+import com.clarity.clarity.entity.User;
+import com.clarity.clarity.repository.GoalRepository;
+import com.clarity.clarity.repository.JobCheckpointRepository;
+import com.clarity.clarity.repository.TaskRepository;
+import com.clarity.clarity.repository.UserRepository;
+import com.clarity.clarity.service.OverdueTaskJobService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+import org.springframework.beans.factory.annotation.Autowired;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The overdue review's real SQL: a row locked by someone else is skipped by the first pass and
+ * still reviewed by the waiting pass, and the scheduled bucket leaves no checkpoints behind.
+ */
+@EnabledIfEnvironmentVariable(named = PostgresIntegrationTest.URL_ENV, matches = ".+")
+class OverdueReviewPostgresTest extends PostgresIntegrationTest {
+
+    @Autowired
+    private OverdueTaskJobService overdueTaskJobService;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private JobCheckpointRepository checkpointRepository;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private User user;
+    private List<Task> tasks;
+
+    @BeforeEach
+    void setUp() {
+        user = saveUser(userRepository);
+        Goal goal = ConcurrencyFixtures.saveGoal(goalRepository, user.getId(), "Overdue");
+        tasks = new ArrayList<>();
+        for (int i = 0; i < 12; i++) {
+            Task task = ConcurrencyFixtures.newTask(goal, "Late " + i);
+            task.setStatus(i % 4 == 0 ? TaskStatus.IN_PROGRESS : TaskStatus.READY);
+            task.setDueDatetime(LocalDateTime.now().minusDays(1).plusMinutes(i));
+            tasks.add(task);
+        }
+        tasks = taskRepository.saveAll(tasks);
+    }
+
+    @Test
+    void lockedRowIsReviewedOnceItsLockIsReleased() throws Exception {
+        Long lockedId = tasks.get(1).getId();
+        CompletableFuture<Long> review;
+        try (Connection other = dataSource.getConnection()) {
+            other.setAutoCommit(false);
+            try (PreparedStatement lock = other.prepareStatement("SELECT id FROM tasks WHERE id = ? FOR UPDATE")) {
+                lock.setLong(1, lockedId);
+                lock.executeQuery().close();
+            }
+
+            review = CompletableFuture.supplyAsync(() ->
+                    overdueTaskJobService.reviewOverdueForUsers(List.of(user.getId()), LocalDateTime.now()));
+            Thread.sleep(500);
+            assertFalse(review.isDone(), "the waiting pass queues behind the locked row");
+            other.rollback();
+        }
+
+        assertEquals(12L, review.get(30, TimeUnit.SECONDS));
+        for (Task task : taskRepository.findAllById(tasks.stream().map(Task::getId).toList())) {
+            if (task.getStatus() == TaskStatus.IN_PROGRESS) {
+                assertTrue(task.isNeedsReview(), "in-progress task " + task.getId() + " flagged");
+            } else {
+                assertEquals(TaskStatus.SKIPPED, task.getStatus(), "ready task " + task.getId() + " skipped");
+            }
+        }
+        assertTrue(checkpointRepository.findAll().stream()
+                .noneMatch(c -> OverdueTaskJobService.USER_REVIEW_JOB.equals(c.getJobName())));
+    }
+}
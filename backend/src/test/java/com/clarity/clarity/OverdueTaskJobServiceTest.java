@@ -0,0 +1,159 @@
+package com.clarity.clarity;
+
+import com.clarity.clarity.entity.JobCheckpoint;
+import com.clarity.clarity.repository.JobCheckpointRepository;
+import com.clarity.clarity.service.GoalProgressService;
+import com.clarity.clarity.service.OverdueTaskJobService;
+import com.clarity.clarity.service.TaskActivityLogService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.MapSqlParameterSource;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.jdbc.core.namedparam.SqlParameterSource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+
+/**
+ * Chunk loop of the overdue review, with the SQL stubbed: passes end only on an empty chunk, rows
+ * skipped as locked are picked up by the waiting pass, runs resume from their checkpoints, and the
+ * scheduled per-user path goes through the same partitions.
+ */
+class OverdueTaskJobServiceTest {
+
+    private record Call(boolean skipLocked, long afterId, int partition, Object userIds, Timestamp cutoff) {
+    }
+
+    private final NamedParameterJdbcTemplate jdbc = Mockito.mock(NamedParameterJdbcTemplate.class);
+    private final JobCheckpointRepository checkpointRepository = Mockito.mock(JobCheckpointRepository.class);
+    private final List<Call> calls = new CopyOnWriteArrayList<>();
+    // Task ids each chunk "updates", per pass; an exhausted script returns empty chunks
+    private final Deque<List<Long>> skipLockedChunks = new ArrayDeque<>();
+    private final Deque<List<Long>> waitingChunks = new ArrayDeque<>();
+
+    @BeforeEach
+    void setUp() {
+        Mockito.when(checkpointRepository.save(any())).thenAnswer(invocation -> invocation.getArgument(0));
+        Mockito.when(checkpointRepository.saveAll(ArgumentMatchers.<List<JobCheckpoint>>any()))
+                .thenAnswer(invocation -> new ArrayList<>(invocation.<Collection<JobCheckpoint>>getArgument(0)));
+
+        Mockito.when(jdbc.query(anyString(), any(SqlParameterSource.class), ArgumentMatchers.<RowMapper<Object>>any()))
+                .thenAnswer(invocation -> {
+                    String sql = invocation.getArgument(0);
+                    MapSqlParameterSource params = invocation.getArgument(1);
+                    RowMapper<Object> mapper = invocation.getArgument(2);
+                    boolean skipLocked = sql.contains("SKIP LOCKED");
+                    calls.add(new Call(skipLocked, (Long) params.getValue("afterId"), (Integer) params.getValue("partition"),
+                            params.hasValue("userIds") ? params.getValue("userIds") : null,
+                            (Timestamp) params.getValue("cutoff")));
+                    List<Long> ids = (skipLocked ? skipLockedChunks : waitingChunks).poll();
+                    return ids == null ? List.of() : rows(mapper, ids);
+                });
+    }
+
+    @Test
+    void shortChunkDoesNotEndThePassAndLockedRowsAreSweptUp() {
+        skipLockedChunks.add(List.of(1L, 2L));     // short: row 3 was locked
+        skipLockedChunks.add(List.of(4L, 5L, 6L));
+        waitingChunks.add(List.of(3L));
+
+        long processed = service(3, 1).reviewOverdue();
+
+        assertEquals(6, processed);
+        List<Call> skipLocked = calls.stream().filter(Call::skipLocked).toList();
+        List<Call> waiting = calls.stream().filter(c -> !c.skipLocked()).toList();
+        assertEquals(List.of(0L, 2L, 6L), skipLocked.stream().map(Call::afterId).toList(),
+                "the SKIP LOCKED pass keeps going after a short chunk and ends on an empty one");
+        assertEquals(List.of(0L, 3L), waiting.stream().map(Call::afterId).toList(),
+                "the waiting pass starts over from the beginning of the partition");
+    }
+
+    @Test
+    void resumesFromUnfinishedCheckpointsWithTheirCutoff() {
+        LocalDateTime originalCutoff = LocalDateTime.now().minusMinutes(30).withNano(0);
+        JobCheckpoint done = checkpoint(0, originalCutoff, 900, true);
+        JobCheckpoint halfway = checkpoint(1, originalCutoff, 41, false);
+        Mockito.when(checkpointRepository.findByJobNameAndRunKey(eq(OverdueTaskJobService.REVIEW_JOB), anyString()))
+                .thenReturn(List.of(done, halfway));
+
+        service(3, 2).reviewOverdue();
+
+        assertTrue(calls.stream().allMatch(c -> c.partition() == 1), "completed partitions are not rerun");
+        assertEquals(41L, calls.get(0).afterId());
+        assertEquals(Timestamp.valueOf(originalCutoff), calls.get(0).cutoff());
+        Mockito.verify(checkpointRepository, Mockito.never()).deleteAll(any());
+    }
+
+    @Test
+    void scheduledUserBucketRunsThroughThePartitionsAndDropsItsCheckpoints() {
+        List<Long> bucket = List.of(7L, 8L, 9L);
+        Map<Integer, Long> skipLockedCallsPerPartition = new HashMap<>();
+
+        service(3, 2).reviewOverdueForUsers(bucket, LocalDateTime.now());
+
+        calls.stream().filter(Call::skipLocked)
+                .forEach(c -> skipLockedCallsPerPartition.merge(c.partition(), 1L, Long::sum));
+        assertEquals(Map.of(0, 1L, 1, 1L), skipLockedCallsPerPartition);
+        assertTrue(calls.stream().allMatch(c -> bucket.equals(c.userIds())));
+        Mockito.verify(checkpointRepository, Mockito.times(2))
+                .findByJobNameAndRunKey(eq(OverdueTaskJobService.USER_REVIEW_JOB), anyString()); // resume probe, cleanup
+        Mockito.verify(checkpointRepository, Mockito.times(2)).deleteAll(any());  // stale runs, then this one
+    }
+
+    private OverdueTaskJobService service(int chunkSize, int parallelism) {
+        return new OverdueTaskJobService(jdbc,
+                new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)),
+                checkpointRepository,
+                Mockito.mock(TaskActivityLogService.class),
+                Mockito.mock(GoalProgressService.class),
+                Mockito.mock(ApplicationEventPublisher.class),
+                chunkSize, parallelism);
+    }
+
+    private static JobCheckpoint checkpoint(int partition, LocalDateTime cutoff, long lastId, boolean completed) {
+        JobCheckpoint checkpoint = new JobCheckpoint();
+        checkpoint.setJobName(OverdueTaskJobService.REVIEW_JOB);
+        checkpoint.setRunKey(cutoff.toLocalDate().toString());
+        checkpoint.setPartitionNo(partition);
+        checkpoint.setCutoff(cutoff);
+        checkpoint.setLastId(lastId);
+        checkpoint.setCompleted(completed);
+        return checkpoint;
+    }
+
+    // READY tasks that the chunk turned SKIPPED
+    private static List<Object> rows(RowMapper<Object> mapper, List<Long> ids) throws Exception {
+        List<Object> rows = new ArrayList<>();
+        for (int i = 0; i < ids.size(); i++) {
+            ResultSet rs = Mockito.mock(ResultSet.class);
+            Mockito.when(rs.getLong("id")).thenReturn(ids.get(i));
+            Mockito.when(rs.getLong("user_id")).thenReturn(1L);
+            Mockito.when(rs.getLong("goal_id")).thenReturn(1L);
+            Mockito.when(rs.getString("old_status")).thenReturn("READY");
+            Mockito.when(rs.getString("new_status")).thenReturn("SKIPPED");
+            rows.add(mapper.mapRow(rs, i));
+        }
+        return rows;
+    }
+}
@@ -0,0 +1,58 @@
+package com.clarity.clarity;
+
+import com.clarity.clarity.entity.User;
+import com.clarity.clarity.repository.UserRepository;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Base for tests of Postgres-only SQL (UPDATE ... RETURNING, SKIP LOCKED, jsonb operators) that H2
+ * cannot run. Skipped unless CLARITY_TEST_POSTGRES_URL points at a disposable database, e.g.
+ * <pre>
+ * CLARITY_TEST_POSTGRES_URL=jdbc:postgresql://localhost:5432/clarity_test \
+ * CLARITY_TEST_POSTGRES_USER=postgres CLARITY_TEST_POSTGRES_PASSWORD=postgres mvn test
+ * </pre>
+ * The schema is built by the Flyway migrations, as in production. JUnit conditions are not
+ * inherited, so each subclass repeats
+ * {@code @EnabledIfEnvironmentVariable(named = PostgresIntegrationTest.URL_ENV, matches = ".+")}.
+ */
+@SpringBootTest
+abstract class PostgresIntegrationTest {
+
+    static final String URL_ENV = "CLARITY_TEST_POSTGRES_URL";
+
+    @DynamicPropertySource
+    static void postgres(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> System.getenv(URL_ENV));
+        registry.add("spring.datasource.username", PostgresIntegrationTest::user);
+        registry.add("spring.datasource.password", PostgresIntegrationTest::password);
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.jpa.database-platform", () -> "org.hibernate.dialect.PostgreSQLDialect");
+        registry.add("spring.jpa.hibernate.ddl-auto", () -> "validate");
+        registry.add("spring.flyway.enabled", () -> "true");
+        registry.add("spring.flyway.user", PostgresIntegrationTest::user);
+        registry.add("spring.flyway.password", PostgresIntegrationTest::password);
+    }
+
+    static String user() {
+        return System.getenv().getOrDefault("CLARITY_TEST_POSTGRES_USER", "postgres");
+    }
+
+    static String password() {
+        return System.getenv().getOrDefault("CLARITY_TEST_POSTGRES_PASSWORD", "postgres");
+    }
+
+    static User saveUser(UserRepository userRepository) {
+        User user = new User();
+        user.setEmail("pg-" + UUID.randomUUID() + "@test.com");
+        user.setPassword("unused");
+        user.setFullName("Postgres Test");
+        user.setRole("USER");
+        user.setNextReviewAt(LocalDateTime.now().plusDays(1));
+        return userRepository.save(user);
+    }
+}
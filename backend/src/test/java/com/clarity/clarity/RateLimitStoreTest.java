@@ -0,0 +1,79 @@
+package com.clarity.clarity;
+
+import com.clarity.clarity.web.CaffeineRateLimitStore;
+import com.clarity.clarity.web.RateLimitStore.Bandwidth;
+import com.clarity.clarity.web.RateLimitStore.Decision;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Token buckets in the in-memory store: bursts up to capacity, continuous refill, independent
+ * keys, and no token handed out twice under contention.
+ */
+class RateLimitStoreTest {
+
+    private static final long SECOND = 1_000_000_000L;
+
+    @Test
+    void allowsABurstThenRefillsOverTime() {
+        CaffeineRateLimitStore store = new CaffeineRateLimitStore(1000, 10);
+        Bandwidth bandwidth = new Bandwidth(3, 1.0); // 3 burst, 1 token per second
+
+        for (int i = 2; i >= 0; i--) {
+            Decision decision = store.tryConsume("user-1:tasks", bandwidth, 0);
+            assertTrue(decision.allowed());
+            assertEquals(i, decision.remaining());
+        }
+        Decision denied = store.tryConsume("user-1:tasks", bandwidth, 0);
+        assertFalse(denied.allowed());
+        assertEquals(1, denied.retryAfterSeconds());
+        assertEquals(3, denied.resetSeconds());
+
+        assertTrue(store.tryConsume("user-2:tasks", bandwidth, 0).allowed(), "other users have their own bucket");
+
+        assertTrue(store.tryConsume("user-1:tasks", bandwidth, SECOND).allowed());
+        assertFalse(store.tryConsume("user-1:tasks", bandwidth, SECOND).allowed());
+        assertEquals(2, store.tryConsume("user-1:tasks", bandwidth, 100 * SECOND).remaining(), "refill stops at capacity");
+    }
+
+    @Test
+    void concurrentCallersNeverShareAToken() throws Exception {
+        CaffeineRateLimitStore store = new CaffeineRateLimitStore(1000, 10);
+        Bandwidth bandwidth = new Bandwidth(100, 0.001);
+        int threads = 16;
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<Integer>> results = new ArrayList<>();
+            for (int t = 0; t < threads; t++) {
+                results.add(pool.submit(() -> {
+                    start.await();
+                    int allowed = 0;
+                    for (int i = 0; i < 50; i++) {
+                        if (store.tryConsume("user-1:time-blocks", bandwidth, 0).allowed()) allowed++;
+                    }
+                    return allowed;
+                }));
+            }
+            start.countDown();
+            int total = 0;
+            for (Future<Integer> result : results) {
+                total += result.get(10, TimeUnit.SECONDS);
+            }
+            assertEquals(100, total);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
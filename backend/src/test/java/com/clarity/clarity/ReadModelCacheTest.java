@@ -0,0 +1,65 @@
+package com.clarity.clarity;
+
+import com.clarity.clarity.cache.LocalInvalidationBus;
+import com.clarity.clarity.cache.ReadModelCache;
+import com.clarity.clarity.cache.ReadModelCache.Key;
+import com.clarity.clarity.cache.UserDataChanged;
+import com.clarity.clarity.service.SingleFlight;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Per-user read models: served from memory until a change event for that user goes through the
+ * bus, and never repopulated by a read that started before the change.
+ */
+class ReadModelCacheTest {
+
+    private final LocalInvalidationBus bus = new LocalInvalidationBus();
+    private final ReadModelCache cache = new ReadModelCache(
+            new SingleFlight(Mockito.mock(PlatformTransactionManager.class)), bus, true, 100, 60);
+
+    @Test
+    void servesHitsUntilTheUsersDataChanges() {
+        AtomicInteger reads = new AtomicInteger();
+
+        assertEquals(1, cache.get(Key.of("goals", 1L), reads::incrementAndGet));
+        assertEquals(1, cache.get(Key.of("goals", 1L), reads::incrementAndGet));
+        assertEquals(2, cache.get(Key.of("goals", 2L), reads::incrementAndGet), "users are cached separately");
+        assertEquals(3, cache.get(Key.of("tasks", 1L, null, 50), reads::incrementAndGet), "parameters are part of the key");
+
+        cache.onUserDataChanged(UserDataChanged.of(1L)); // no transaction: delivered right away
+
+        assertEquals(4, cache.get(Key.of("goals", 1L), reads::incrementAndGet));
+        assertEquals(5, cache.get(Key.of("tasks", 1L, null, 50), reads::incrementAndGet));
+        assertEquals(2, cache.get(Key.of("goals", 2L), reads::incrementAndGet), "other users keep their entries");
+    }
+
+    @Test
+    void readStartedBeforeAChangeIsNotCachedAfterIt() {
+        List<String> stale = cache.get(Key.of("day-blocks", 7L, "2026-10-17"), () -> {
+            bus.publish(List.of(7L)); // the write commits while this read is running
+            return List.of("before");
+        });
+        assertEquals(List.of("before"), stale);
+
+        assertEquals(List.of("after"), cache.get(Key.of("day-blocks", 7L, "2026-10-17"), () -> List.of("after")));
+    }
+
+    @Test
+    void disabledCacheAlwaysReads() {
+        ReadModelCache disabled = new ReadModelCache(
+                new SingleFlight(Mockito.mock(PlatformTransactionManager.class)), bus, false, 100, 60);
+        AtomicInteger reads = new AtomicInteger();
+
+        disabled.get(Key.of("weekly-insights", 1L), reads::incrementAndGet);
+        disabled.get(Key.of("weekly-insights", 1L), reads::incrementAndGet);
+
+        assertEquals(2, reads.get());
+    }
+}
@@ -0,0 +1,89 @@
+package com.clarity.clarity;
+
+import com.clarity.clarity.domain.RecurrenceType;
+import com.clarity.clarity.recurrence.RecurrenceRule;
+import com.clarity.clarity.recurrence.RecurrenceRules;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compiled recurrence rules: legacy patterns keep their old meaning, the KEY=VALUE form adds
+ * intervals, month days and UNTIL / COUNT limits.
+ */
+class RecurrenceRuleTest {
+
+    // A Thursday
+    private static final LocalDateTime THU = LocalDateTime.of(2026, 3, 5, 9, 30);
+
+    private static LocalDateTime next(RecurrenceType type, String pattern, LocalDateTime current) {
+        return RecurrenceRule.compile(type, pattern).nextAfter(current).orElseThrow();
+    }
+
+    @Test
+    void legacyPatternsBehaveAsBefore() {
+        assertEquals(THU.plusDays(1), next(RecurrenceType.DAILY, null, THU));
+        assertEquals(THU.plusDays(4), next(RecurrenceType.DAILY, "MONDAY, WEDNESDAY", THU));
+        assertEquals(THU.plusDays(6), next(RecurrenceType.DAILY, "wednesday", THU));
+        assertEquals(THU.plusWeeks(1), next(RecurrenceType.WEEKLY, null, THU));
+        assertEquals(LocalDateTime.of(2026, 2, 28, 8, 0),
+                next(RecurrenceType.MONTHLY, null, LocalDateTime.of(2026, 1, 31, 8, 0)));
+    }
+
+    @Test
+    void intervalsAndMonthDays() {
+        assertEquals(THU.plusDays(3), next(RecurrenceType.DAILY, "INTERVAL=3", THU));
+        // Friday this week, then Monday two weeks on
+        RecurrenceRule rule = RecurrenceRule.compile(RecurrenceType.WEEKLY, "INTERVAL=2;BYDAY=MO,FR");
+        LocalDateTime friday = rule.nextAfter(THU).orElseThrow();
+        assertEquals(THU.plusDays(1), friday);
+        assertEquals(THU.plusDays(11), rule.nextAfter(friday).orElseThrow());
+
+        assertEquals(LocalDateTime.of(2026, 3, 31, 9, 30), next(RecurrenceType.MONTHLY, "BYMONTHDAY=-1", THU));
+        assertEquals(LocalDateTime.of(2026, 4, 30, 9, 30),
+                next(RecurrenceType.MONTHLY, "BYMONTHDAY=31", LocalDateTime.of(2026, 3, 31, 9, 30)));
+    }
+
+    @Test
+    void untilAndCountBoundTheSeries() {
+        RecurrenceRule until = RecurrenceRule.compile(RecurrenceType.DAILY, "UNTIL=2026-03-06");
+        assertEquals(THU.plusDays(1), until.nextAfter(THU).orElseThrow());
+        assertTrue(until.nextAfter(THU.plusDays(1)).isEmpty());
+
+        RecurrenceRule count = RecurrenceRule.compile(RecurrenceType.WEEKLY, "BYDAY=TU,TH;COUNT=5");
+        List<LocalDateTime> all = count.occurrences(THU, THU, THU.plusYears(1));
+        assertEquals(5, all.size());
+        assertEquals(THU, all.get(0));
+        assertEquals(THU.plusDays(14), all.get(4));
+        // Window starting in the second week: occurrences in skipped periods still count
+        assertEquals(List.of(THU.plusDays(12), THU.plusDays(14)),
+                count.occurrences(THU, THU.plusDays(8), THU.plusYears(1)));
+    }
+
+    @Test
+    void enumeratesWindowFarFromAnchor() {
+        RecurrenceRule rule = RecurrenceRule.compile(RecurrenceType.DAILY, "INTERVAL=2");
+        LocalDateTime from = THU.plusYears(5);
+        List<LocalDateTime> window = rule.occurrences(THU, from, from.plusDays(6));
+        assertEquals(3, window.size());
+        assertTrue(window.stream().allMatch(d -> ChronoUnit.DAYS.between(THU, d) % 2 == 0));
+    }
+
+    @Test
+    void invalidPatternsAreRejectedAndValidOnesCached() {
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.compile(RecurrenceType.DAILY, "FUNDAY"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.compile(RecurrenceType.WEEKLY, "INTERVAL=0"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.compile(RecurrenceType.WEEKLY, "FREQ=MONTHLY"));
+        assertThrows(IllegalArgumentException.class, () -> RecurrenceRule.compile(RecurrenceType.WEEKLY, "BYMONTHDAY=3"));
+
+        RecurrenceRules rules = new RecurrenceRules(10);
+        assertSame(rules.get(RecurrenceType.WEEKLY, "BYDAY=MO"), rules.get(RecurrenceType.WEEKLY, " BYDAY=MO "));
+    }
+}
@@ -0,0 +1,84 @@
+package com.clarity.clarity;
+
+import com.clarity.clarity.recurrence.RecurrenceSeriesBackfill;
+import com.clarity.clarity.recurrence.RecurrenceSeriesBackfill.Assignment;
+import com.clarity.clarity.recurrence.RecurrenceSeriesBackfill.Row;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Series backfill (V24): rows join the chain that expects their due date, look-alike series stay
+ * apart, and race duplicates keep their series without taking the slot.
+ */
+class RecurrenceSeriesBackfillTest {
+
+    private static final LocalDateTime MON_9 = LocalDateTime.of(2026, 3, 2, 9, 0);
+    private static final LocalDateTime MON_17 = LocalDateTime.of(2026, 3, 2, 17, 0);
+
+    private final RecurrenceSeriesBackfill backfill = new RecurrenceSeriesBackfill();
+
+    @Test
+    void lookAlikeSeriesWithInterleavedIdsStayApart() {
+        // Two daily "Standup" series on one goal, one at 09:00 and one at 17:00
+        assertSlot(1, MON_9, add(1, "Standup", "DAILY", null, MON_9));
+        assertSlot(2, MON_17, add(2, "Standup", "DAILY", null, MON_17));
+        assertSlot(1, MON_9.plusDays(1), add(3, "Standup", "DAILY", null, MON_9.plusDays(1)));
+        assertSlot(2, MON_17.plusDays(1), add(4, "Standup", "DAILY", null, MON_17.plusDays(1)));
+        assertSlot(1, MON_9.plusDays(2), add(5, "Standup", "DAILY", null, MON_9.plusDays(2)));
+        // Same rule and phase but not the slot the first series waits for: a series of its own
+        assertSlot(6, MON_9.plusDays(7), add(6, "Standup", "DAILY", null, MON_9.plusDays(7)));
+    }
+
+    @Test
+    void raceDuplicateJoinsTheSeriesWithoutASlot() {
+        add(10, "Review", "WEEKLY", null, MON_9);
+        assertSlot(10, MON_9.plusWeeks(1), add(11, "Review", "WEEKLY", null, MON_9.plusWeeks(1)));
+
+        Assignment duplicate = add(12, "Review", "WEEKLY", null, MON_9.plusWeeks(1));
+        assertEquals(10, duplicate.seriesId());
+        assertNull(duplicate.occurrenceAt());
+        // The chain goes on from the first copy
+        assertSlot(10, MON_9.plusWeeks(2), add(13, "Review", "WEEKLY", null, MON_9.plusWeeks(2)));
+    }
+
+    @Test
+    void ruleOwnerAndGoalAreAllPartOfTheChain() {
+        add(20, "Gym", "DAILY", "MONDAY, WEDNESDAY", MON_9);
+        // Next after Monday under the legacy day list is Wednesday, not Tuesday
+        assertSlot(21, MON_9.plusDays(1), add(21, "Gym", "DAILY", "MONDAY, WEDNESDAY ", MON_9.plusDays(1)));
+        assertSlot(20, MON_9.plusDays(2), add(22, "Gym", "DAILY", " MONDAY, WEDNESDAY", MON_9.plusDays(2)));
+
+        assertSlot(23, MON_9.plusDays(1), backfill.add(new Row(23, 2L, 1L, "Gym", "DAILY", null, MON_9.plusDays(1))));
+        assertSlot(24, MON_9.plusDays(1), backfill.add(new Row(24, 1L, 2L, "Gym", "DAILY", null, MON_9.plusDays(1))));
+    }
+
+    @Test
+    void rowsWithoutADueDateOrAValidRuleStandAlone() {
+        Assignment undated = add(30, "Someday", "DAILY", null, null);
+        assertEquals(30, undated.seriesId());
+        assertNull(undated.occurrenceAt());
+
+        add(31, "Broken", "MONTHLY", "BYMONTHDAY=99", MON_9);
+        assertSlot(32, MON_9.plusMonths(1), add(32, "Broken", "MONTHLY", "BYMONTHDAY=99", MON_9.plusMonths(1)));
+    }
+
+    @Test
+    void rowsMustComeInIdOrder() {
+        add(41, "Standup", "DAILY", null, MON_9);
+        assertThrows(IllegalArgumentException.class, () -> add(40, "Standup", "DAILY", null, MON_9));
+    }
+
+    private Assignment add(long id, String title, String type, String pattern, LocalDateTime due) {
+        return backfill.add(new Row(id, 1L, 1L, title, type, pattern, due));
+    }
+
+    private static void assertSlot(long series, LocalDateTime occurrence, Assignment assignment) {
+        assertEquals(series, assignment.seriesId(), "series of task " + assignment.id());
+        assertEquals(occurrence, assignment.occurrenceAt(), "occurrence of task " + assignment.id());
+    }
+}
@@ -0,0 +1,107 @@
+package com.clarity.clarity;
+
+import com.clarity.clarity.domain.RecurrenceType;
+import com.clarity.clarity.entity.Goal;
+import com.clarity.clarity.entity.Task;
+import com.clarity.clarity.repository.GoalRepository;
+import com.clarity.clarity.repository.TaskRepository;
+import com.clarity.clarity.service.RecurrenceService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Racing generators of the same recurring instance insert it exactly once, and COUNT ends the series.
+ */
+@SpringBootTest
+class RecurrenceSeriesConcurrencyTest {
+
+    private static final long USER_ID = 9_301L;
+    private static final int THREADS = 16;
+
+    @Autowired
+    private RecurrenceService recurrenceService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private Goal goal;
+    private Long headId;
+    private LocalDateTime due;
+
+    @BeforeEach
+    void setUp() {
+        due = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.MINUTES);
+
+        goal = ConcurrencyFixtures.saveGoal(goalRepository, USER_ID, "Habits");
+
+        headId = transactionTemplate.execute(status -> {
+            Task task = ConcurrencyFixtures.newTask(goal, "Stretch");
+            task.setDueDatetime(due);
+            task.setRecurrenceType(RecurrenceType.DAILY);
+            task.setRecurrencePattern("COUNT=3");
+            Task saved = taskRepository.save(task);
+            recurrenceService.startSeries(saved);
+            return saved.getId();
+        });
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll(seriesTasks());
+        goalRepository.delete(goal);
+    }
+
+    private List<Task> seriesTasks() {
+        return taskRepository.findAll().stream()
+                .filter(t -> headId.equals(t.getSeriesId()))
+                .sorted(Comparator.comparing(Task::getOccurrenceAt))
+                .toList();
+    }
+
+    private boolean createNext(Long taskId) {
+        return transactionTemplate.execute(status ->
+                recurrenceService.createNextInstance(taskRepository.findById(taskId).orElseThrow()));
+    }
+
+    @Test
+    void repeatedGenerationCreatesTheNextInstanceOnce() throws Exception {
+        List<Boolean> created = ConcurrencyFixtures.race(THREADS, i -> createNext(headId));
+
+        assertEquals(1, created.stream().filter(ok -> ok).count());
+        assertFalse(createNext(headId)); // slot taken: a retry is a no-op
+        List<Task> series = seriesTasks();
+        assertEquals(2, series.size());
+        assertEquals(due.plusDays(1), series.get(1).getOccurrenceAt());
+    }
+
+    @Test
+    void countEndsTheSeries() {
+        Long current = headId;
+        for (int i = 0; i < 2; i++) {
+            assertTrue(createNext(current));
+            List<Task> series = seriesTasks();
+            current = series.get(series.size() - 1).getId();
+        }
+        assertFalse(createNext(current)); // third instance was the last one
+        assertEquals(3, seriesTasks().size());
+    }
+}
@@ -0,0 +1,147 @@
+package com.clarity.clarity;
+
+import org.flywaydb.core.Flyway;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfEnvironmentVariable;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * V23/V24 on a pre-series schema: look-alike series and a race duplicate, written at V22, come out
+ * as separate series and the unique (series_id, occurrence_at) index is built. Runs the migrations
+ * in a schema of its own, which it drops afterwards.
+ */
+@EnabledIfEnvironmentVariable(named = PostgresIntegrationTest.URL_ENV, matches = ".+")
+class RecurrenceSeriesMigrationPostgresTest {
+
+    private static final String SCHEMA = "recurrence_backfill_test";
+    private static final LocalDateTime MON_9 = LocalDateTime.of(2026, 3, 2, 9, 0);
+    private static final LocalDateTime MON_17 = LocalDateTime.of(2026, 3, 2, 17, 0);
+
+    private record Slot(long seriesId, LocalDateTime occurrenceAt) {
+    }
+
+    @BeforeEach
+    void cleanSchema() {
+        flyway(null).clean();
+    }
+
+    @AfterEach
+    void dropSchema() {
+        flyway(null).clean();
+    }
+
+    @Test
+    void backfillKeepsLookAlikeSeriesApart() throws Exception {
+        flyway("22").migrate();
+
+        List<Long> ids = new ArrayList<>();
+        try (Connection connection = connect()) {
+            long goalId = insertGoal(connection);
+            ids.add(insertTask(connection, goalId, MON_9));                 // series A
+            ids.add(insertTask(connection, goalId, MON_17));                // series B, same title and rule
+            ids.add(insertTask(connection, goalId, MON_9.plusDays(1)));     // A
+            ids.add(insertTask(connection, goalId, MON_17.plusDays(1)));    // B
+            ids.add(insertTask(connection, goalId, MON_9.plusDays(1)));     // A again: old race duplicate
+            ids.add(insertTask(connection, goalId, MON_9.plusDays(2)));     // A
+        }
+
+        flyway(null).migrate();
+
+        Map<Long, Slot> slots = slots();
+        long a = ids.get(0);
+        long b = ids.get(1);
+        assertEquals(new Slot(a, MON_9), slots.get(ids.get(0)));
+        assertEquals(new Slot(b, MON_17), slots.get(ids.get(1)));
+        assertEquals(new Slot(a, MON_9.plusDays(1)), slots.get(ids.get(2)));
+        assertEquals(new Slot(b, MON_17.plusDays(1)), slots.get(ids.get(3)));
+        assertEquals(a, slots.get(ids.get(4)).seriesId());
+        assertNull(slots.get(ids.get(4)).occurrenceAt());
+        assertEquals(new Slot(a, MON_9.plusDays(2)), slots.get(ids.get(5)));
+
+        try (Connection connection = connect();
+             ResultSet rs = connection.createStatement().executeQuery(
+                     "SELECT COUNT(*) FROM pg_indexes WHERE schemaname = '" + SCHEMA
+                             + "' AND indexname = 'uq_tasks_series_occurrence'")) {
+            rs.next();
+            assertEquals(1, rs.getInt(1));
+        }
+    }
+
+    private static Flyway flyway(String target) {
+        var configuration = Flyway.configure()
+                .dataSource(System.getenv(PostgresIntegrationTest.URL_ENV),
+                        PostgresIntegrationTest.user(), PostgresIntegrationTest.password())
+                .schemas(SCHEMA)
+                .locations("classpath:db/migration")
+                .cleanDisabled(false);
+        if (target != null) {
+            configuration.target(target);
+        }
+        return configuration.load();
+    }
+
+    private static Connection connect() throws Exception {
+        Connection connection = DriverManager.getConnection(System.getenv(PostgresIntegrationTest.URL_ENV),
+                PostgresIntegrationTest.user(), PostgresIntegrationTest.password());
+        connection.setSchema(SCHEMA);
+        return connection;
+    }
+
+    private static long insertGoal(Connection connection) throws Exception {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("""
+                     INSERT INTO goals (title, priority, status, user_id)
+                     SELECT 'Routines', 'P1', 'ACTIVE', MIN(id) FROM users
+                     RETURNING id
+                     """)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static long insertTask(Connection connection, long goalId, LocalDateTime due) throws Exception {
+        try (PreparedStatement insert = connection.prepareStatement("""
+                INSERT INTO tasks (goal_id, user_id, title, status, due_datetime, recurrence_type)
+                SELECT ?, user_id, 'Standup', 'READY', ?, 'DAILY' FROM goals WHERE id = ?
+                RETURNING id
+                """)) {
+            insert.setLong(1, goalId);
+            insert.setTimestamp(2, Timestamp.valueOf(due));
+            insert.setLong(3, goalId);
+            try (ResultSet rs = insert.executeQuery()) {
+                rs.next();
+                return rs.getLong(1);
+            }
+        }
+    }
+
+    private static Map<Long, Slot> slots() throws Exception {
+        Map<Long, Slot> slots = new HashMap<>();
+        try (Connection connection = connect();
+             ResultSet rs = connection.createStatement().executeQuery(
+                     "SELECT id, series_id, occurrence_at FROM tasks WHERE recurrence_type <> 'NONE'")) {
+            while (rs.next()) {
+                Timestamp occurrence = rs.getTimestamp("occurrence_at");
+                slots.put(rs.getLong("id"), new Slot(rs.getLong("series_id"),
+                        occurrence == null ? null : occurrence.toLocalDateTime()));
+            }
+        }
+        return slots;
+    }
+}
@@ -0,0 +1,124 @@
+package com.clarity.clarity;
+
+import com.clarity.clarity.domain.ReminderStatus;
+import com.clarity.clarity.entity.Goal;
+import com.clarity.clarity.entity.Reminder;
+import com.clarity.clarity.entity.Task;
+import com.clarity.clarity.repository.DueReminder;
+import com.clarity.clarity.repository.GoalRepository;
+import com.clarity.clarity.repository.ReminderRepository;
+import com.clarity.clarity.repository.TaskRepository;
+import com.clarity.clarity.service.ReminderClaimService;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Several dispatcher "nodes" claiming from one database: every due reminder is claimed by exactly
+ * one node, and a claim left behind by a crashed node is released once its lease runs out.
+ */
+@SpringBootTest
+class ReminderClaimConcurrencyTest {
+
+    private static final long USER_ID = 9_201L;
+    private static final int REMINDERS = 200;
+    private static final int NODES = 4;
+    private static final int BATCH = 7;
+    private static final Duration LEASE = Duration.ofSeconds(30);
+
+    @Autowired
+    private ReminderClaimService claimService;
+
+    @Autowired
+    private ReminderRepository reminderRepository;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    private Goal goal;
+    private Task task;
+    private LocalDateTime now;
+
+    @BeforeEach
+    void setUp() {
+        now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+
+        goal = ConcurrencyFixtures.saveGoal(goalRepository, USER_ID, "Reminders");
+        task = taskRepository.save(ConcurrencyFixtures.newTask(goal, "Ping me"));
+
+        List<Reminder> reminders = new ArrayList<>();
+        for (int i = 0; i < REMINDERS; i++) {
+            Reminder reminder = new Reminder();
+            reminder.setTask(task);
+            reminder.setUserId(USER_ID);
+            reminder.setRemindAt(now.minusMinutes(30).plusSeconds(i)); // all due, distinct order
+            reminders.add(reminder);
+        }
+        reminderRepository.saveAll(reminders);
+    }
+
+    @AfterEach
+    void tearDown() {
+        reminderRepository.deleteAll(ownReminders());
+        taskRepository.delete(task);
+        goalRepository.delete(goal);
+    }
+
+    private List<Reminder> ownReminders() {
+        return reminderRepository.findAll().stream().filter(r -> r.getUserId() == USER_ID).toList();
+    }
+
+    @Test
+    void concurrentNodesClaimEveryReminderExactlyOnce() throws Exception {
+        Map<Long, String> claimedBy = new ConcurrentHashMap<>();
+        AtomicInteger duplicates = new AtomicInteger();
+        ConcurrencyFixtures.race(NODES, n -> {
+            String node = "node-" + n;
+            List<DueReminder> batch;
+            do {
+                batch = claimService.claimBatch(node, now, LEASE, BATCH);
+                for (DueReminder reminder : batch) {
+                    if (claimedBy.putIfAbsent(reminder.id(), node) != null) {
+                        duplicates.incrementAndGet();
+                    }
+                }
+                claimService.markSent(node, batch.stream().map(DueReminder::id).toList());
+            } while (!batch.isEmpty());
+            return null;
+        });
+
+        assertEquals(0, duplicates.get());
+        assertEquals(REMINDERS, claimedBy.size());
+        assertTrue(ownReminders().stream().allMatch(r -> r.getStatus() == ReminderStatus.SENT));
+    }
+
+    @Test
+    void crashedNodeClaimsBecomeEligibleAfterLease() {
+        List<DueReminder> abandoned = claimService.claimBatch("crashed-node", now, LEASE, REMINDERS);
+        assertEquals(REMINDERS, abandoned.size()); // claimed, never marked SENT
+
+        assertTrue(claimService.claimBatch("survivor", now.plusSeconds(10), LEASE, REMINDERS).isEmpty());
+
+        List<DueReminder> recovered = claimService.claimBatch("survivor", now.plus(LEASE).plusSeconds(1), LEASE, REMINDERS);
+        assertEquals(REMINDERS, recovered.size());
+        assertEquals(REMINDERS, claimService.markSent("survivor", recovered.stream().map(DueReminder::id).toList()));
+        assertEquals(0, claimService.markSent("crashed-node", abandoned.stream().map(DueReminder::id).toList()));
+    }
+}
@@ -9,7 +9,11 @@ import org.springframework.test.context.TestPropertySource; // Import this
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.MvcResult;
 
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @SpringBootTest
@@ -21,7 +25,10 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
         "spring.datasource.driver-class-name=org.h2.Driver",
         "spring.datasource.username=sa",
         "spring.datasource.password=",
-        "application.security.jwt.secret-key={JWT_TOKEN}"
+        "application.security.jwt.secret-key=nIx0CHEcYkdffvXTWy/DtZKAmsX1UuquOcju0/u3TVc=",
+        "clarity.metrics.password=scrape-secret",
+        // Test resources shadow the main application.properties; expose what production exposes
+        "management.endpoints.web.exposure.include=health,info,metrics,prometheus"
 })
 class SecurityIntegrationTest {
 
@@ -112,6 +119,61 @@ class SecurityIntegrationTest {
                 .andExpect(status().isNotFound());
     }
 
+    @Test
+    void logoutAllRevokesEveryIssuedToken() throws Exception {
+        String user = "{\"fullName\":\"Revoker\", \"email\":\"revoke@test.com\", \"password\":\"password123\"}";
+        mockMvc.perform(post("/auth/register").contentType(MediaType.APPLICATION_JSON).content(user))
+                .andExpect(status().isOk());
+        String login = "{\"email\":\"revoke@test.com\", \"password\":\"password123\"}";
+        String first = login(login);
+        String second = login(login);
+
+        mockMvc.perform(get("/goals").header("Authorization", "Bearer " + first))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/auth/logout-all").header("Authorization", "Bearer " + first))
+                .andExpect(status().isNoContent());
+
+        for (String revoked : new String[]{first, second}) {
+            mockMvc.perform(get("/goals").header("Authorization", "Bearer " + revoked))
+                    .andExpect(status().isForbidden());
+        }
+        mockMvc.perform(get("/goals").header("Authorization", "Bearer " + login(login)))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(post("/auth/logout-all"))
+                .andExpect(status().isForbidden());
+    }
+
+    private String login(String credentials) throws Exception {
+        MvcResult result = mockMvc.perform(post("/auth/login")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(credentials))
+                .andExpect(status().isOk())
+                .andReturn();
+        return extractToken(result.getResponse().getContentAsString());
+    }
+
+    @Test
+    void actuatorEndpointsUseTheirOwnBasicAuth() throws Exception {
+        mockMvc.perform(get("/actuator/health"))
+                .andExpect(status().isOk());
+
+        mockMvc.perform(get("/actuator/metrics"))
+                .andExpect(status().isUnauthorized())
+                .andExpect(header().string("WWW-Authenticate", "Basic realm=\"clarity-actuator\""));
+
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", basic("prometheus", "wrong")))
+                .andExpect(status().isUnauthorized());
+
+        mockMvc.perform(get("/actuator/metrics").header("Authorization", basic("prometheus", "scrape-secret")))
+                .andExpect(status().isOk());
+    }
+
+    private String basic(String username, String password) {
+        return "Basic " + Base64.getEncoder().encodeToString((username + ":" + password).getBytes(StandardCharsets.UTF_8));
+    }
+
     private String extractToken(String json) {
         return json.split("\"token\":\"")[1].split("\"")[0];
     }
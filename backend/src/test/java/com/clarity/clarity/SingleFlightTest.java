@@ -0,0 +1,101 @@
+package com.clarity.clarity;
+
+import com.clarity.clarity.service.SingleFlight;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Identical concurrent reads run once and share the result (or the failure); different keys and
+ * reads after a flight has landed run again.
+ */
+class SingleFlightTest {
+
+    private final SingleFlight singleFlight = new SingleFlight(Mockito.mock(PlatformTransactionManager.class));
+
+    @Test
+    void concurrentIdenticalCallsShareOneRead() throws Exception {
+        AtomicInteger reads = new AtomicInteger();
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        List<String> result = List.of("goal");
+        int callers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(callers);
+        try {
+            List<Future<List<String>>> futures = new ArrayList<>();
+            futures.add(pool.submit(() -> singleFlight.execute("goals", "user-1", () -> {
+                reads.incrementAndGet();
+                leaderStarted.countDown();
+                await(release);
+                return result;
+            })));
+            leaderStarted.await(5, TimeUnit.SECONDS);
+            for (int i = 1; i < callers; i++) {
+                futures.add(pool.submit(() -> singleFlight.execute("goals", "user-1", () -> {
+                    reads.incrementAndGet();
+                    return List.of("duplicate");
+                })));
+            }
+            Thread.sleep(200); // let the followers reach the in-flight read
+            release.countDown();
+            for (Future<List<String>> future : futures) {
+                assertSame(result, future.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, reads.get());
+        } finally {
+            pool.shutdownNow();
+        }
+
+        assertEquals(List.of("again"), singleFlight.execute("goals", "user-1", () -> List.of("again")),
+                "a finished flight is not reused");
+    }
+
+    @Test
+    void failuresReachEveryWaiterAndKeysStaySeparate() throws Exception {
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(2);
+        try {
+            Future<Object> leader = pool.submit(() -> singleFlight.execute("tasks", "user-1:page-50", () -> {
+                leaderStarted.countDown();
+                await(release);
+                throw new IllegalStateException("database down");
+            }));
+            leaderStarted.await(5, TimeUnit.SECONDS);
+            Future<Object> follower = pool.submit(() -> singleFlight.execute("tasks", "user-1:page-50", () -> "unused"));
+
+            assertEquals("other user", singleFlight.execute("tasks", "user-2:page-50", () -> "other user"));
+            assertEquals("other page", singleFlight.execute("tasks", "user-1:page-20", () -> "other page"));
+
+            Thread.sleep(200);
+            release.countDown();
+            for (Future<Object> future : List.of(leader, follower)) {
+                Exception e = assertThrows(Exception.class, () -> future.get(5, TimeUnit.SECONDS));
+                assertEquals("database down", e.getCause().getMessage());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,156 @@
+package com.clarity.clarity;
+
+import com.clarity.clarity.domain.GoalPriority;
+import com.clarity.clarity.domain.GoalStatus;
+import com.clarity.clarity.domain.TaskSort;
+import com.clarity.clarity.domain.TaskStatus;
+import com.clarity.clarity.dto.request.TaskFilter;
+import com.clarity.clarity.dto.response.TaskPage;
+import com.clarity.clarity.dto.response.TaskResponse;
+import com.clarity.clarity.entity.Goal;
+import com.clarity.clarity.entity.Task;
+import com.clarity.clarity.repository.GoalRepository;
+import com.clarity.clarity.repository.TaskRepository;
+import com.clarity.clarity.security.AuthenticatedUser;
+import com.clarity.clarity.service.TaskService;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * Listing endpoints must cost a fixed number of SQL statements and never hydrate Task / Goal entities.
+ */
+@SpringBootTest
+@TestPropertySource(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class TaskListingQueryCountTest {
+
+    private static final long USER_ID = 9_001L;
+
+    @Autowired
+    private TaskService taskService;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Goal goal;
+
+    @BeforeEach
+    void setUp() {
+        goal = new Goal();
+        goal.setTitle("Query budget");
+        goal.setPriority(GoalPriority.P1);
+        goal.setStatus(GoalStatus.ACTIVE);
+        goal.setUserId(USER_ID);
+        goal = goalRepository.save(goal);
+
+        List<Task> tasks = new ArrayList<>();
+        LocalDateTime base = LocalDateTime.now().plusDays(1).withNano(0);
+        for (int i = 0; i < 25; i++) {
+            Task task = new Task();
+            task.setTitle("Task " + i);
+            task.setGoal(goal);
+            task.setStatus(TaskStatus.READY);
+            task.setUserId(USER_ID);
+            task.setEstimatedMinutes(30);
+            task.setNeedsReview(i % 5 == 0);
+            task.setDueDatetime(i % 4 == 0 ? null : base.plusHours(i % 3)); // duplicates + undated rows
+            tasks.add(task);
+        }
+        taskRepository.saveAll(tasks);
+
+        AuthenticatedUser principal = new AuthenticatedUser(USER_ID, "budget@test.com", null, "USER", 0);
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken(principal, null, principal.getAuthorities()));
+
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statistics.clear();
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+        taskRepository.deleteAll(taskRepository.findAll().stream().filter(t -> t.getUserId() == USER_ID).toList());
+        goalRepository.delete(goal);
+    }
+
+    @Test
+    void getAllTasksRunsOneStatement() {
+        TaskPage page = taskService.getAllTasks(TaskFilter.none(), TaskSort.ID, null, 50);
+
+        assertEquals(25, page.items().size());
+        assertNull(page.nextCursor());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getTasksByGoalRunsOwnershipProbePlusTwoRangeScans() {
+        TaskPage page = taskService.getTasksByGoal(goal.getId(), null, 50);
+
+        assertEquals(25, page.items().size());
+        assertEquals(goal.getTitle(), page.items().get(0).goalTitle());
+        // exists probe + dated segment + undated segment
+        assertEquals(3, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void getTasksNeedingReviewRunsOneStatement() {
+        List<TaskResponse> review = taskService.getTasksNeedingReview();
+
+        assertEquals(5, review.size());
+        assertEquals(1, statistics.getPrepareStatementCount());
+        assertEquals(0, statistics.getEntityLoadCount());
+    }
+
+    @Test
+    void dueDateCursorWalksEveryTaskExactlyOnce() {
+        List<Long> seen = new ArrayList<>();
+        String cursor = null;
+        do {
+            TaskPage page = taskService.getAllTasks(TaskFilter.none(), TaskSort.DUE_DATE, cursor, 4);
+            page.items().forEach(t -> seen.add(t.id()));
+            cursor = page.nextCursor();
+        } while (cursor != null);
+
+        assertEquals(25, seen.size());
+        assertEquals(25, seen.stream().distinct().count());
+    }
+
+    @Test
+    void repeatedStatusFilterMatchesAnyOfThem() {
+        List<Task> tasks = taskRepository.findAll().stream().filter(t -> t.getUserId() == USER_ID).toList();
+        tasks.get(0).setStatus(TaskStatus.DONE);
+        tasks.get(1).setStatus(TaskStatus.DONE);
+        tasks.get(2).setStatus(TaskStatus.IN_PROGRESS);
+        taskRepository.saveAll(tasks.subList(0, 3));
+
+        TaskFilter open = new TaskFilter(List.of(TaskStatus.READY, TaskStatus.IN_PROGRESS), null, null, null, null);
+        TaskFilter done = new TaskFilter(List.of(TaskStatus.DONE), null, null, null, null);
+
+        assertEquals(23, taskService.getAllTasks(open, TaskSort.ID, null, 50).items().size());
+        assertEquals(2, taskService.getAllTasks(done, TaskSort.ID, null, 50).items().size());
+    }
+}
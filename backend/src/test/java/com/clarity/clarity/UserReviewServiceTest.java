@@ -0,0 +1,159 @@
+package com.clarity.clarity;
+
+import com.clarity.clarity.repository.ReviewSlot;
+import com.clarity.clarity.repository.UserRepository;
+import com.clarity.clarity.service.OverdueTaskJobService;
+import com.clarity.clarity.service.UserReviewService;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.mockito.ArgumentMatchers;
+import org.mockito.Mockito;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+/**
+ * Rolling review scheduling: next local midnight in UTC (DST days included), the per-user offset,
+ * the next_review_at advance after a bucket, and the per-tick cap.
+ */
+class UserReviewServiceTest {
+
+    private static final ZoneId NEW_YORK = ZoneId.of("America/New_York");
+    private static final ZoneId LONDON = ZoneId.of("Europe/London");
+    private static final ZoneId SANTIAGO = ZoneId.of("America/Santiago");
+
+    private final UserRepository userRepository = Mockito.mock(UserRepository.class);
+    private final OverdueTaskJobService overdueTaskJobService = Mockito.mock(OverdueTaskJobService.class);
+    private final JdbcTemplate jdbcTemplate = Mockito.mock(JdbcTemplate.class);
+
+    @Test
+    void nextLocalMidnightFollowsTheZoneAcrossDstChanges() {
+        // New York springs forward 2026-03-08 and falls back 2026-11-01 (both at 02:00)
+        assertEquals(utc("2026-03-08T05:00"), midnightAfter(NEW_YORK, "2026-03-07T20:00"));
+        assertEquals(utc("2026-03-09T04:00"), midnightAfter(NEW_YORK, "2026-03-08T12:00"));
+        assertEquals(utc("2026-11-01T04:00"), midnightAfter(NEW_YORK, "2026-10-31T12:00"));
+        assertEquals(utc("2026-11-02T05:00"), midnightAfter(NEW_YORK, "2026-11-01T12:00"));
+        // London: midnight of the change day is still GMT, the next one is BST
+        assertEquals(utc("2026-03-29T00:00"), midnightAfter(LONDON, "2026-03-28T12:00"));
+        assertEquals(utc("2026-03-29T23:00"), midnightAfter(LONDON, "2026-03-29T12:00"));
+        // Santiago skips 00:00 on 2026-09-06: the day starts at 01:00 -03
+        assertEquals(utc("2026-09-06T04:00"), midnightAfter(SANTIAGO, "2026-09-05T12:00"));
+    }
+
+    @Test
+    void reviewAtExactlyMidnightIsScheduledForTheNextOne() {
+        Instant midnight = LocalDateTime.parse("2026-03-08T00:00").atZone(NEW_YORK).toInstant();
+
+        assertEquals(utc("2026-03-09T04:00"), UserReviewService.nextLocalMidnightUtc(NEW_YORK, midnight));
+    }
+
+    @Test
+    void offsetIsStablePerUserAndStaysInsideTheSpread() {
+        Duration spread = Duration.ofMinutes(60);
+        Instant after = LocalDateTime.parse("2026-11-01T12:00").atZone(NEW_YORK).toInstant();
+        LocalDateTime midnight = UserReviewService.nextLocalMidnightUtc(NEW_YORK, after);
+        Set<LocalDateTime> slots = new HashSet<>();
+
+        for (long userId = 1; userId <= 200; userId++) {
+            LocalDateTime slot = UserReviewService.reviewSlot(userId, NEW_YORK, after, spread);
+            assertTrue(!slot.isBefore(midnight) && slot.isBefore(midnight.plus(spread)), "user " + userId + ": " + slot);
+            assertEquals(slot, UserReviewService.reviewSlot(userId, NEW_YORK, after.plusSeconds(3600), spread));
+            slots.add(slot);
+        }
+        assertTrue(slots.size() > 150, "consecutive ids spread out: " + slots.size() + " distinct slots");
+        assertEquals(midnight, UserReviewService.reviewSlot(42L, NEW_YORK, after, Duration.ZERO));
+    }
+
+    @Test
+    void tickIsCappedAndAdvancesEveryReviewedUser() {
+        List<ReviewSlot> due = List.of(
+                new ReviewSlot(1L, "America/New_York"), new ReviewSlot(2L, "Europe/London"),
+                new ReviewSlot(3L, "UTC"), new ReviewSlot(4L, "Asia/Kolkata"), new ReviewSlot(5L, null));
+        ArgumentCaptor<Pageable> page = ArgumentCaptor.forClass(Pageable.class);
+        Mockito.when(userRepository.findDueForReview(any(), page.capture())).thenReturn(due);
+        List<List<Long>> buckets = new CopyOnWriteArrayList<>();
+        Mockito.when(overdueTaskJobService.reviewOverdueForUsers(ArgumentMatchers.<List<Long>>any(), any()))
+                .thenAnswer(invocation -> {
+                    buckets.add(List.copyOf(invocation.<List<Long>>getArgument(0)));
+                    return 3L;
+                });
+        List<Object[]> advanced = new ArrayList<>();
+        Mockito.when(jdbcTemplate.batchUpdate(anyString(), ArgumentMatchers.<List<Object[]>>any()))
+                .thenAnswer(invocation -> {
+                    advanced.addAll(invocation.<List<Object[]>>getArgument(1));
+                    return new int[0];
+                });
+
+        Instant before = Instant.now();
+        int reviewed = service(5, 2).reviewDueUsers();
+        Instant after = Instant.now();
+
+        assertEquals(5, page.getValue().getPageSize(), "no more than max-users-per-tick are loaded");
+        assertEquals(5, reviewed);
+        assertEquals(List.of(List.of(1L, 2L), List.of(3L, 4L), List.of(5L)), buckets);
+        assertEquals(5, advanced.size());
+        for (int i = 0; i < due.size(); i++) {
+            ReviewSlot slot = due.get(i);
+            ZoneId zone = UserReviewService.parseZone(slot.timeZone());
+            LocalDateTime next = ((Timestamp) advanced.get(i)[0]).toLocalDateTime();
+            assertEquals(slot.userId(), advanced.get(i)[1]);
+            // Midnight may pass between before and after; either slot is right
+            assertTrue(next.equals(UserReviewService.reviewSlot(slot.userId(), zone, before, Duration.ofMinutes(60)))
+                    || next.equals(UserReviewService.reviewSlot(slot.userId(), zone, after, Duration.ofMinutes(60))),
+                    "user " + slot.userId() + " advanced to " + next);
+        }
+    }
+
+    @Test
+    void zoneChangeNeverPushesThePendingReviewLater() {
+        UserReviewService service = service(5, 2);
+        Instant now = LocalDateTime.parse("2026-03-28T12:00").atZone(LONDON).toInstant();
+        LocalDateTime londonSlot = service.nextReviewAt(7L, LONDON, now);
+
+        // Moving west: the new zone's midnight is later, the one already scheduled stands
+        assertEquals(londonSlot, service.rescheduleForZone(7L, NEW_YORK, londonSlot, now));
+        // Moving east: the new zone's midnight comes first
+        LocalDateTime kolkataSlot = service.nextReviewAt(7L, ZoneId.of("Asia/Kolkata"), now);
+        assertTrue(kolkataSlot.isBefore(londonSlot));
+        assertEquals(kolkataSlot, service.rescheduleForZone(7L, ZoneId.of("Asia/Kolkata"), londonSlot, now));
+    }
+
+    @Test
+    void unknownZoneIsRejected() {
+        assertEquals(ZoneOffset.UTC, UserReviewService.parseZone(" "));
+        assertThrows(IllegalArgumentException.class, () -> UserReviewService.parseZone("Mars/Olympus_Mons"));
+    }
+
+    private UserReviewService service(int maxUsersPerTick, int usersPerChunk) {
+        return new UserReviewService(userRepository, overdueTaskJobService, jdbcTemplate,
+                new TransactionTemplate(Mockito.mock(PlatformTransactionManager.class)),
+                60, maxUsersPerTick, usersPerChunk);
+    }
+
+    private static LocalDateTime midnightAfter(ZoneId zone, String localTime) {
+        return UserReviewService.nextLocalMidnightUtc(zone, LocalDateTime.parse(localTime).atZone(zone).toInstant());
+    }
+
+    private static LocalDateTime utc(String time) {
+        return LocalDateTime.parse(time);
+    }
+}
@@ -0,0 +1,97 @@
+package com.clarity.clarity;
+
+import com.clarity.clarity.domain.TaskStatus;
+import com.clarity.clarity.entity.Goal;
+import com.clarity.clarity.entity.Task;
+import com.clarity.clarity.repository.GoalRepository;
+import com.clarity.clarity.repository.TaskRepository;
+import com.clarity.clarity.repository.WeeklyTaskStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+/**
+ * The weekly insights aggregate: counts, DONE share and estimation error of the user's live tasks
+ * created in (from, to], in one statement.
+ */
+@SpringBootTest
+class WeeklyInsightsAggregateTest {
+
+    private static final long USER_ID = 9_501L;
+    private static final long OTHER_USER_ID = 9_502L;
+
+    @Autowired
+    private TaskRepository taskRepository;
+
+    @Autowired
+    private GoalRepository goalRepository;
+
+    private final List<Task> tasks = new ArrayList<>();
+    private final List<Goal> goals = new ArrayList<>();
+    private final LocalDateTime to = LocalDateTime.now().withNano(0);
+    private final LocalDateTime from = to.minusDays(7);
+
+    @BeforeEach
+    void setUp() {
+        Goal goal = ConcurrencyFixtures.saveGoal(goalRepository, USER_ID, "Insights");
+        Goal otherGoal = ConcurrencyFixtures.saveGoal(goalRepository, OTHER_USER_ID, "Someone else's");
+        goals.addAll(List.of(goal, otherGoal));
+
+        // In range: 3 DONE of 5, errors +15 and -10 (the others lack an actual)
+        add(goal, TaskStatus.DONE, to.minusDays(1), 30, 45, false);
+        add(goal, TaskStatus.DONE, to.minusDays(2), 60, 50, false);
+        add(goal, TaskStatus.DONE, to, 20, null, false);               // upper bound is inclusive
+        add(goal, TaskStatus.READY, from.plusSeconds(1), 40, null, false);
+        add(goal, TaskStatus.SKIPPED, to.minusHours(3), null, 25, false);
+        // Not counted
+        add(goal, TaskStatus.DONE, from, 10, 100, false);              // lower bound is exclusive
+        add(goal, TaskStatus.DONE, to.minusDays(9), 10, 100, false);
+        add(goal, TaskStatus.DONE, to.minusDays(1), 10, 100, true);    // soft-deleted
+        add(otherGoal, TaskStatus.DONE, to.minusDays(1), 10, 100, false);
+        taskRepository.saveAll(tasks);
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRepository.deleteAll(tasks);
+        goalRepository.deleteAll(goals);
+    }
+
+    @Test
+    void aggregatesTheUsersLiveTasksInTheWindow() {
+        WeeklyTaskStats stats = taskRepository.aggregateCreatedBetween(USER_ID, from, to);
+
+        assertEquals(5L, stats.total());
+        assertEquals(3L, stats.completed());
+        assertEquals(2.5, stats.avgEstimationError(), 1e-9);
+    }
+
+    @Test
+    void emptyWindowHasZeroCountsAndNoAverage() {
+        WeeklyTaskStats stats = taskRepository.aggregateCreatedBetween(USER_ID, to.plusDays(1), to.plusDays(8));
+
+        assertEquals(0L, stats.total());
+        assertEquals(0L, stats.completed());
+        assertNull(stats.avgEstimationError());
+    }
+
+    private void add(Goal goal, TaskStatus status, LocalDateTime createdAt, Integer estimated, Integer actual,
+                     boolean deleted) {
+        Task task = ConcurrencyFixtures.newTask(goal, "Insight " + tasks.size());
+        task.setStatus(status);
+        task.setCreatedAt(createdAt);
+        task.setEstimatedMinutes(estimated);
+        task.setActualMinutes(actual);
+        task.setDeleted(deleted);
+        tasks.add(task);
+    }
+}
@@ -0,0 +1,4 @@
+-- Test classpath only: V9 hands the V7 seed rows to the first user, so an empty database needs one
+-- before it (production databases already had a registered user when V9 ran).
+INSERT INTO users (email, password_hash, full_name, role, created_at)
+VALUES ('seed-owner@test.local', 'unused', 'Seed Owner', 'USER', NOW());
@@ -11,16 +11,23 @@ export default function TaskCard({ task }: { task: any }) {
     mutationFn: () => api.post(`/tasks/${task.id}/complete`),
     onMutate: async () => {
       await queryClient.cancelQueries({ queryKey: ['tasks'] });
-      const previousTasks = queryClient.getQueryData(['tasks']);
+      const previousTasks = queryClient.getQueriesData({ queryKey: ['tasks'] });
 
-      queryClient.setQueryData(['tasks'], (old: any[]) => 
-        old?.map(t => t.id === task.id ? { ...t, status: 'DONE' } : t)
+      // Task lists are paged infinite queries: { pages: [{ items, nextCursor }] }
+      queryClient.setQueriesData({ queryKey: ['tasks'] }, (old: any) =>
+        old && {
+          ...old,
+          pages: old.pages.map((page: any) => ({
+            ...page,
+            items: page.items.map((t: any) => t.id === task.id ? { ...t, status: 'DONE' } : t),
+          })),
+        }
       );
 
       return { previousTasks };
     },
     onError: (err, newTodo, context) => {
-      queryClient.setQueryData(['tasks'], context?.previousTasks);
+      context?.previousTasks.forEach(([key, data]) => queryClient.setQueryData(key, data));
     },
     onSettled: () => {
       queryClient.invalidateQueries({ queryKey: ['tasks'] });
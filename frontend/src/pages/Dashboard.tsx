@@ -1,40 +1,45 @@
-import { useQuery } from '@tanstack/react-query';
+import { useInfiniteQuery, useQuery } from '@tanstack/react-query';
 import AppLayout from '../layouts/AppLayout';
 import TaskCard from '../components/TaskCard';
 import { Button } from '../components/Button';
 import Modal from '../components/Modal';
 import CreateTaskForm from '../components/CreateTaskForm';
-import api from '../api/client';
+import api, { getPage, OPEN_STATUSES, toLocalDateTime } from '../api/client';
 import { Plus, Sun, CalendarDays, Loader2 } from 'lucide-react';
-import { isToday, isBefore, startOfDay, endOfDay } from 'date-fns';
+import { addDays, startOfDay } from 'date-fns';
 import { useState } from 'react';
 
 export default function Dashboard() {
   const [isModalOpen, setIsModalOpen] = useState(false);
 
-  // 1. USE QUERY: Handles fetching, caching, and loading state automatically
-  const { data: tasks = [], isLoading, refetch } = useQuery({
-    queryKey: ['tasks'],
+  // 1. TODAY + OVERDUE (excluding DONE): filtered on the server, one page at a time
+  const dueBefore = toLocalDateTime(startOfDay(addDays(new Date(), 1)));
+  const {
+    data,
+    isLoading,
+    refetch,
+    fetchNextPage,
+    hasNextPage,
+    isFetchingNextPage,
+  } = useInfiniteQuery({
+    queryKey: ['tasks', 'due', dueBefore],
+    queryFn: ({ pageParam }) =>
+      getPage<any>('/tasks', { status: OPEN_STATUSES, dueTo: dueBefore, sort: 'DUE_DATE' }, pageParam),
+    initialPageParam: undefined as string | undefined,
+    getNextPageParam: (lastPage) => lastPage.nextCursor,
+  });
+  const todaysTasks = data?.pages.flatMap((page) => page.items) ?? [];
+
+  // 2. STATS: from the per-goal task counters rather than the task list
+  const { data: goals = [] } = useQuery({
+    queryKey: ['goals'],
     queryFn: async () => {
-      const res = await api.get('/tasks');
+      const res = await api.get('/goals');
       return res.data;
     }
   });
-
-  // 2. FILTER LOGIC: Today + Overdue (excluding DONE)
-  const today = endOfDay(new Date());
-  const todaysTasks = tasks.filter((task: any) => {
-    if (task.status === 'DONE') return false;
-    if (!task.dueDatetime) return false;
-    
-    const taskDate = new Date(task.dueDatetime);
-    // Include if it's today OR if it's overdue (before today)
-    return isToday(taskDate) || isBefore(taskDate, today);
-  });
-
-  // 3. STATS CALCULATION
-  const activeCount = tasks.filter((t: any) => t.status !== 'DONE').length;
-  const completedCount = tasks.filter((t: any) => t.status === 'DONE').length;
+  const completedCount = goals.reduce((sum: number, g: any) => sum + g.completedTasks, 0);
+  const activeCount = goals.reduce((sum: number, g: any) => sum + g.totalTasks - g.completedTasks, 0);
 
   return (
     <AppLayout>
@@ -59,12 +64,12 @@ export default function Dashboard() {
       <div className="grid grid-cols-1 md:grid-cols-3 gap-4 mb-8">
         <div className="bg-surface border border-border p-6 rounded-lg">
            <h4 className="text-text-secondary text-sm font-mono mb-2">ACTIONS REQUIRED</h4>
-           <p className="text-4xl font-bold text-neon-blue">{todaysTasks.length}</p>
+           <p className="text-4xl font-bold text-neon-blue">{todaysTasks.length}{hasNextPage ? '+' : ''}</p>
         </div>
         <div className="bg-surface border border-border p-6 rounded-lg">
            <h4 className="text-text-secondary text-sm font-mono mb-2">FUTURE LOG</h4>
            <p className="text-4xl font-bold text-text-muted">
-             {activeCount - todaysTasks.length}
+             {hasNextPage ? '—' : Math.max(activeCount - todaysTasks.length, 0)}
            </p>
         </div>
         <div className="bg-surface border border-border p-6 rounded-lg">
@@ -101,6 +106,14 @@ export default function Dashboard() {
         </div>
       )}
 
+      {hasNextPage && (
+        <div className="flex justify-center mt-6">
+          <Button onClick={() => fetchNextPage()} disabled={isFetchingNextPage}>
+            {isFetchingNextPage ? 'Loading...' : 'Load more'}
+          </Button>
+        </div>
+      )}
+
       <Modal 
         isOpen={isModalOpen} 
         onClose={() => setIsModalOpen(false)}
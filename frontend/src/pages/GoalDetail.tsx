@@ -1,8 +1,8 @@
 import { useState } from 'react';
 import { useParams, useNavigate } from 'react-router-dom';
-import { useQuery, useQueryClient } from '@tanstack/react-query';
+import { useInfiniteQuery, useQuery, useQueryClient } from '@tanstack/react-query';
 import AppLayout from '../layouts/AppLayout';
-import api from '../api/client';
+import api, { getPage } from '../api/client';
 import TaskCard from '../components/TaskCard';
 import { Button } from '../components/Button';
 import Modal from '../components/Modal';
@@ -15,14 +15,21 @@ export default function GoalDetail() {
   const queryClient = useQueryClient();
   const [isModalOpen, setIsModalOpen] = useState(false);
 
-  // 1. Fetch Tasks
-  const { data: tasks = [], isLoading: tasksLoading, refetch } = useQuery({
+  // 1. Fetch Tasks: first page now, the rest on demand
+  const {
+    data,
+    isLoading: tasksLoading,
+    refetch,
+    fetchNextPage,
+    hasNextPage,
+    isFetchingNextPage,
+  } = useInfiniteQuery({
     queryKey: ['goal-tasks', goalId],
-    queryFn: async () => {
-      const res = await api.get(`/goals/${goalId}/tasks`);
-      return res.data;
-    }
+    queryFn: ({ pageParam }) => getPage<any>(`/goals/${goalId}/tasks`, {}, pageParam),
+    initialPageParam: undefined as string | undefined,
+    getNextPageParam: (lastPage) => lastPage.nextCursor,
   });
+  const tasks = data?.pages.flatMap((page) => page.items) ?? [];
 
   const { data: goals = [], isLoading: goalsLoading } = useQuery({
     queryKey: ['goals'],
@@ -79,6 +86,13 @@ export default function GoalDetail() {
             ))}
           </div>
         )}
+        {hasNextPage && (
+          <div className="flex justify-center mt-6">
+            <Button onClick={() => fetchNextPage()} disabled={isFetchingNextPage}>
+              {isFetchingNextPage ? 'Loading...' : 'Load more'}
+            </Button>
+          </div>
+        )}
       </div>
 
       <Modal isOpen={isModalOpen} onClose={() => setIsModalOpen(false)} title="DEPLOY NEW OBJECTIVE">
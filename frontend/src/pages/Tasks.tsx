@@ -1,11 +1,11 @@
 import { useState } from "react";
-import { useQuery, useQueryClient } from "@tanstack/react-query";
+import { useInfiniteQuery, useQueryClient } from "@tanstack/react-query";
 import AppLayout from "../layouts/AppLayout";
 import TaskCard from "../components/TaskCard";
 import { Button } from "../components/Button";
 import Modal from "../components/Modal";
 import CreateTaskForm from "../components/CreateTaskForm";
-import api from "../api/client";
+import { getPage, OPEN_STATUSES } from "../api/client";
 import { Plus, Search, Loader2 } from "lucide-react";
 import { clsx } from "clsx";
 
@@ -18,31 +18,34 @@ export default function Tasks() {
     "ALL",
   );
 
+  // Status filter runs on the server; further pages load on demand
+  const statusParam =
+    filterStatus === "ALL"
+      ? undefined
+      : filterStatus === "DONE"
+        ? ["DONE"]
+        : OPEN_STATUSES;
+
   const {
-    data: tasks = [],
+    data,
     isLoading,
     refetch,
-  } = useQuery({
-    queryKey: ["tasks"],
-    queryFn: async () => {
-      const res = await api.get("/tasks");
-      return res.data;
-    },
+    fetchNextPage,
+    hasNextPage,
+    isFetchingNextPage,
+  } = useInfiniteQuery({
+    queryKey: ["tasks", "list", filterStatus],
+    queryFn: ({ pageParam }) =>
+      getPage<any>("/tasks", { status: statusParam }, pageParam),
+    initialPageParam: undefined as string | undefined,
+    getNextPageParam: (lastPage) => lastPage.nextCursor,
   });
+  const tasks = data?.pages.flatMap((page) => page.items) ?? [];
 
-  const filteredTasks = tasks.filter((task: any) => {
-    const matchesSearch = task.title
-      .toLowerCase()
-      .includes(search.toLowerCase());
-    const matchesStatus =
-      filterStatus === "ALL"
-        ? true
-        : filterStatus === "DONE"
-          ? task.status === "DONE"
-          : task.status !== "DONE";
-
-    return matchesSearch && matchesStatus;
-  });
+  // Search narrows the pages loaded so far
+  const filteredTasks = tasks.filter((task: any) =>
+    task.title.toLowerCase().includes(search.toLowerCase()),
+  );
 
   return (
     <AppLayout>
@@ -113,6 +116,14 @@ export default function Tasks() {
         </div>
       )}
 
+      {hasNextPage && (
+        <div className="flex justify-center mt-6">
+          <Button onClick={() => fetchNextPage()} disabled={isFetchingNextPage}>
+            {isFetchingNextPage ? "Loading..." : "Load more"}
+          </Button>
+        </div>
+      )}
+
       {/* Create Modal */}
       <Modal
         isOpen={isModalOpen}
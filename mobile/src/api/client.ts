@@ -17,6 +17,8 @@ const client = axios.create({
     'Content-Type': 'application/json',
   },
   timeout: 10000, 
+  // Arrays as repeated keys (status=A&status=B), which is what Spring binds
+  paramsSerializer: { indexes: null },
 });
 
 client.interceptors.request.use(async (config) => {
@@ -42,4 +44,28 @@ client.interceptors.response.use(
   }
 );
 
+// Keyset-paginated list endpoints (/tasks, /goals/:id/tasks) return one page at a time and put the
+// cursor of the next one in X-Next-Cursor. Screens load the first page with their server-side
+// filters and fetch the next one only when asked (useInfiniteQuery + load more / end of list).
+export const PAGE_SIZE = 50;
+
+// Statuses that still count as open on a goal (DONE and SKIPPED are closed), for the repeatable ?status= filter
+export const OPEN_STATUSES = ['BACKLOG', 'READY', 'IN_PROGRESS'];
+
+export interface Page<T> {
+  items: T[];
+  nextCursor?: string;
+}
+
+export async function getPage<T>(path: string, params: Record<string, unknown> = {}, cursor?: string): Promise<Page<T>> {
+  const res = await client.get<T[]>(path, { params: { ...params, limit: PAGE_SIZE, cursor } });
+  return { items: res.data, nextCursor: res.headers['x-next-cursor'] || undefined };
+}
+
+// Due-date filters are zone-less LocalDateTimes on the server
+export function toLocalDateTime(date: Date): string {
+  const pad = (n: number) => String(n).padStart(2, '0');
+  return `${date.getFullYear()}-${pad(date.getMonth() + 1)}-${pad(date.getDate())}T${pad(date.getHours())}:${pad(date.getMinutes())}:${pad(date.getSeconds())}`;
+}
+
 export default client;
\ No newline at end of file
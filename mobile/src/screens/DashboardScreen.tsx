@@ -4,20 +4,33 @@ import { SafeAreaView } from 'react-native-safe-area-context';
 import { useAuth } from '../context/AuthContext';
 import { useNavigation, useFocusEffect } from '@react-navigation/native';
 import { Plus } from 'lucide-react-native';
-import client from '../api/client';
+import client, { getPage, OPEN_STATUSES, toLocalDateTime } from '../api/client';
 import TaskCard from '../components/TaskCard';
 
 export default function DashboardScreen() {
   const { logout } = useAuth();
   const navigation = useNavigation<any>();
-  const [tasks, setTasks] = useState<any[]>([]);
+  const [todaysTasks, setTodaysTasks] = useState<any[]>([]);
+  const [nextCursor, setNextCursor] = useState<string | undefined>();
+  const [completedCount, setCompletedCount] = useState(0);
   const [loading, setLoading] = useState(true);
+  const [loadingMore, setLoadingMore] = useState(false);
   const [refreshing, setRefreshing] = useState(false);
 
+  // Open tasks due today or overdue, filtered on the server; later pages load on demand
+  const fetchDuePage = (cursor?: string) => {
+    const tomorrow = new Date();
+    tomorrow.setHours(0, 0, 0, 0);
+    tomorrow.setDate(tomorrow.getDate() + 1);
+    return getPage<any>('/tasks', { status: OPEN_STATUSES, dueTo: toLocalDateTime(tomorrow), sort: 'DUE_DATE' }, cursor);
+  };
+
   const fetchTasks = async () => {
     try {
-      const res = await client.get('/tasks');
-      setTasks(res.data);
+      const [page, goals] = await Promise.all([fetchDuePage(), client.get('/goals')]);
+      setTodaysTasks(page.items);
+      setNextCursor(page.nextCursor);
+      setCompletedCount(goals.data.reduce((sum: number, g: any) => sum + g.completedTasks, 0));
     } catch (err) {
       console.error("Fetch Error:", err);
     } finally {
@@ -37,13 +50,19 @@ export default function DashboardScreen() {
     fetchTasks();
   }, []);
 
-  const todaysTasks = tasks.filter(task => {
-    if (task.status === 'DONE') return false;
-    const taskDate = new Date(task.dueDatetime);
-    const today = new Date();
-    today.setHours(23, 59, 59, 999);
-    return taskDate <= today;
-  });
+  const loadMore = async () => {
+    if (!nextCursor || loadingMore) return;
+    setLoadingMore(true);
+    try {
+      const page = await fetchDuePage(nextCursor);
+      setTodaysTasks(prev => [...prev, ...page.items]);
+      setNextCursor(page.nextCursor);
+    } catch (err) {
+      console.error("Fetch Error:", err);
+    } finally {
+      setLoadingMore(false);
+    }
+  };
 
   return (
     <SafeAreaView style={styles.container} edges={['top']}>
@@ -62,13 +81,11 @@ export default function DashboardScreen() {
         <View style={styles.statsGrid}>
             <View style={styles.statCard}>
                 <Text style={styles.statLabel}>PENDING</Text>
-                <Text style={[styles.statValue, { color: '#00F0FF' }]}>{todaysTasks.length}</Text>
+                <Text style={[styles.statValue, { color: '#00F0FF' }]}>{todaysTasks.length}{nextCursor ? '+' : ''}</Text>
             </View>
             <View style={styles.statCard}>
                 <Text style={styles.statLabel}>COMPLETED</Text>
-                <Text style={[styles.statValue, { color: '#0AFF60' }]}>
-                    {tasks.filter(t => t.status === 'DONE').length}
-                </Text>
+                <Text style={[styles.statValue, { color: '#0AFF60' }]}>{completedCount}</Text>
             </View>
         </View>
 
@@ -86,6 +103,14 @@ export default function DashboardScreen() {
                 <TaskCard key={task.id} task={task} onRefresh={fetchTasks} />
             ))
         )}
+
+        {nextCursor && (
+            <TouchableOpacity style={styles.loadMore} onPress={loadMore} disabled={loadingMore}>
+                {loadingMore
+                    ? <ActivityIndicator color="#00F0FF" />
+                    : <Text style={styles.loadMoreText}>LOAD MORE</Text>}
+            </TouchableOpacity>
+        )}
       </ScrollView>
 
       {/* FLOATING ACTION BUTTON */}
@@ -130,6 +155,8 @@ const styles = StyleSheet.create({
   emptyState: { alignItems: 'center', marginTop: 40, opacity: 0.5 },
   emptyText: { color: '#EDEDED', fontSize: 16 },
   emptySubtext: { color: '#888', fontSize: 12 },
+  loadMore: { alignItems: 'center', padding: 16, marginTop: 8, borderWidth: 1, borderColor: '#2A2A2A', borderRadius: 8 },
+  loadMoreText: { color: '#00F0FF', fontWeight: 'bold', letterSpacing: 1 },
 
   // FAB STYLES
   fab: {
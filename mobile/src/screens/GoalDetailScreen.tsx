@@ -8,9 +8,9 @@ import {
   ActivityIndicator,
 } from "react-native";
 import { useRoute, useNavigation } from "@react-navigation/native";
-import { useQuery } from "@tanstack/react-query";
+import { useInfiniteQuery } from "@tanstack/react-query";
 import { ArrowLeft, Plus, Target } from "lucide-react-native";
-import client from "../api/client";
+import { getPage } from "../api/client";
 import TaskCard from "../components/TaskCard";
 
 export default function GoalDetailScreen() {
@@ -20,16 +20,20 @@ export default function GoalDetailScreen() {
 
   // 1. FETCH GOAL DATA & TASKS
   const {
-    data: tasks = [],
+    data,
     isLoading,
     refetch,
-  } = useQuery({
+    fetchNextPage,
+    hasNextPage,
+    isFetchingNextPage,
+  } = useInfiniteQuery({
     queryKey: ["goal-tasks", goalId],
-    queryFn: async () => {
-      const res = await client.get(`/goals/${goalId}/tasks`);
-      return res.data;
-    },
+    queryFn: ({ pageParam }) =>
+      getPage<any>(`/goals/${goalId}/tasks`, {}, pageParam),
+    initialPageParam: undefined as string | undefined,
+    getNextPageParam: (lastPage) => lastPage.nextCursor,
   });
+  const tasks = data?.pages.flatMap((page) => page.items) ?? [];
 
   // We fetch the goal title from the first task or another goal query if tasks are empty
   const goalTitle = tasks.length > 0 ? tasks[0].goalTitle : "Strategic Goal";
@@ -63,6 +67,14 @@ export default function GoalDetailScreen() {
           renderItem={({ item }) => (
             <TaskCard task={item} onRefresh={refetch} />
           )}
+          // Next page only when the end of the list comes into view
+          onEndReached={() => {
+            if (hasNextPage && !isFetchingNextPage) fetchNextPage();
+          }}
+          onEndReachedThreshold={0.5}
+          ListFooterComponent={
+            isFetchingNextPage ? <ActivityIndicator color="#00F0FF" /> : null
+          }
           ListEmptyComponent={
             <Text style={styles.emptyText}>
               No tactical objectives assigned to this strategy yet.